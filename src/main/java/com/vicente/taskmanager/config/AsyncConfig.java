@@ -1,9 +1,41 @@
 package com.vicente.taskmanager.config;
 
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
 @Configuration
 @EnableAsync
 public class AsyncConfig {
+    public static final String EMAIL_TASK_EXECUTOR = "emailTaskExecutor";
+
+    /*
+     * Executor dedicado ao envio de e-mails. Uma fila limitada e um pool pequeno evitam abrir
+     * conexões SMTP sem limite, e o tamanho da fila é exposto como métrica (mesmo com virtual threads).
+     */
+    @Bean(name = EMAIL_TASK_EXECUTOR)
+    public ThreadPoolTaskExecutor emailTaskExecutor(
+            @Value("${app.email.executor.pool-size}") int poolSize,
+            @Value("${app.email.executor.queue-capacity}") int queueCapacity,
+            MeterRegistry meterRegistry
+    ) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("email-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+
+        Gauge.builder("taskmanager.email.queue.depth", executor,
+                        e -> e.getThreadPoolExecutor().getQueue().size())
+                .description("Emails waiting to be sent")
+                .register(meterRegistry);
+
+        return executor;
+    }
 }
@@ -0,0 +1,26 @@
+package com.vicente.taskmanager.config;
+
+import com.vicente.taskmanager.monitoring.JfrEventMonitor;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/*
+ * Os eventos JFR da aplicação (monitoring.event) são sempre emitidos; sem nenhuma gravação ativa
+ * o commit é descartado praticamente sem custo. Este consumidor in-process transforma os eventos
+ * em percentis e pode ser desligado com app.jfr.monitor.enabled=false.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.jfr.monitor.enabled", havingValue = "true", matchIfMissing = true)
+public class JfrConfig {
+
+    @Bean(initMethod = "start")
+    public JfrEventMonitor jfrEventMonitor(MeterRegistry meterRegistry,
+                                           @Value("${app.jfr.monitor.window.seconds}") long windowSeconds) {
+        return new JfrEventMonitor(meterRegistry, Duration.ofSeconds(windowSeconds));
+    }
+}
@@ -8,6 +8,7 @@ import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
 import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
 
 import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 
 @Configuration
 public class RedisConfig {
@@ -37,6 +38,14 @@ public class RedisConfig {
         return new StringRedisTemplate(connectionFactory);
     }
 
+    @Bean
+    public RedisMessageListenerContainer redisMessageListenerContainer(RedisConnectionFactory connectionFactory) {
+        // Uma única conexão de subscribe por instância; os listeners (ex.: eventos de tarefas) se registram nela
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        return container;
+    }
+
     /*
      * RedisTemplate configurado manualmente para String
      * Faz basicamente a mesma coisa que StringRedisTemplate,
@@ -0,0 +1,32 @@
+package com.vicente.taskmanager.config;
+
+import com.vicente.taskmanager.config.util.StatementCountingDataSource;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+/*
+ * Envolve o DataSource para contar os statements de cada request e de cada execução de scheduler
+ * (monitoring.SqlStatementCounter). Os limites ficam em app.sql.budget.*; com
+ * app.sql.statement-counting.enabled=false nada é contado e nenhum limite é verificado.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.sql.statement-counting.enabled", havingValue = "true", matchIfMissing = true)
+public class SqlStatementConfig {
+
+    @Bean
+    public static BeanPostProcessor statementCountingDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof StatementCountingDataSource)) {
+                    return new StatementCountingDataSource(dataSource);
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,56 @@
+package com.vicente.taskmanager.config;
+
+import com.vicente.taskmanager.config.util.ConnectionLimitingDataSource;
+import com.vicente.taskmanager.config.util.VirtualThreadPinningMonitor;
+import com.zaxxer.hikari.HikariDataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import java.time.Duration;
+
+/*
+ * Ativado com spring.threads.virtual.enabled=true. O Spring Boot já passa a usar virtual threads
+ * no Tomcat, no executor padrão do @Async e no scheduler do @Scheduled. O envio de e-mails
+ * continua no pool limitado de AsyncConfig. Aqui ficam só os complementos desse modo.
+ */
+@Configuration
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+public class VirtualThreadConfig {
+    private static final Logger logger = LoggerFactory.getLogger(VirtualThreadConfig.class);
+
+    @Bean
+    public static BeanPostProcessor connectionLimitingDataSourcePostProcessor() {
+        return new ConnectionLimitingDataSourcePostProcessor();
+    }
+
+    @Bean(initMethod = "start")
+    public VirtualThreadPinningMonitor virtualThreadPinningMonitor(
+            @Value("${app.threads.pinning.threshold.millis}") long thresholdMillis) {
+        return new VirtualThreadPinningMonitor(Duration.ofMillis(thresholdMillis));
+    }
+
+    // Ordered so it sees the HikariDataSource itself, before other post processors wrap it (SqlStatementConfig).
+    private static class ConnectionLimitingDataSourcePostProcessor implements BeanPostProcessor, Ordered {
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (bean instanceof HikariDataSource hikariDataSource) {
+                logger.info("Limiting concurrent database connections for virtual threads | permits={} timeout={}ms",
+                        hikariDataSource.getMaximumPoolSize(), hikariDataSource.getConnectionTimeout());
+                return new ConnectionLimitingDataSource(hikariDataSource, hikariDataSource.getMaximumPoolSize(),
+                        hikariDataSource.getConnectionTimeout());
+            }
+            return bean;
+        }
+
+        @Override
+        public int getOrder() {
+            return Ordered.HIGHEST_PRECEDENCE;
+        }
+    }
+}
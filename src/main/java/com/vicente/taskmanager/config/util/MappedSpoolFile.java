@@ -0,0 +1,333 @@
+package com.vicente.taskmanager.config.util;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Append-only spool of byte records kept in fixed-size, memory-mapped segment files. Records are
+ * written as [int length][bytes]; a zero length marks the end of a segment, since new files are
+ * zero filled. Writers only copy into mapped memory. A single reader takes batches and commits them
+ * once shipped, and its position is persisted so a restart resumes where it stopped. The reader thread
+ * also calls {@link #maintain()}, which maps the next segment ahead of time and deletes the consumed or
+ * evicted ones, so a writer normally neither creates nor deletes files.
+ * <p>
+ * Disk usage is bounded by maxSegments * segmentSize: when a new segment would exceed it, the oldest
+ * segment is deleted even if it was not read yet, and its unread bytes are counted as dropped.
+ */
+public class MappedSpoolFile implements Closeable {
+    private static final int RECORD_HEADER = Integer.BYTES;
+    private static final String SEGMENT_PREFIX = "spool-";
+    private static final String SEGMENT_SUFFIX = ".seg";
+    private static final String POSITION_FILE = "reader.position";
+
+    private final Path directory;
+    private final int segmentSize;
+    private final int maxSegments;
+    private final ArrayDeque<Segment> segments = new ArrayDeque<>();
+    private final List<Segment> retired = new ArrayList<>();
+    private final FileChannel positionChannel;
+    private final ByteBuffer positionBuffer = ByteBuffer.allocate(Long.BYTES + Integer.BYTES);
+
+    private Segment spare;
+    private long readSegmentId;
+    private int readOffset;
+    private long droppedBytes;
+    private boolean closed;
+
+    public MappedSpoolFile(Path directory, int segmentSize, int maxSegments) throws IOException {
+        this.directory = Files.createDirectories(directory);
+        this.segmentSize = segmentSize;
+        this.maxSegments = Math.max(2, maxSegments);
+        this.positionChannel = FileChannel.open(directory.resolve(POSITION_FILE), StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+
+        recoverSegments();
+        recoverPosition();
+    }
+
+    /**
+     * Appends one record. Returns false when the record was dropped because it does not fit in a segment.
+     */
+    public synchronized boolean write(byte[] data) throws IOException {
+        if (closed) return false;
+        int recordSize = RECORD_HEADER + data.length;
+        if (recordSize >= segmentSize) {
+            droppedBytes += data.length;
+            return false;
+        }
+
+        Segment segment = segments.getLast();
+        if (segment.writeOffset + recordSize > segmentSize) {
+            segment = rotate();
+        }
+
+        MemorySegment.copy(data, 0, segment.memory, ValueLayout.JAVA_BYTE,
+                segment.writeOffset + RECORD_HEADER, data.length);
+        segment.memory.set(ValueLayout.JAVA_INT_UNALIGNED, segment.writeOffset, data.length);
+        segment.writeOffset += recordSize;
+
+        notifyAll();
+        return true;
+    }
+
+    /**
+     * Returns up to maxRecords unread records without consuming them, waiting up to maxWait when
+     * there is nothing to read. Call {@link #commit(Batch)} once they were shipped.
+     */
+    public synchronized Batch read(int maxRecords, long maxWait, TimeUnit unit) throws InterruptedException {
+        if (!closed && bytesBehind() == 0) {
+            wait(unit.toMillis(maxWait));
+        }
+
+        List<byte[]> records = new ArrayList<>();
+        long segmentId = readSegmentId;
+        int offset = readOffset;
+        Iterator<Segment> iterator = segments.iterator();
+        Segment segment = skipTo(iterator, segmentId);
+
+        while (segment != null && records.size() < maxRecords) {
+            if (offset < segment.writeOffset) {
+                int length = segment.memory.get(ValueLayout.JAVA_INT_UNALIGNED, offset);
+                byte[] record = new byte[length];
+                MemorySegment.copy(segment.memory, ValueLayout.JAVA_BYTE, offset + RECORD_HEADER, record, 0, length);
+                records.add(record);
+                offset += RECORD_HEADER + length;
+            } else if (iterator.hasNext()) {
+                segment = iterator.next();
+                segmentId = segment.id;
+                offset = 0;
+            } else {
+                break;
+            }
+        }
+        return new Batch(records, segmentId, offset);
+    }
+
+    /**
+     * Marks a batch returned by {@link #read} as shipped and deletes the segments it fully consumed.
+     */
+    public synchronized void commit(Batch batch) throws IOException {
+        if (closed || batch.segmentId() < readSegmentId) return;
+        readSegmentId = batch.segmentId();
+        readOffset = batch.offset();
+
+        while (segments.size() > 1 && segments.getFirst().id < readSegmentId) {
+            retired.add(segments.removeFirst());
+        }
+        persistPosition();
+    }
+
+    /**
+     * Reader-side housekeeping, done outside the lock: deletes retired segments and maps the next one.
+     * A segment mapped for an id a writer already created inline is only unmapped, never deleted.
+     */
+    public void maintain() throws IOException {
+        List<Segment> toDelete;
+        long nextId;
+        synchronized (this) {
+            if (closed) return;
+            toDelete = new ArrayList<>(retired);
+            retired.clear();
+            nextId = spare == null ? segments.getLast().id + 1 : -1;
+        }
+        for (Segment segment : toDelete) {
+            segment.delete();
+        }
+        if (nextId < 0) return;
+
+        Segment segment = Segment.create(directory, nextId, segmentSize);
+        synchronized (this) {
+            if (!closed && spare == null && segments.getLast().id + 1 == nextId) {
+                spare = segment;
+                return;
+            }
+        }
+        segment.close();
+    }
+
+    public synchronized long bytesBehind() {
+        long behind = 0;
+        for (Segment segment : segments) {
+            if (segment.id == readSegmentId) {
+                behind += segment.writeOffset - readOffset;
+            } else if (segment.id > readSegmentId) {
+                behind += segment.writeOffset;
+            }
+        }
+        return behind;
+    }
+
+    public synchronized long droppedBytes() {
+        return droppedBytes;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (closed) return;
+        closed = true;
+        persistPosition();
+        positionChannel.close();
+        for (Segment segment : segments) {
+            segment.close();
+        }
+        segments.clear();
+        for (Segment segment : retired) {
+            segment.delete();
+        }
+        retired.clear();
+        if (spare != null) {
+            spare.close();
+            spare = null;
+        }
+        notifyAll();
+    }
+
+    // Without a spare (reader behind or stopped) the writer maps the next segment itself.
+    private Segment rotate() throws IOException {
+        Segment segment = spare != null ? spare : Segment.create(directory, segments.getLast().id + 1, segmentSize);
+        spare = null;
+        segments.addLast(segment);
+
+        while (segments.size() > maxSegments) {
+            Segment evicted = segments.removeFirst();
+            if (evicted.id > readSegmentId) {
+                droppedBytes += evicted.writeOffset;
+            } else if (evicted.id == readSegmentId) {
+                droppedBytes += evicted.writeOffset - readOffset;
+            }
+            retired.add(evicted);
+        }
+
+        if (segments.getFirst().id > readSegmentId) {
+            readSegmentId = segments.getFirst().id;
+            readOffset = 0;
+        }
+        return segment;
+    }
+
+    private void recoverSegments() throws IOException {
+        List<Path> files;
+        try (Stream<Path> stream = Files.list(directory)) {
+            files = stream.filter(path -> {
+                        String name = path.getFileName().toString();
+                        return name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX);
+                    })
+                    .sorted()
+                    .toList();
+        }
+
+        for (Path file : files) {
+            String name = file.getFileName().toString();
+            long id = Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+            segments.addLast(Segment.open(file, id, segmentSize));
+        }
+
+        if (segments.isEmpty()) {
+            segments.addLast(Segment.create(directory, 0, segmentSize));
+        }
+    }
+
+    private void recoverPosition() throws IOException {
+        readSegmentId = segments.getFirst().id;
+        readOffset = 0;
+
+        if (positionChannel.read(positionBuffer.clear(), 0) == positionBuffer.capacity()) {
+            long segmentId = positionBuffer.getLong(0);
+            int offset = positionBuffer.getInt(Long.BYTES);
+            for (Segment segment : segments) {
+                if (segment.id == segmentId && offset <= segment.writeOffset) {
+                    readSegmentId = segmentId;
+                    readOffset = offset;
+                }
+            }
+        }
+    }
+
+    private void persistPosition() throws IOException {
+        positionBuffer.clear().putLong(readSegmentId).putInt(readOffset).flip();
+        positionChannel.write(positionBuffer, 0);
+    }
+
+    private static Segment skipTo(Iterator<Segment> iterator, long segmentId) {
+        while (iterator.hasNext()) {
+            Segment segment = iterator.next();
+            if (segment.id >= segmentId) {
+                return segment;
+            }
+        }
+        return null;
+    }
+
+    public record Batch(List<byte[]> records, long segmentId, int offset) {
+        public boolean isEmpty() {
+            return records.isEmpty();
+        }
+    }
+
+    private static final class Segment {
+        private final long id;
+        private final Path file;
+        private final Arena arena;
+        private final MemorySegment memory;
+        private int writeOffset;
+
+        private Segment(long id, Path file, Arena arena, MemorySegment memory, int writeOffset) {
+            this.id = id;
+            this.file = file;
+            this.arena = arena;
+            this.memory = memory;
+            this.writeOffset = writeOffset;
+        }
+
+        static Segment create(Path directory, long id, int size) throws IOException {
+            Path file = directory.resolve(SEGMENT_PREFIX + String.format("%019d", id) + SEGMENT_SUFFIX);
+            return open(file, id, size);
+        }
+
+        static Segment open(Path file, long id, int size) throws IOException {
+            Arena arena = Arena.ofShared();
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                    StandardOpenOption.WRITE)) {
+                MemorySegment memory = channel.map(FileChannel.MapMode.READ_WRITE, 0, size, arena);
+                return new Segment(id, file, arena, memory, scanEnd(memory, size));
+            } catch (IOException | RuntimeException e) {
+                arena.close();
+                throw e;
+            }
+        }
+
+        // The first zero or out-of-bounds length is where the previous run stopped writing.
+        private static int scanEnd(MemorySegment memory, int size) {
+            int offset = 0;
+            while (offset + RECORD_HEADER <= size) {
+                int length = memory.get(ValueLayout.JAVA_INT_UNALIGNED, offset);
+                if (length <= 0 || offset + RECORD_HEADER + length > size) break;
+                offset += RECORD_HEADER + length;
+            }
+            return offset;
+        }
+
+        void close() {
+            arena.close();
+        }
+
+        void delete() throws IOException {
+            arena.close();
+            Files.deleteIfExists(file);
+        }
+    }
+}
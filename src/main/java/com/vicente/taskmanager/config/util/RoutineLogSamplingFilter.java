@@ -0,0 +1,65 @@
+package com.vicente.taskmanager.config.util;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.Marker;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Rate limits the routine (INFO and below) lines of the application's loggers: each logger may
+ * write up to maxPerSecond lines per second and, past that, one in sampleRate. WARN and ERROR
+ * always pass, and the AUDIT logger is outside the filtered prefix. Configured in logback-spring.xml.
+ */
+public class RoutineLogSamplingFilter extends TurboFilter {
+    private final ConcurrentHashMap<String, Window> windows = new ConcurrentHashMap<>();
+    private String loggerPrefix = "com.vicente.taskmanager";
+    private int maxPerSecond = 50;
+    private int sampleRate = 10;
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params,
+                              Throwable t) {
+        // format is null for isXxxEnabled() checks, which must not consume the budget
+        if (!isStarted() || format == null || level.isGreaterOrEqual(Level.WARN) ||
+                !level.isGreaterOrEqual(logger.getEffectiveLevel()) || !logger.getName().startsWith(loggerPrefix)) {
+            return FilterReply.NEUTRAL;
+        }
+
+        long count = windows.computeIfAbsent(logger.getName(), _ -> new Window())
+                .increment(System.currentTimeMillis() / 1000);
+        if (count <= maxPerSecond || (count - maxPerSecond) % sampleRate == 0) {
+            return FilterReply.NEUTRAL;
+        }
+        return FilterReply.DENY;
+    }
+
+    public void setLoggerPrefix(String loggerPrefix) {
+        this.loggerPrefix = loggerPrefix;
+    }
+
+    public void setMaxPerSecond(int maxPerSecond) {
+        this.maxPerSecond = maxPerSecond;
+    }
+
+    public void setSampleRate(int sampleRate) {
+        this.sampleRate = Math.max(1, sampleRate);
+    }
+
+    private static final class Window {
+        private final AtomicLong second = new AtomicLong();
+        private final AtomicLong count = new AtomicLong();
+
+        // A racing reset may let a few extra lines through at the second boundary, which is fine here.
+        long increment(long currentSecond) {
+            long windowSecond = second.get();
+            if (windowSecond != currentSecond && second.compareAndSet(windowSecond, currentSecond)) {
+                count.set(0);
+            }
+            return count.incrementAndGet();
+        }
+    }
+}
@@ -0,0 +1,228 @@
+package com.vicente.taskmanager.config.util;
+
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.UnsynchronizedAppenderBase;
+import ch.qos.logback.core.encoder.Encoder;
+import ch.qos.logback.core.util.Duration;
+import ch.qos.logback.core.util.FileSize;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.SocketTimeoutException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Ships encoded events to a Logstash TCP input through a {@link MappedSpoolFile} on local disk.
+ * append encodes the event and copies it into mapped memory, so it is meant to sit behind an
+ * AsyncAppender and stay off request threads. A background thread reads batches from the spool,
+ * writes them to the socket, reconnects when Logstash is slow or down, and does the spool's file
+ * work (next segment, deletions). Events survive restarts, and while Logstash is away they pile up
+ * on disk within the spool's size bound instead of in the heap.
+ * <p>
+ * The socket is written in non-blocking mode with a deadline: if Logstash accepts the connection
+ * but stops reading, a write that makes no progress for writeTimeout fails and the shipper
+ * reconnects instead of blocking forever on a full TCP buffer.
+ */
+public class SpoolingLogstashAppender extends UnsynchronizedAppenderBase<ILoggingEvent> {
+    private static final int CONNECT_TIMEOUT_MILLIS = 5000;
+    private static final long READ_WAIT_MILLIS = 1000;
+    private static final int SEND_BUFFER_SIZE = 64 * 1024;
+
+    private Encoder<ILoggingEvent> encoder;
+    private String destination;
+    private String spoolDirectory;
+    private FileSize segmentSize = FileSize.valueOf("16MB");
+    private int maxSegments = 16;
+    private int batchSize = 500;
+    private Duration reconnectDelay = Duration.buildBySeconds(5);
+    private Duration writeTimeout = Duration.buildBySeconds(30);
+
+    private MappedSpoolFile spool;
+    private Thread shipper;
+    private volatile boolean running;
+
+    @Override
+    public void start() {
+        if (encoder == null || destination == null || spoolDirectory == null) {
+            addError("encoder, destination and spoolDirectory are required for appender " + getName());
+            return;
+        }
+        try {
+            spool = new MappedSpoolFile(Path.of(spoolDirectory), (int) segmentSize.getSize(), maxSegments);
+        } catch (IOException e) {
+            addError("Could not open log spool " + spoolDirectory, e);
+            return;
+        }
+        if (!encoder.isStarted()) {
+            encoder.start();
+        }
+
+        running = true;
+        shipper = Thread.ofPlatform().daemon().name("log-spool-" + getName()).start(this::ship);
+        super.start();
+    }
+
+    @Override
+    public void stop() {
+        if (!isStarted()) return;
+        super.stop();
+        running = false;
+        shipper.interrupt();
+        try {
+            shipper.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        try {
+            spool.close();
+        } catch (IOException e) {
+            addWarn("Could not close log spool " + spoolDirectory, e);
+        }
+    }
+
+    @Override
+    protected void append(ILoggingEvent event) {
+        try {
+            spool.write(encoder.encode(event));
+        } catch (IOException e) {
+            addError("Could not write event to log spool " + spoolDirectory, e);
+        }
+    }
+
+    public long getBytesBehind() {
+        return spool != null ? spool.bytesBehind() : 0;
+    }
+
+    public long getDroppedBytes() {
+        return spool != null ? spool.droppedBytes() : 0;
+    }
+
+    private void ship() {
+        while (running) {
+            try (SocketChannel channel = connect(); Selector selector = Selector.open()) {
+                channel.configureBlocking(false);
+                channel.register(selector, SelectionKey.OP_WRITE);
+                ByteBuffer buffer = ByteBuffer.allocate(SEND_BUFFER_SIZE);
+                while (running) {
+                    maintainSpool();
+                    MappedSpoolFile.Batch batch = spool.read(batchSize, READ_WAIT_MILLIS, TimeUnit.MILLISECONDS);
+                    if (batch.isEmpty()) continue;
+                    for (byte[] record : batch.records()) {
+                        if (record.length > buffer.remaining()) {
+                            flush(channel, selector, buffer);
+                        }
+                        if (record.length > buffer.capacity()) {
+                            write(channel, selector, ByteBuffer.wrap(record));
+                        } else {
+                            buffer.put(record);
+                        }
+                    }
+                    flush(channel, selector, buffer);
+                    spool.commit(batch);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (IOException e) {
+                addWarn("Log shipping to " + destination + " failed, retrying in " + reconnectDelay, e);
+                maintainSpool();
+                if (!sleep(reconnectDelay.getMilliseconds())) return;
+            }
+        }
+    }
+
+    private void maintainSpool() {
+        try {
+            spool.maintain();
+        } catch (IOException e) {
+            addWarn("Log spool maintenance failed in " + spoolDirectory, e);
+        }
+    }
+
+    private SocketChannel connect() throws IOException {
+        int separator = destination.lastIndexOf(':');
+        SocketChannel channel = SocketChannel.open();
+        try {
+            channel.socket().connect(new InetSocketAddress(destination.substring(0, separator),
+                    Integer.parseInt(destination.substring(separator + 1))), CONNECT_TIMEOUT_MILLIS);
+            return channel;
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    private void flush(SocketChannel channel, Selector selector, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        write(channel, selector, buffer);
+        buffer.clear();
+    }
+
+    // The deadline restarts on every write that makes progress, so only a stalled peer times out.
+    private void write(SocketChannel channel, Selector selector, ByteBuffer source) throws IOException {
+        long timeoutNanos = TimeUnit.MILLISECONDS.toNanos(writeTimeout.getMilliseconds());
+        long deadline = System.nanoTime() + timeoutNanos;
+        while (source.hasRemaining()) {
+            if (channel.write(source) > 0) {
+                deadline = System.nanoTime() + timeoutNanos;
+                continue;
+            }
+            long remainingMillis = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+            if (remainingMillis <= 0) {
+                throw new SocketTimeoutException("No write progress to " + destination + " in " + writeTimeout);
+            }
+            selector.select(remainingMillis);
+            selector.selectedKeys().clear();
+            if (Thread.currentThread().isInterrupted()) {
+                throw new IOException("Log shipping interrupted");
+            }
+        }
+    }
+
+    private boolean sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    public void setEncoder(Encoder<ILoggingEvent> encoder) {
+        this.encoder = encoder;
+    }
+
+    public void setDestination(String destination) {
+        this.destination = destination;
+    }
+
+    public void setSpoolDirectory(String spoolDirectory) {
+        this.spoolDirectory = spoolDirectory;
+    }
+
+    public void setSegmentSize(FileSize segmentSize) {
+        this.segmentSize = segmentSize;
+    }
+
+    public void setMaxSegments(int maxSegments) {
+        this.maxSegments = maxSegments;
+    }
+
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    public void setReconnectDelay(Duration reconnectDelay) {
+        this.reconnectDelay = reconnectDelay;
+    }
+
+    public void setWriteTimeout(Duration writeTimeout) {
+        this.writeTimeout = writeTimeout;
+    }
+}
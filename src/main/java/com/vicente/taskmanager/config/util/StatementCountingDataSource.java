@@ -0,0 +1,76 @@
+package com.vicente.taskmanager.config.util;
+
+import com.vicente.taskmanager.monitoring.SqlStatementCounter;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Set;
+
+/**
+ * Reports every SQL statement to {@link SqlStatementCounter}: each prepareStatement/prepareCall, and
+ * each execute on a plain Statement. Hibernate prepares one statement per execution (a JDBC batch
+ * is prepared once), so this is the number of round trips the code asked for.
+ */
+public class StatementCountingDataSource extends DelegatingDataSource implements AutoCloseable {
+    private static final Set<String> PREPARE_METHODS = Set.of("prepareStatement", "prepareCall");
+    private static final Set<String> EXECUTE_METHODS = Set.of("execute", "executeQuery", "executeUpdate",
+            "executeLargeUpdate");
+
+    public StatementCountingDataSource(DataSource targetDataSource) {
+        super(targetDataSource);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return countStatements(obtainTargetDataSource().getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return countStatements(obtainTargetDataSource().getConnection(username, password));
+    }
+
+    // The wrapper replaces the pool bean, so it has to close the pool on shutdown.
+    @Override
+    public void close() throws Exception {
+        if (obtainTargetDataSource() instanceof AutoCloseable closeable) {
+            closeable.close();
+        }
+    }
+
+    private static Connection countStatements(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+                (_, method, args) -> {
+                    if (PREPARE_METHODS.contains(method.getName()) && args != null && args[0] instanceof String sql) {
+                        SqlStatementCounter.record(sql);
+                    }
+                    Object result = invoke(connection, method, args);
+                    return result instanceof Statement statement && "createStatement".equals(method.getName()) ?
+                            countExecutions(statement) : result;
+                });
+    }
+
+    private static Statement countExecutions(Statement statement) {
+        return (Statement) Proxy.newProxyInstance(Statement.class.getClassLoader(), new Class<?>[]{Statement.class},
+                (_, method, args) -> {
+                    if (EXECUTE_METHODS.contains(method.getName()) && args != null && args[0] instanceof String sql) {
+                        SqlStatementCounter.record(sql);
+                    }
+                    return invoke(statement, method, args);
+                });
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.vicente.taskmanager.config.util;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * Logs virtual threads that stay pinned to their carrier longer than a threshold, read in-process
+ * from the jdk.VirtualThreadPinned JFR event. Since JDK 24 synchronized no longer pins, so what is
+ * left to catch are native frames and class initialization, e.g. inside JDBC drivers or Netty.
+ */
+public class VirtualThreadPinningMonitor implements AutoCloseable {
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    private static final int MAX_FRAMES = 8;
+    private static final Logger logger = LoggerFactory.getLogger(VirtualThreadPinningMonitor.class);
+
+    private final RecordingStream recordingStream;
+    private final Duration threshold;
+    private final LongAdder pinnedCount = new LongAdder();
+
+    public VirtualThreadPinningMonitor(Duration threshold) {
+        this.threshold = threshold;
+        this.recordingStream = new RecordingStream();
+        recordingStream.enable(PINNED_EVENT).withThreshold(threshold).withStackTrace();
+        recordingStream.onEvent(PINNED_EVENT, this::logPinned);
+    }
+
+    public void start() {
+        recordingStream.startAsync();
+        logger.info("Virtual thread pinning monitor started | threshold={}ms", threshold.toMillis());
+    }
+
+    public long getPinnedCount() {
+        return pinnedCount.sum();
+    }
+
+    @Override
+    public void close() {
+        recordingStream.close();
+    }
+
+    private void logPinned(RecordedEvent event) {
+        pinnedCount.increment();
+        String reason = event.hasField("pinnedReason") ? event.getString("pinnedReason") : null;
+        logger.warn("Virtual thread pinned | duration={}ms reason={} thread={} stack={}",
+                event.getDuration().toMillis(), reason,
+                event.getThread() != null ? event.getThread().getJavaName() : null,
+                formatStack(event.getStackTrace()));
+    }
+
+    private static String formatStack(RecordedStackTrace stackTrace) {
+        if (stackTrace == null) return "";
+        return stackTrace.getFrames().stream()
+                .filter(RecordedFrame::isJavaFrame)
+                .limit(MAX_FRAMES)
+                .map(frame -> frame.getMethod().getType().getName() + "." + frame.getMethod().getName() + ":" +
+                        frame.getLineNumber())
+                .collect(Collectors.joining(" <- "));
+    }
+}
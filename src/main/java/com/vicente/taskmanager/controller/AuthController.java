@@ -8,9 +8,11 @@ import com.vicente.taskmanager.dto.response.AccessTokenResponseDTO;
 import com.vicente.taskmanager.dto.response.MessageResponseDTO;
 import com.vicente.taskmanager.dto.response.TokenResponseDTO;
 import com.vicente.taskmanager.dto.response.RegisterUserResponseDTO;
+import com.vicente.taskmanager.domain.enums.RateLimitRoute;
 import com.vicente.taskmanager.domain.enums.TokenType;
 import com.vicente.taskmanager.security.TokenExtractor;
 import com.vicente.taskmanager.service.AuthService;
+import com.vicente.taskmanager.service.RateLimitService;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
@@ -29,22 +31,28 @@ import java.util.UUID;
 @RequestMapping(value = "/api/v1/auth")
 public class AuthController implements AuthControllerDoc {
     private final AuthService authService;
+    private final RateLimitService rateLimitService;
     private final long refreshTokenExpirationDays;
     private static final Logger logger = LoggerFactory.getLogger(AuthController.class);
     private static final String REFRESH_TOKEN_COOKIE = "refreshToken";
     private static final String FINGERPRINT_COOKIE = "fingerprint";
 
     public AuthController(AuthService authService,
+                          RateLimitService rateLimitService,
                           @Value("${security.refresh.token.expiration.days}") long refreshTokenExpirationDays) {
         this.authService = authService;
+        this.rateLimitService = rateLimitService;
         this.refreshTokenExpirationDays = refreshTokenExpirationDays;
     }
 
     @Override
     @PostMapping("/register")
     public ResponseEntity<RegisterUserResponseDTO> register(
-            @Valid @RequestBody RegisterUserRequestDTO registerUserRequest) {
+            @Valid @RequestBody RegisterUserRequestDTO registerUserRequest,
+            HttpServletRequest request
+    ) {
         logger.debug("POST /api/v1/auth/register called");
+        rateLimitService.check(RateLimitRoute.REGISTER, getClientIp(request), registerUserRequest.email(), null);
         RegisterUserResponseDTO registerUserResponseDTO =
                 authService.register(registerUserRequest);
 
@@ -55,9 +63,11 @@ public class AuthController implements AuthControllerDoc {
     @PostMapping("/login")
     public ResponseEntity<AccessTokenResponseDTO> login(
             @Valid @RequestBody LoginRequestDTO loginRequestDTO,
-            @CookieValue(value = REFRESH_TOKEN_COOKIE, required = false) String refreshToken
+            @CookieValue(value = REFRESH_TOKEN_COOKIE, required = false) String refreshToken,
+            HttpServletRequest request
     ) {
         logger.debug("POST /api/v1/auth/login login called | email={}", loginRequestDTO.email());
+        rateLimitService.check(RateLimitRoute.LOGIN, getClientIp(request), loginRequestDTO.email(), null);
         TokenResponseDTO tokenResponseDTO = authService.login(loginRequestDTO, refreshToken);
         String newRefreshToken = tokenResponseDTO.refreshToken();
         String newFingerprint = tokenResponseDTO.fingerprint();
@@ -69,18 +79,26 @@ public class AuthController implements AuthControllerDoc {
 
     @Override
     @PostMapping("/resend-email-verification")
-    public ResponseEntity<MessageResponseDTO> resendEmailVerification(@Valid @RequestBody EmailRequestDTO emailRequestDTO) {
+    public ResponseEntity<MessageResponseDTO> resendEmailVerification(
+            @Valid @RequestBody EmailRequestDTO emailRequestDTO,
+            HttpServletRequest request
+    ) {
         logger.debug("POST /api/v1/auth/resend-email-verification resend verification called | email={}",
                 emailRequestDTO.email());
+        rateLimitService.check(RateLimitRoute.SEND_TOKEN_EMAIL, getClientIp(request), emailRequestDTO.email(), null);
         authService.sendTokenEmail(emailRequestDTO.email(), TokenType.EMAIL_VERIFICATION);
         return ResponseEntity.ok(new MessageResponseDTO("If the email exists, a message was sent"));
     }
 
     @Override
     @PostMapping("/forgot-password")
-    public ResponseEntity<MessageResponseDTO> forgotPassword(@Valid @RequestBody EmailRequestDTO emailRequestDTO) {
+    public ResponseEntity<MessageResponseDTO> forgotPassword(
+            @Valid @RequestBody EmailRequestDTO emailRequestDTO,
+            HttpServletRequest request
+    ) {
         logger.debug("POST /api/v1/auth/forgot-password forgot password called | email={}",
                 emailRequestDTO.email());
+        rateLimitService.check(RateLimitRoute.SEND_TOKEN_EMAIL, getClientIp(request), emailRequestDTO.email(), null);
         authService.sendTokenEmail(emailRequestDTO.email(), TokenType.PASSWORD_RESET);
         return ResponseEntity.ok(new MessageResponseDTO("If the email exists, a message was sent"));
     }
@@ -128,6 +146,7 @@ public class AuthController implements AuthControllerDoc {
     ) {
         logger.debug("POST /api/v1/auth/refresh refresh token called");
         String ipAddress = getClientIp(request);
+        rateLimitService.check(RateLimitRoute.REFRESH, ipAddress, null, null);
         TokenResponseDTO tokenResponseDTO = authService.refreshToken(refreshToken, fingerprint, ipAddress);
         String newRefreshToken = tokenResponseDTO.refreshToken();
         AccessTokenResponseDTO accessToken = new AccessTokenResponseDTO(tokenResponseDTO.accessToken());
@@ -150,10 +169,9 @@ public class AuthController implements AuthControllerDoc {
         return ResponseEntity.noContent().headers(headers).build();
     }
 
+    // O X-Forwarded-For só é considerado quando vem de um proxy confiável (server.forward-headers-strategy)
     private String getClientIp(HttpServletRequest request) {
-        return request.getHeader("X-Forwarded-For") != null
-                ? request.getHeader("X-Forwarded-For").split(",")[0].trim()
-                : request.getRemoteAddr();
+        return request.getRemoteAddr();
     }
 
     private HttpHeaders getHeaders(
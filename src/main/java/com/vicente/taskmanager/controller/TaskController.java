@@ -1,21 +1,38 @@
 package com.vicente.taskmanager.controller;
 
 import com.vicente.taskmanager.controller.docs.TaskControllerDoc;
+import com.vicente.taskmanager.controller.util.ETagHelper;
+import com.vicente.taskmanager.domain.enums.ExportFormat;
+import com.vicente.taskmanager.domain.enums.TaskStatus;
+import com.vicente.taskmanager.dto.request.TaskBatchCreateRequestDTO;
+import com.vicente.taskmanager.dto.request.TaskBatchRequestDTO;
+import com.vicente.taskmanager.dto.response.ArchivedTaskResponseDTO;
+import com.vicente.taskmanager.dto.response.TaskBatchResponseDTO;
+import com.vicente.taskmanager.dto.response.TaskChangePageResponseDTO;
 import com.vicente.taskmanager.dto.response.PageResponseDTO;
 import com.vicente.taskmanager.dto.request.TaskCreateRequestDTO;
 import com.vicente.taskmanager.dto.response.TaskResponseDTO;
+import com.vicente.taskmanager.dto.response.TaskSearchPageResponseDTO;
 
 import com.vicente.taskmanager.dto.request.TaskUpdateRequestDTO;
 import com.vicente.taskmanager.domain.entity.User;
+import com.vicente.taskmanager.service.TaskEventService;
 import com.vicente.taskmanager.service.TaskService;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springdoc.core.annotations.ParameterObject;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import java.net.URI;
@@ -26,18 +43,29 @@ import java.time.LocalDate;
 public class TaskController implements TaskControllerDoc {
 
     private final TaskService taskService;
+    private final TaskEventService taskEventService;
     private static final Logger logger = LoggerFactory.getLogger(TaskController.class);
 
-    public TaskController(TaskService taskService) {
+    public TaskController(TaskService taskService, TaskEventService taskEventService) {
         this.taskService = taskService;
+        this.taskEventService = taskEventService;
     }
 
     @Override
     @GetMapping("/tasks/{id}")
-    public ResponseEntity<TaskResponseDTO> findById(@PathVariable Long id, @AuthenticationPrincipal User user) {
+    public ResponseEntity<TaskResponseDTO> findById(
+            @PathVariable Long id,
+            @AuthenticationPrincipal User user,
+            WebRequest request
+    ) {
         logger.debug("GET /api/v1/tasks/{id} findById called | taskId={} userId={}", id, user.getId());
+        // Revalidation only reads the version and status, the task itself is loaded when it has changed.
+        if (request.getHeader(HttpHeaders.IF_NONE_MATCH) != null &&
+                request.checkNotModified(ETagHelper.taskETag(id, taskService.findState(id, user.getId())))) {
+            return null;
+        }
         TaskResponseDTO responseDTO = taskService.findById(id, user.getId());
-        return ResponseEntity.ok(responseDTO);
+        return ResponseEntity.ok().eTag(ETagHelper.taskETag(responseDTO)).body(responseDTO);
     }
 
     @Override
@@ -46,16 +74,37 @@ public class TaskController implements TaskControllerDoc {
             @RequestParam(required = false) String status,
             @RequestParam(value = "due-date", required = false) LocalDate dueDate,
             @AuthenticationPrincipal User user,
-            @ParameterObject Pageable pageable
+            @ParameterObject Pageable pageable,
+            WebRequest request
     ) {
         logger.debug("GET /api/v1/tasks find called | userId={} filters: status={} dueDate={}",
                 user.getId(), status, dueDate);
+        if (isPageNotModified(status, dueDate, user.getId(), pageable, request)) {
+            return null;
+        }
         PageResponseDTO<TaskResponseDTO> pageResponseDTO = taskService.find(status, dueDate, user.getId(), pageable);
         if (pageResponseDTO.content().isEmpty()) {
             logger.debug("GET /api/v1/tasks returned empty result | userId={} filters: status={} dueDate={}",
                     user.getId(), status, dueDate);
         }
-        return ResponseEntity.ok(pageResponseDTO);
+        return ResponseEntity.ok().eTag(ETagHelper.pageETag(pageResponseDTO)).body(pageResponseDTO);
+    }
+
+    @Override
+    @GetMapping(value = "/tasks", params = "q")
+    public ResponseEntity<TaskSearchPageResponseDTO> search(
+            @RequestParam("q") String query,
+            @RequestParam(required = false) String status,
+            @RequestParam(value = "due-date", required = false) LocalDate dueDate,
+            @RequestParam(required = false) String cursor,
+            @AuthenticationPrincipal User user,
+            @ParameterObject Pageable pageable
+    ) {
+        logger.debug("GET /api/v1/tasks search called | userId={} filters: status={} dueDate={}",
+                user.getId(), status, dueDate);
+        TaskSearchPageResponseDTO responseDTO = taskService.search(query, status, dueDate, user.getId(), cursor,
+                pageable.getPageSize());
+        return ResponseEntity.ok(responseDTO);
     }
 
     @Override
@@ -76,27 +125,37 @@ public class TaskController implements TaskControllerDoc {
     public ResponseEntity<TaskResponseDTO> update(
             @PathVariable Long id,
             @Valid @RequestBody TaskUpdateRequestDTO request,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             @AuthenticationPrincipal User user
     ) {
         logger.debug("PATCH /api/v1/tasks/{id} update called | taskId={} userId={}", id, user.getId());
-        TaskResponseDTO responseDTO = taskService.update(id, user.getId(), request);
-        return ResponseEntity.ok(responseDTO);
+        TaskResponseDTO responseDTO = taskService.update(id, user.getId(), ETagHelper.expectedVersion(ifMatch, id),
+                request);
+        return ResponseEntity.ok().eTag(ETagHelper.taskETag(responseDTO)).body(responseDTO);
     }
 
     @Override
     @PatchMapping("/tasks/{id}/done")
-    public ResponseEntity<TaskResponseDTO> done(@PathVariable Long id, @AuthenticationPrincipal User user) {
+    public ResponseEntity<TaskResponseDTO> done(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @AuthenticationPrincipal User user
+    ) {
         logger.debug("PATCH /api/v1/tasks/done/{id} done called | taskId={} userId={}", id, user.getId());
-        TaskResponseDTO responseDTO = taskService.done(id, user.getId());
-        return ResponseEntity.ok(responseDTO);
+        TaskResponseDTO responseDTO = taskService.done(id, user.getId(), ETagHelper.expectedVersion(ifMatch, id));
+        return ResponseEntity.ok().eTag(ETagHelper.taskETag(responseDTO)).body(responseDTO);
     }
 
     @Override
     @PatchMapping("/tasks/{id}/cancel")
-    public ResponseEntity<TaskResponseDTO> cancel(@PathVariable Long id, @AuthenticationPrincipal User user) {
+    public ResponseEntity<TaskResponseDTO> cancel(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @AuthenticationPrincipal User user
+    ) {
         logger.debug("PATCH /api/v1/tasks/cancel/{id} cancelled called | taskId={} userId={}", id, user.getId());
-        TaskResponseDTO responseDTO = taskService.cancel(id, user.getId());
-        return ResponseEntity.ok(responseDTO);
+        TaskResponseDTO responseDTO = taskService.cancel(id, user.getId(), ETagHelper.expectedVersion(ifMatch, id));
+        return ResponseEntity.ok().eTag(ETagHelper.taskETag(responseDTO)).body(responseDTO);
     }
 
     @Override
@@ -113,23 +172,165 @@ public class TaskController implements TaskControllerDoc {
             @RequestParam(required = false) String status,
             @RequestParam(value = "due-date", required = false) LocalDate dueDate,
             @PathVariable Long userId,
-            @ParameterObject Pageable pageable
+            @ParameterObject Pageable pageable,
+            WebRequest request
     ) {
         logger.debug("GET /api/v1/admin/users/{userId}/tasks admin find called | userId={} filters: status={} dueDate={}",
                 userId, status, dueDate);
+        if (isPageNotModified(status, dueDate, userId, pageable, request)) {
+            return null;
+        }
         PageResponseDTO<TaskResponseDTO> pageResponseDTO = taskService.find(status, dueDate, userId, pageable);
         if (pageResponseDTO.content().isEmpty()) {
             logger.debug("GET /api/v1/admin/users/{userId}/tasks returned empty result | userId={} filters: status={} dueDate={}",
                     userId, status, dueDate);
         }
-        return ResponseEntity.ok(pageResponseDTO);
+        return ResponseEntity.ok().eTag(ETagHelper.pageETag(pageResponseDTO)).body(pageResponseDTO);
     }
 
     @Override
     @GetMapping("/admin/tasks/{id}")
-    public ResponseEntity<TaskResponseDTO> getTask(@PathVariable Long id){
+    public ResponseEntity<TaskResponseDTO> getTask(@PathVariable Long id, WebRequest request){
         logger.debug("GET /api/v1/admin/tasks/{id} getTask called | taskId={}", id);
+        if (request.getHeader(HttpHeaders.IF_NONE_MATCH) != null &&
+                request.checkNotModified(ETagHelper.taskETag(id, taskService.findState(id)))) {
+            return null;
+        }
         TaskResponseDTO taskResponseDTO = taskService.findById(id);
-        return ResponseEntity.ok(taskResponseDTO);
+        return ResponseEntity.ok().eTag(ETagHelper.taskETag(taskResponseDTO)).body(taskResponseDTO);
+    }
+
+    @Override
+    @GetMapping("/tasks/changes")
+    public ResponseEntity<TaskChangePageResponseDTO> findChanges(
+            @RequestParam(required = false) String cursor,
+            @AuthenticationPrincipal User user,
+            @ParameterObject Pageable pageable
+    ) {
+        logger.debug("GET /api/v1/tasks/changes findChanges called | userId={}", user.getId());
+        return ResponseEntity.ok(taskService.findChanges(user.getId(), cursor, pageable.getPageSize()));
+    }
+
+    @Override
+    @GetMapping(value = "/tasks/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter subscribeEvents(@AuthenticationPrincipal User user) {
+        logger.debug("GET /api/v1/tasks/events subscribeEvents called | userId={}", user.getId());
+        return taskEventService.subscribe(user.getId());
+    }
+
+    @Override
+    @GetMapping("/tasks/archive")
+    public ResponseEntity<PageResponseDTO<ArchivedTaskResponseDTO>> findArchived(
+            @AuthenticationPrincipal User user,
+            @ParameterObject Pageable pageable
+    ) {
+        logger.debug("GET /api/v1/tasks/archive findArchived called | userId={}", user.getId());
+        return ResponseEntity.ok(taskService.findArchived(user.getId(), pageable));
+    }
+
+    @Override
+    @GetMapping("/admin/users/{userId}/tasks/archive")
+    public ResponseEntity<PageResponseDTO<ArchivedTaskResponseDTO>> adminFindArchived(
+            @PathVariable Long userId,
+            @ParameterObject Pageable pageable
+    ) {
+        logger.debug("GET /api/v1/admin/users/{userId}/tasks/archive adminFindArchived called | userId={}", userId);
+        return ResponseEntity.ok(taskService.findArchived(userId, pageable));
+    }
+
+    @Override
+    @PostMapping("/tasks/batch")
+    public ResponseEntity<TaskBatchResponseDTO> createBatch(
+            @Valid @RequestBody TaskBatchCreateRequestDTO request,
+            @AuthenticationPrincipal User user
+    ) {
+        logger.debug("POST /api/v1/tasks/batch createBatch called | userId={} size={}", user.getId(),
+                request.tasks().size());
+        TaskBatchResponseDTO responseDTO = taskService.createBatch(request, user);
+        return ResponseEntity.status(HttpStatus.CREATED).body(responseDTO);
+    }
+
+    @Override
+    @PatchMapping("/tasks/batch/done")
+    public ResponseEntity<TaskBatchResponseDTO> doneBatch(
+            @Valid @RequestBody TaskBatchRequestDTO request,
+            @AuthenticationPrincipal User user
+    ) {
+        logger.debug("PATCH /api/v1/tasks/batch/done doneBatch called | userId={} size={}", user.getId(),
+                request.ids().size());
+        TaskBatchResponseDTO responseDTO = taskService.doneBatch(request, user.getId());
+        return ResponseEntity.ok(responseDTO);
+    }
+
+    @Override
+    @PatchMapping("/tasks/batch/cancel")
+    public ResponseEntity<TaskBatchResponseDTO> cancelBatch(
+            @Valid @RequestBody TaskBatchRequestDTO request,
+            @AuthenticationPrincipal User user
+    ) {
+        logger.debug("PATCH /api/v1/tasks/batch/cancel cancelBatch called | userId={} size={}", user.getId(),
+                request.ids().size());
+        TaskBatchResponseDTO responseDTO = taskService.cancelBatch(request, user.getId());
+        return ResponseEntity.ok(responseDTO);
+    }
+
+    @Override
+    @DeleteMapping("/admin/tasks/batch/delete")
+    public ResponseEntity<TaskBatchResponseDTO> deleteBatch(@Valid @RequestBody TaskBatchRequestDTO request) {
+        logger.debug("DELETE /api/v1/admin/tasks/batch/delete deleteBatch called | size={}", request.ids().size());
+        TaskBatchResponseDTO responseDTO = taskService.deleteBatch(request);
+        return ResponseEntity.ok(responseDTO);
+    }
+
+    @Override
+    @GetMapping("/tasks/export")
+    public ResponseEntity<StreamingResponseBody> export(
+            @RequestParam(required = false) String format,
+            @RequestParam(required = false) String status,
+            @RequestParam(value = "due-date", required = false) LocalDate dueDate,
+            @AuthenticationPrincipal User user
+    ) {
+        logger.debug("GET /api/v1/tasks/export export called | userId={} format={} filters: status={} dueDate={}",
+                user.getId(), format, status, dueDate);
+        return exportResponse(format, status, dueDate, user.getId());
+    }
+
+    @Override
+    @GetMapping("/admin/users/{userId}/tasks/export")
+    public ResponseEntity<StreamingResponseBody> adminExport(
+            @RequestParam(required = false) String format,
+            @RequestParam(required = false) String status,
+            @RequestParam(value = "due-date", required = false) LocalDate dueDate,
+            @PathVariable Long userId
+    ) {
+        logger.debug("GET /api/v1/admin/users/{userId}/tasks/export admin export called | userId={} format={} " +
+                "filters: status={} dueDate={}", userId, format, status, dueDate);
+        return exportResponse(format, status, dueDate, userId);
+    }
+
+    // Revalidation only reads the ids and versions of the page; the tasks are loaded when the page has changed.
+    private boolean isPageNotModified(String status, LocalDate dueDate, Long userId, Pageable pageable,
+                                      WebRequest request) {
+        if (request.getHeader(HttpHeaders.IF_NONE_MATCH) == null) {
+            return false;
+        }
+        return request.checkNotModified(ETagHelper.versionPageETag(
+                taskService.findVersions(status, dueDate, userId, pageable)));
+    }
+
+    private ResponseEntity<StreamingResponseBody> exportResponse(String format, String status, LocalDate dueDate,
+                                                                 Long userId) {
+        // Parameters are validated before the body starts streaming, while an error response can still be sent.
+        ExportFormat exportFormat = ExportFormat.convert(format);
+        TaskStatus taskStatus = TaskStatus.convert(status);
+
+        StreamingResponseBody body = outputStream ->
+                taskService.export(taskStatus, dueDate, userId, exportFormat, outputStream);
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFormat.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("tasks." + exportFormat.getFileExtension()).build().toString())
+                .body(body);
     }
 }
@@ -16,6 +16,8 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+
 @RestController
 @RequestMapping(value = "/api/v1")
 public class UserController  implements UserControllerDoc {
@@ -102,4 +104,26 @@ public class UserController  implements UserControllerDoc {
         }
         return ResponseEntity.ok(pageResponseDTO);
     }
+
+    @Override
+    @GetMapping("/admin/users/search")
+    public ResponseEntity<PageResponseDTO<UserAdminResponseDTO>> search(
+            @RequestParam String term,
+            @ParameterObject Pageable pageable
+    ) {
+        logger.debug("GET /api/v1/admin/users/search search called | term={}", term);
+        PageResponseDTO<UserAdminResponseDTO> pageResponseDTO = userService.search(term, pageable);
+        return ResponseEntity.ok(pageResponseDTO);
+    }
+
+    @Override
+    @GetMapping("/admin/users/autocomplete")
+    public ResponseEntity<List<UserResponseDTO>> autocomplete(
+            @RequestParam String prefix,
+            @RequestParam(defaultValue = "10") int limit
+    ) {
+        logger.debug("GET /api/v1/admin/users/autocomplete autocomplete called | prefix={} limit={}", prefix, limit);
+        List<UserResponseDTO> users = userService.autocomplete(prefix, limit);
+        return ResponseEntity.ok(users);
+    }
 }
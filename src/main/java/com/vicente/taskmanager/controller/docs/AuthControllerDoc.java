@@ -51,9 +51,19 @@ public interface AuthControllerDoc {
                             mediaType = "application/json",
                             schema = @Schema(implementation = StandardError.class)
                     )
+            ),
+
+            @ApiResponse(
+                    responseCode = "429",
+                    description = "Too many requests (see Retry-After and RateLimit-* headers)",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = StandardError.class)
+                    )
             )
     })
-    ResponseEntity<RegisterUserResponseDTO> register(RegisterUserRequestDTO registerUserRequest);
+    ResponseEntity<RegisterUserResponseDTO> register(RegisterUserRequestDTO registerUserRequest,
+                                                     HttpServletRequest request);
 
     @Operation(
             summary = "Authenticate user",
@@ -98,9 +108,19 @@ public interface AuthControllerDoc {
                             mediaType = "application/json",
                             schema = @Schema(implementation = LockedError.class)
                     )
+            ),
+
+            @ApiResponse(
+                    responseCode = "429",
+                    description = "Too many requests (see Retry-After and RateLimit-* headers)",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = StandardError.class)
+                    )
             )
     })
-    ResponseEntity<AccessTokenResponseDTO> login(LoginRequestDTO loginRequestDTO, String refreshToken);
+    ResponseEntity<AccessTokenResponseDTO> login(LoginRequestDTO loginRequestDTO, String refreshToken,
+                                                 HttpServletRequest request);
 
     @Operation(
             summary = "Resend email verification link",
@@ -133,9 +153,19 @@ public interface AuthControllerDoc {
                             mediaType = "application/json",
                             schema = @Schema(implementation = StandardError.class)
                     )
+            ),
+
+            @ApiResponse(
+                    responseCode = "429",
+                    description = "Too many requests (see Retry-After and RateLimit-* headers)",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = StandardError.class)
+                    )
             )
     })
-    ResponseEntity<MessageResponseDTO> resendEmailVerification(EmailRequestDTO emailRequestDTO);
+    ResponseEntity<MessageResponseDTO> resendEmailVerification(EmailRequestDTO emailRequestDTO,
+                                                               HttpServletRequest request);
 
     @Operation(
             summary = "Request password reset",
@@ -187,9 +217,18 @@ public interface AuthControllerDoc {
                             mediaType = "application/json",
                             schema = @Schema(implementation = StandardError.class)
                     )
+            ),
+
+            @ApiResponse(
+                    responseCode = "429",
+                    description = "Too many requests (see Retry-After and RateLimit-* headers)",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = StandardError.class)
+                    )
             )
     })
-    ResponseEntity<MessageResponseDTO> forgotPassword(EmailRequestDTO emailRequestDTO);
+    ResponseEntity<MessageResponseDTO> forgotPassword(EmailRequestDTO emailRequestDTO, HttpServletRequest request);
 
     @Operation(
             summary = "Verify email address",
@@ -376,6 +415,15 @@ public interface AuthControllerDoc {
                             mediaType = "application/json",
                             schema = @Schema(implementation = StandardError.class)
                     )
+            ),
+
+            @ApiResponse(
+                    responseCode = "429",
+                    description = "Too many requests (see Retry-After and RateLimit-* headers)",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = StandardError.class)
+                    )
             )
     })
     ResponseEntity<AccessTokenResponseDTO> refreshToken(
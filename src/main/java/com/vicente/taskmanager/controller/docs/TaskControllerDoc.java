@@ -1,10 +1,17 @@
 package com.vicente.taskmanager.controller.docs;
 
 import com.vicente.taskmanager.domain.entity.User;
+import com.vicente.taskmanager.dto.request.TaskBatchCreateRequestDTO;
+import com.vicente.taskmanager.dto.request.TaskBatchRequestDTO;
 import com.vicente.taskmanager.dto.request.TaskCreateRequestDTO;
 import com.vicente.taskmanager.dto.request.TaskUpdateRequestDTO;
+import com.vicente.taskmanager.dto.response.ArchivedTaskResponseDTO;
 import com.vicente.taskmanager.dto.response.PageResponseDTO;
+import com.vicente.taskmanager.dto.response.TaskBatchResponseDTO;
+import com.vicente.taskmanager.dto.response.TaskChangePageResponseDTO;
+import com.vicente.taskmanager.dto.response.TaskEventResponseDTO;
 import com.vicente.taskmanager.dto.response.TaskResponseDTO;
+import com.vicente.taskmanager.dto.response.TaskSearchPageResponseDTO;
 import com.vicente.taskmanager.exception.error.StandardError;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -15,6 +22,9 @@ import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import java.time.LocalDate;
 
 @Tag(name = "Tasks", description = "Task management endpoints")
@@ -28,6 +38,9 @@ public interface TaskControllerDoc {
 
             Rules:
             - The task must belong to the authenticated user.
+
+            The response carries a strong ETag built from the task id, version and whether it is
+            PENDING. Send it back in If-None-Match to get 304 Not Modified while the task is unchanged.
             """
     )
     @ApiResponses(value = {
@@ -39,6 +52,11 @@ public interface TaskControllerDoc {
                             schema = @Schema(implementation = TaskResponseDTO.class)
                     )
             ),
+            @ApiResponse(
+                    responseCode = "304",
+                    description = "Not modified - the ETag in If-None-Match is still current",
+                    content = @Content
+            ),
             @ApiResponse(
                     responseCode = "404",
                     description = "Task not found",
@@ -64,7 +82,7 @@ public interface TaskControllerDoc {
                     )
             )
     })
-    ResponseEntity<TaskResponseDTO> findById(Long id, User user);
+    ResponseEntity<TaskResponseDTO> findById(Long id, User user, WebRequest request);
 
     @Operation(
             summary = "Find tasks",
@@ -74,6 +92,12 @@ public interface TaskControllerDoc {
             Optional filters:
             - status: PENDING, IN_PROGRESS, DONE, CANCELLED
             - due-date: Filter by due date
+
+            PENDING is not stored: it is an IN_PROGRESS task whose due date has already passed,
+            evaluated against the current date on every request.
+
+            The response carries a weak ETag for the page. Send it back in If-None-Match to get
+            304 Not Modified while no task in the page has changed.
             """
     )
     @ApiResponses(value = {
@@ -85,6 +109,11 @@ public interface TaskControllerDoc {
                             schema = @Schema(implementation = PageResponseDTO.class)
                     )
             ),
+            @ApiResponse(
+                    responseCode = "304",
+                    description = "Not modified - the ETag in If-None-Match is still current",
+                    content = @Content
+            ),
             @ApiResponse(
                     responseCode = "400",
                     description = "Invalid filter parameters",
@@ -106,6 +135,56 @@ public interface TaskControllerDoc {
             String status,
             LocalDate dueDate,
             User user,
+            Pageable pageable,
+            WebRequest request);
+
+    @Operation(
+            summary = "Search tasks",
+            description = """
+            Full-text search over the title and description of the authenticated user's tasks.
+            Results are ordered by relevance and matched terms are wrapped in <mark> tags;
+            the highlighted text is HTML-escaped, so it can be rendered as HTML.
+
+            The query accepts web search syntax: quoted phrases, OR and -excluded terms.
+            Pagination is cursor based: pass the nextCursor of a page to get the next one.
+
+            Optional filters:
+            - status: PENDING, IN_PROGRESS, DONE, CANCELLED
+            - due-date: Filter by due date
+            """
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Tasks retrieved successfully",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = TaskSearchPageResponseDTO.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Invalid query, cursor or filter parameters",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = StandardError.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "401",
+                    description = "Unauthorized",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = StandardError.class)
+                    )
+            )
+    })
+    ResponseEntity<TaskSearchPageResponseDTO> search(
+            String query,
+            String status,
+            LocalDate dueDate,
+            String cursor,
+            User user,
             Pageable pageable);
 
     @Operation(
@@ -154,6 +233,7 @@ public interface TaskControllerDoc {
             Rules:
             - Task must belong to the authenticated user.
             - Status transition must be valid.
+            - When If-Match carries the task ETag, the update only applies if the task is unchanged.
             """
     )
     @ApiResponses(value = {
@@ -165,6 +245,14 @@ public interface TaskControllerDoc {
                             schema = @Schema(implementation = TaskResponseDTO.class)
                     )
             ),
+            @ApiResponse(
+                    responseCode = "412",
+                    description = "Precondition failed - the task changed since the ETag in If-Match was read",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = StandardError.class)
+                    )
+            ),
             @ApiResponse(
                     responseCode = "400",
                     description = "Validation error or invalid state transition",
@@ -198,7 +286,7 @@ public interface TaskControllerDoc {
                     )
             )
     })
-    ResponseEntity<TaskResponseDTO> update(Long id, TaskUpdateRequestDTO request, User user);
+    ResponseEntity<TaskResponseDTO> update(Long id, TaskUpdateRequestDTO request, String ifMatch, User user);
 
     @Operation(
             summary = "Mark task as DONE",
@@ -209,6 +297,7 @@ public interface TaskControllerDoc {
             - The task must belong to the authenticated user.
             - Only tasks in PENDING or IN_PROGRESS status can be marked as DONE.
             - CANCELLED tasks cannot be completed.
+            - When If-Match carries the task ETag, the change only applies if the task is unchanged.
             """
     )
     @ApiResponses(value = {
@@ -220,6 +309,14 @@ public interface TaskControllerDoc {
                             schema = @Schema(implementation = TaskResponseDTO.class)
                     )
             ),
+            @ApiResponse(
+                    responseCode = "412",
+                    description = "Precondition failed - the task changed since the ETag in If-Match was read",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = StandardError.class)
+                    )
+            ),
             @ApiResponse(
                     responseCode = "400",
                     description = "Invalid state transition",
@@ -253,7 +350,7 @@ public interface TaskControllerDoc {
                     )
             )
     })
-    ResponseEntity<TaskResponseDTO> done(Long id, User user);
+    ResponseEntity<TaskResponseDTO> done(Long id, String ifMatch, User user);
 
     @Operation(
             summary = "Cancel a task",
@@ -264,6 +361,7 @@ public interface TaskControllerDoc {
             - The task must belong to the authenticated user.
             - DONE tasks cannot be cancelled.
             - A task already CANCELLED cannot be cancelled again.
+            - When If-Match carries the task ETag, the change only applies if the task is unchanged.
             """
     )
     @ApiResponses(value = {
@@ -275,6 +373,14 @@ public interface TaskControllerDoc {
                             schema = @Schema(implementation = TaskResponseDTO.class)
                     )
             ),
+            @ApiResponse(
+                    responseCode = "412",
+                    description = "Precondition failed - the task changed since the ETag in If-Match was read",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = StandardError.class)
+                    )
+            ),
             @ApiResponse(
                     responseCode = "400",
                     description = "Invalid state transition",
@@ -308,7 +414,7 @@ public interface TaskControllerDoc {
                     )
             )
     })
-    ResponseEntity<TaskResponseDTO> cancel(Long id, User user);
+    ResponseEntity<TaskResponseDTO> cancel(Long id, String ifMatch, User user);
 
     @Operation(
             summary = "Admin - Delete task",
@@ -371,6 +477,11 @@ public interface TaskControllerDoc {
                             schema = @Schema(implementation = PageResponseDTO.class)
                     )
             ),
+            @ApiResponse(
+                    responseCode = "304",
+                    description = "Not modified - the ETag in If-None-Match is still current",
+                    content = @Content
+            ),
             @ApiResponse(
                     responseCode = "400",
                     description = "Invalid filter parameters",
@@ -408,7 +519,169 @@ public interface TaskControllerDoc {
             String status,
             LocalDate dueDate,
             Long userId,
-            Pageable pageable);
+            Pageable pageable,
+            WebRequest request);
+
+    @Operation(
+            summary = "Task change feed",
+            description = """
+            Returns the tasks of the authenticated user created, updated, status-changed or deleted
+            since the cursor, one entry per task with its current state, in the order they changed.
+
+            Sync flow:
+            - Call without cursor to get the starting cursor, then load the full task list.
+            - Poll with the last nextCursor; keep reading while hasMore is true.
+            - DELETED entries are tombstones: the task was deleted, archived or purged.
+            - PENDING is derived from the due date. An IN_PROGRESS task whose due date passed
+              since the cursor was issued is returned once as a STATUS_CHANGED entry with the
+              PENDING status, dated the start of the day it became overdue. These entries fill
+              only the room left in the page; the rest come in the next pages.
+
+            The size parameter sets the page size. Cursors are opaque and expire after the
+            change log retention; an expired cursor returns 410 and the client must reload.
+            """
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Changes retrieved successfully",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = TaskChangePageResponseDTO.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Invalid cursor",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = StandardError.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "401",
+                    description = "Unauthorized",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = StandardError.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "410",
+                    description = "Cursor expired - reload the task list and start over",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = StandardError.class)
+                    )
+            )
+    })
+    ResponseEntity<TaskChangePageResponseDTO> findChanges(String cursor, User user, Pageable pageable);
+
+    @Operation(
+            summary = "Live task events (Server-Sent Events)",
+            description = """
+            Opens a text/event-stream that pushes the changes to the tasks of the authenticated user
+            as they are committed, on any instance. The event name is the change type (CREATED,
+            UPDATED, STATUS_CHANGED, DELETED) and the data is a task event; DELETED carries no task.
+
+            Notes:
+            - Authenticated like every endpoint: use a fetch-based SSE client that sends the
+              Authorization header (the browser EventSource cannot).
+            - A heartbeat comment is sent periodically so proxies keep the connection open.
+            - Clients that fall behind are disconnected, as are the oldest streams above the
+              per-user limit.
+            - Delivery is best effort: after reconnecting, catch up with the change feed
+              (GET /tasks/changes) from the last cursor.
+            - Tasks that become overdue at midnight are pushed as STATUS_CHANGED with the
+              PENDING status shortly after midnight. Their task only carries id, dueDate,
+              status and version, the rest of it did not change.
+            - Archive and purge run in the scheduler and are only reported by the change feed.
+            """
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Event stream opened",
+                    content = @Content(
+                            mediaType = "text/event-stream",
+                            schema = @Schema(implementation = TaskEventResponseDTO.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "401",
+                    description = "Unauthorized",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = StandardError.class)
+                    )
+            )
+    })
+    SseEmitter subscribeEvents(User user);
+
+    @Operation(
+            summary = "Find archived tasks",
+            description = """
+            Returns paginated archived tasks of the authenticated user, most recently archived first.
+
+            DONE tasks untouched for 180 days and CANCELLED tasks untouched for 90 days are moved
+            out of the task list into the archive. Archived tasks are read-only.
+            """
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Archived tasks retrieved successfully",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = PageResponseDTO.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "401",
+                    description = "Unauthorized",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = StandardError.class)
+                    )
+            )
+    })
+    ResponseEntity<PageResponseDTO<ArchivedTaskResponseDTO>> findArchived(User user, Pageable pageable);
+
+    @Operation(
+            summary = "Admin - Find user archived tasks",
+            description = """
+            Returns paginated archived tasks of a specific user, most recently archived first.
+
+            Requires ADMIN role.
+            """
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Archived tasks retrieved successfully",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = PageResponseDTO.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "403",
+                    description = "Forbidden - Admin role required",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = StandardError.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "401",
+                    description = "Unauthorized",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = StandardError.class)
+                    )
+            )
+    })
+    ResponseEntity<PageResponseDTO<ArchivedTaskResponseDTO>> adminFindArchived(Long userId, Pageable pageable);
 
     @Operation(
             summary = "Admin - Find task by ID",
@@ -416,6 +689,9 @@ public interface TaskControllerDoc {
             Returns a task by its unique identifier.
 
             Requires ADMIN role.
+
+            The response carries an ETag. Send it back in If-None-Match to get 304 Not Modified
+            while the task has not changed.
             """
     )
     @ApiResponses(value = {
@@ -427,6 +703,11 @@ public interface TaskControllerDoc {
                             schema = @Schema(implementation = TaskResponseDTO.class)
                     )
             ),
+            @ApiResponse(
+                    responseCode = "304",
+                    description = "Not modified - the ETag in If-None-Match is still current",
+                    content = @Content
+            ),
             @ApiResponse(
                     responseCode = "404",
                     description = "Task not found",
@@ -452,5 +733,258 @@ public interface TaskControllerDoc {
                     )
             )
     })
-    ResponseEntity<TaskResponseDTO> getTask(Long id);
+    ResponseEntity<TaskResponseDTO> getTask(Long id, WebRequest request);
+
+    @Operation(
+            summary = "Create tasks in batch",
+            description = """
+            Creates up to 100 tasks for the authenticated user in a single transaction.
+
+            Rules:
+            - Every item follows the same validation rules as the single create endpoint.
+            - If any item is invalid, no task is created.
+            - Items are returned in request order with status 201.
+            """
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "201",
+                    description = "Tasks created successfully",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = TaskBatchResponseDTO.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Validation error",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = StandardError.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "401",
+                    description = "Unauthorized",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = StandardError.class)
+                    )
+            )
+    })
+    ResponseEntity<TaskBatchResponseDTO> createBatch(TaskBatchCreateRequestDTO request, User user);
+
+    @Operation(
+            summary = "Mark tasks as DONE in batch",
+            description = """
+            Changes up to 100 tasks to DONE with a single set-based update.
+
+            Rules:
+            - Each task must belong to the authenticated user (404 per item otherwise).
+            - Only tasks in IN_PROGRESS status can be marked as DONE (422 per item otherwise).
+            - Failed items do not prevent the other items from being processed.
+            """
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Batch processed, see per-item results",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = TaskBatchResponseDTO.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Validation error",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = StandardError.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "401",
+                    description = "Unauthorized",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = StandardError.class)
+                    )
+            )
+    })
+    ResponseEntity<TaskBatchResponseDTO> doneBatch(TaskBatchRequestDTO request, User user);
+
+    @Operation(
+            summary = "Cancel tasks in batch",
+            description = """
+            Changes up to 100 tasks to CANCELLED with a single set-based update.
+
+            Rules:
+            - Each task must belong to the authenticated user (404 per item otherwise).
+            - Only tasks in IN_PROGRESS or PENDING status can be cancelled (422 per item otherwise).
+            - Failed items do not prevent the other items from being processed.
+            """
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Batch processed, see per-item results",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = TaskBatchResponseDTO.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Validation error",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = StandardError.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "401",
+                    description = "Unauthorized",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = StandardError.class)
+                    )
+            )
+    })
+    ResponseEntity<TaskBatchResponseDTO> cancelBatch(TaskBatchRequestDTO request, User user);
+
+    @Operation(
+            summary = "Admin - Delete tasks in batch",
+            description = """
+            Deletes up to 100 tasks by ID with a single statement.
+
+            Requires ADMIN role.
+
+            Items that do not exist are reported with status 404.
+            """
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Batch processed, see per-item results",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = TaskBatchResponseDTO.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Validation error",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = StandardError.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "403",
+                    description = "Forbidden - Admin role required",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = StandardError.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "401",
+                    description = "Unauthorized",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = StandardError.class)
+                    )
+            )
+    })
+    ResponseEntity<TaskBatchResponseDTO> deleteBatch(TaskBatchRequestDTO request);
+
+    @Operation(
+            summary = "Export tasks",
+            description = """
+            Streams all tasks of the authenticated user as NDJSON (default) or CSV.
+
+            Optional parameters:
+            - format: ndjson, csv
+            - status: PENDING, IN_PROGRESS, DONE, CANCELLED
+            - due-date: Filter by due date
+
+            Rows are written as they are read from the database, so the export is not paginated.
+            """
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Tasks exported successfully",
+                    content = {
+                            @Content(mediaType = "application/x-ndjson"),
+                            @Content(mediaType = "text/csv")
+                    }
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Invalid format or filter parameters",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = StandardError.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "401",
+                    description = "Unauthorized",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = StandardError.class)
+                    )
+            )
+    })
+    ResponseEntity<StreamingResponseBody> export(String format, String status, LocalDate dueDate, User user);
+
+    @Operation(
+            summary = "Admin - Export user tasks",
+            description = """
+            Streams all tasks of a specific user as NDJSON (default) or CSV.
+
+            Requires ADMIN role.
+
+            Optional parameters:
+            - format: ndjson, csv
+            - status: PENDING, IN_PROGRESS, DONE, CANCELLED
+            - due-date: Filter by due date
+            """
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Tasks exported successfully",
+                    content = {
+                            @Content(mediaType = "application/x-ndjson"),
+                            @Content(mediaType = "text/csv")
+                    }
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Invalid format or filter parameters",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = StandardError.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "403",
+                    description = "Forbidden - Admin role required",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = StandardError.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "401",
+                    description = "Unauthorized",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = StandardError.class)
+                    )
+            )
+    })
+    ResponseEntity<StreamingResponseBody> adminExport(String format, String status, LocalDate dueDate, Long userId);
 }
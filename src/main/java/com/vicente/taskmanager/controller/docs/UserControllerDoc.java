@@ -7,6 +7,7 @@ import com.vicente.taskmanager.dto.request.UserUpdateRequestDTO;
 import com.vicente.taskmanager.dto.response.*;
 import com.vicente.taskmanager.exception.error.StandardError;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -16,6 +17,8 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.ResponseEntity;
 
+import java.util.List;
+
 @Tag(name = "Users", description = "Users endpoints")
 @SecurityRequirement(name = "bearerAuth")
 public interface UserControllerDoc {
@@ -303,6 +306,7 @@ public interface UserControllerDoc {
                     - accountStatus: Filters users by account status.
     
                     If no filters are provided, all users are returned paginated.
+                    On large result sets totalElements and totalPages are planner estimates.
     
                     This endpoint requires ADMIN role.
                     """
@@ -342,4 +346,92 @@ public interface UserControllerDoc {
             ),
     })
     ResponseEntity<PageResponseDTO<UserAdminResponseDTO>> find(UserFilterDTO filter, Pageable pageable);
+
+    @Operation(
+            summary = "Admin - Search users",
+            description = """
+                Searches users by name or email similarity (trigram based), so partial words and
+                small typos still match. Results are ordered by similarity, most similar first.
+                Requires ADMIN role.
+                """
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Users retrieved successfully",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = PageResponseDTO.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Invalid search term",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = StandardError.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "403",
+                    description = "Forbidden - Admin role required",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = StandardError.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "401",
+                    description = "Unauthorized",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = StandardError.class)
+                    )
+            )
+    })
+    ResponseEntity<PageResponseDTO<UserAdminResponseDTO>> search(String term, Pageable pageable);
+
+    @Operation(
+            summary = "Admin - Autocomplete users",
+            description = """
+                Returns up to `limit` users (1 to 20, default 10) whose name or email starts with
+                the given prefix, ordered by name.
+                Requires ADMIN role.
+                """
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Users retrieved successfully",
+                    content = @Content(
+                            mediaType = "application/json",
+                            array = @ArraySchema(schema = @Schema(implementation = UserResponseDTO.class))
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Invalid prefix or limit",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = StandardError.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "403",
+                    description = "Forbidden - Admin role required",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = StandardError.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "401",
+                    description = "Unauthorized",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = StandardError.class)
+                    )
+            )
+    })
+    ResponseEntity<List<UserResponseDTO>> autocomplete(String prefix, int limit);
 }
@@ -0,0 +1,87 @@
+package com.vicente.taskmanager.controller.util;
+
+import com.vicente.taskmanager.domain.enums.TaskStatus;
+import com.vicente.taskmanager.dto.internal.TaskState;
+import com.vicente.taskmanager.dto.internal.TaskVersion;
+import com.vicente.taskmanager.dto.response.PageResponseDTO;
+import com.vicente.taskmanager.dto.response.TaskResponseDTO;
+import com.vicente.taskmanager.exception.PreconditionFailedException;
+import org.springframework.data.domain.Slice;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.stream.Stream;
+
+public final class ETagHelper {
+    private static final String ANY = "*";
+    private static final String PENDING_SUFFIX = "-pending";
+    private ETagHelper() {}
+
+    public static String taskETag(TaskResponseDTO task) {
+        return "\"" + tag(task.id(), task.version(), task.status()) + "\"";
+    }
+
+    public static String taskETag(Long id, TaskState state) {
+        return "\"" + tag(id, state.getVersion(), TaskStatus.effective(state.getStatus(), state.getDueDate())) + "\"";
+    }
+
+    public static String pageETag(PageResponseDTO<TaskResponseDTO> page) {
+        return pageETag(page.page(), page.size(), page.lastPage(), page.content().stream().map(task -> tag(task.id(), task.version(), task.status())));
+    }
+
+    public static String versionPageETag(Slice<TaskVersion> page) {
+        return pageETag(page.getNumber(), page.getSize(), page.isLast(), page.getContent().stream().map(task -> tag(task.getId(), task.getVersion(),
+                TaskStatus.effective(task.getStatus(), task.getDueDate()))));
+    }
+
+    /**
+     * Returns the version expected by an If-Match header, or null when the header is absent or "*".
+     * Throws PreconditionFailedException when no strong ETag in the header belongs to the task.
+     */
+    public static Long expectedVersion(String ifMatch, Long id) {
+        if (ifMatch == null || ifMatch.isBlank() || ANY.equals(ifMatch.trim())) {
+            return null;
+        }
+
+        String prefix = "\"" + id + "-";
+        for (String tag : ifMatch.split(",")) {
+            String candidate = tag.trim();
+            if (candidate.startsWith(prefix) && candidate.endsWith("\"") && candidate.length() > prefix.length() + 1) {
+                String version = candidate.substring(prefix.length(), candidate.length() - 1);
+                if (version.endsWith(PENDING_SUFFIX)) {
+                    version = version.substring(0, version.length() - PENDING_SUFFIX.length());
+                }
+                try {
+                    return Long.valueOf(version);
+                } catch (NumberFormatException _) {
+                    // not one of our tags, keep looking
+                }
+            }
+        }
+        throw new PreconditionFailedException("If-Match does not match the current task");
+    }
+
+    // A task becomes PENDING when its due date passes, without a new version, so the tag marks it.
+    private static String tag(Long id, Long version, TaskStatus status) {
+        return id + "-" + version + (status == TaskStatus.PENDING ? PENDING_SUFFIX : "");
+    }
+
+    // Weak tag: it identifies the page content (ids and versions), not the exact bytes of the JSON.
+    // The total is left out so revalidation never needs a count query.
+    private static String pageETag(int page, int size, boolean last, Stream<String> entries) {
+        StringBuilder value = new StringBuilder()
+                .append(page).append(':')
+                .append(size).append(':')
+                .append(last);
+        entries.forEach(entry -> value.append('|').append(entry));
+
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(value.toString().getBytes(StandardCharsets.UTF_8));
+            return "W/\"" + HexFormat.of().formatHex(hash, 0, 16) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
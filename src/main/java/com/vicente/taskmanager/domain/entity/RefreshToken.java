@@ -5,10 +5,11 @@ import jakarta.persistence.*;
 import java.time.OffsetDateTime;
 import java.util.UUID;
 
+// Tabela particionada por semana de expires_at: as consultas por token sempre limitam expires_at para podar partições.
 @Entity
 @Table(name = "tb_refresh_tokens")
 public class RefreshToken extends BaseEntity {
-    @Column(nullable = false, unique = true)
+    @Column(nullable = false)
     private String token;
 
     @Column(name = "expires_at", nullable = false)
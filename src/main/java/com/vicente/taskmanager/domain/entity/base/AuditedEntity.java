@@ -2,7 +2,10 @@ package com.vicente.taskmanager.domain.entity.base;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.MappedSuperclass;
+import jakarta.persistence.PrePersist;
 import jakarta.persistence.Version;
+import org.hibernate.annotations.Generated;
+import org.hibernate.generator.EventType;
 
 import java.time.OffsetDateTime;
 
@@ -12,7 +15,9 @@ public abstract class AuditedEntity extends BaseEntity {
     @Column(nullable = false)
     private Long version;
 
-    @Column(name = "updated_at", nullable = false, insertable = false, updatable = false)
+    // On UPDATE the value is set by the set_updated_at trigger and read back through RETURNING.
+    @Generated(event = EventType.UPDATE)
+    @Column(name = "updated_at", nullable = false, updatable = false)
     private OffsetDateTime updatedAt;
 
     public Long getVersion() {
@@ -22,4 +27,9 @@ public abstract class AuditedEntity extends BaseEntity {
     public OffsetDateTime getUpdatedAt() {
         return updatedAt;
     }
+
+    @PrePersist
+    private void initializeUpdatedAt() {
+        updatedAt = getCreatedAt();
+    }
 }
@@ -3,14 +3,16 @@ package com.vicente.taskmanager.domain.entity.base;
 import jakarta.persistence.*;
 
 import java.time.OffsetDateTime;
+import java.time.temporal.ChronoUnit;
 
 @MappedSuperclass
 public abstract class BaseEntity {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE)
     private Long id;
 
-    @Column(name = "created_at", nullable = false, insertable = false, updatable = false)
+    // Assigned here instead of read back from the column default so inserts can be batched.
+    @Column(name = "created_at", nullable = false, updatable = false)
     private OffsetDateTime createdAt;
 
     public Long getId() {
@@ -21,4 +23,9 @@ public abstract class BaseEntity {
         return createdAt;
     }
 
+    @PrePersist
+    private void initializeCreatedAt() {
+        createdAt = OffsetDateTime.now().truncatedTo(ChronoUnit.MICROS);
+    }
+
 }
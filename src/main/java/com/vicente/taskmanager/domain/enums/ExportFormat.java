@@ -0,0 +1,36 @@
+package com.vicente.taskmanager.domain.enums;
+
+import java.util.Objects;
+
+public enum ExportFormat {
+    NDJSON("application/x-ndjson", "ndjson"),
+    CSV("text/csv", "csv");
+
+    private final String contentType;
+    private final String fileExtension;
+
+    ExportFormat(String contentType, String fileExtension) {
+        this.contentType = contentType;
+        this.fileExtension = fileExtension;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public String getFileExtension() {
+        return fileExtension;
+    }
+
+    public static ExportFormat convert(String format) {
+        if(Objects.nonNull(format) && !format.isBlank()) {
+            for (ExportFormat exportFormat : values()) {
+                if (exportFormat.name().equalsIgnoreCase(format.trim())) {
+                    return exportFormat;
+                }
+            }
+            throw new IllegalArgumentException("Invalid export format: " + format);
+        }
+        return NDJSON;
+    }
+}
@@ -0,0 +1,17 @@
+package com.vicente.taskmanager.domain.enums;
+
+public enum RateLimitKeyType {
+    IP("ip"),
+    EMAIL("email"),
+    USER("user");
+
+    private final String propertyName;
+
+    RateLimitKeyType(String propertyName) {
+        this.propertyName = propertyName;
+    }
+
+    public String getPropertyName() {
+        return propertyName;
+    }
+}
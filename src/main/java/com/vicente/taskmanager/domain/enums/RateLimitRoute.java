@@ -0,0 +1,18 @@
+package com.vicente.taskmanager.domain.enums;
+
+public enum RateLimitRoute {
+    LOGIN("login"),
+    REGISTER("register"),
+    REFRESH("refresh"),
+    SEND_TOKEN_EMAIL("send-token-email");
+
+    private final String propertyName;
+
+    RateLimitRoute(String propertyName) {
+        this.propertyName = propertyName;
+    }
+
+    public String getPropertyName() {
+        return propertyName;
+    }
+}
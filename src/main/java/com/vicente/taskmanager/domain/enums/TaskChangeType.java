@@ -0,0 +1,8 @@
+package com.vicente.taskmanager.domain.enums;
+
+public enum TaskChangeType {
+    CREATED,
+    UPDATED,
+    STATUS_CHANGED,
+    DELETED
+}
@@ -2,6 +2,7 @@ package com.vicente.taskmanager.domain.enums;
 
 import com.vicente.taskmanager.exception.InvalidTaskStatusException;
 
+import java.time.LocalDate;
 import java.util.Objects;
 
 public enum TaskStatus {
@@ -20,6 +21,30 @@ public enum TaskStatus {
         return value;
     }
 
+    /**
+     * Status exposed by the API. Only the user's intent is stored (IN_PROGRESS, DONE, CANCELLED): an
+     * active task whose due date has already passed is reported as PENDING, so the status is right at
+     * any moment without rewriting rows when the day changes.
+     */
+    public static TaskStatus effective(TaskStatus stored, LocalDate dueDate, LocalDate today) {
+        if (stored != IN_PROGRESS && stored != PENDING) {
+            return stored;
+        }
+        return dueDate.isBefore(today) ? PENDING : IN_PROGRESS;
+    }
+
+    public static TaskStatus effective(TaskStatus stored, LocalDate dueDate) {
+        return effective(stored, dueDate, LocalDate.now());
+    }
+
+    /**
+     * Status actually persisted for this API status: PENDING is never stored, it is an IN_PROGRESS task
+     * past its due date.
+     */
+    public TaskStatus getStoredStatus() {
+        return this == PENDING ? IN_PROGRESS : this;
+    }
+
     public static TaskStatus convert(String status) {
         try {
             if(Objects.nonNull(status) && !status.isBlank())
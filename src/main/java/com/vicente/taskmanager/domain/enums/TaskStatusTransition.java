@@ -0,0 +1,53 @@
+package com.vicente.taskmanager.domain.enums;
+
+import java.time.LocalDate;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+public enum TaskStatusTransition {
+    UPDATE(null, EnumSet.of(TaskStatus.IN_PROGRESS, TaskStatus.PENDING), true,
+            "Task with status DONE or CANCELLED cannot be updated"),
+    DONE(TaskStatus.DONE, EnumSet.of(TaskStatus.IN_PROGRESS, TaskStatus.PENDING), false,
+            "Only tasks with status IN_PROGRESS can be marked as DONE"),
+    CANCEL(TaskStatus.CANCELLED, EnumSet.of(TaskStatus.IN_PROGRESS, TaskStatus.PENDING), true,
+            "Only tasks with status IN_PROGRESS or PENDING can be cancelled");
+
+    private final TaskStatus targetStatus;
+    private final Set<TaskStatus> allowedFrom;
+    private final boolean acceptsOverdue;
+    private final String notAllowedMessage;
+
+    TaskStatusTransition(TaskStatus targetStatus, Set<TaskStatus> allowedFrom, boolean acceptsOverdue,
+                         String notAllowedMessage) {
+        this.targetStatus = targetStatus;
+        this.allowedFrom = allowedFrom;
+        this.acceptsOverdue = acceptsOverdue;
+        this.notAllowedMessage = notAllowedMessage;
+    }
+
+    public TaskStatus getTargetStatus() {
+        return targetStatus;
+    }
+
+    public String getTargetStatusName() {
+        return targetStatus != null ? targetStatus.name() : null;
+    }
+
+    public List<String> getAllowedFromNames() {
+        return allowedFrom.stream().map(TaskStatus::name).toList();
+    }
+
+    /**
+     * Lower bound for the due date when the transition does not accept overdue (PENDING) tasks. PENDING
+     * is matched by the due date and not by the stored value, which may be IN_PROGRESS or PENDING
+     * depending on app.task.status.persist-overdue. Null when any due date is accepted.
+     */
+    public LocalDate getDueFrom(LocalDate today) {
+        return acceptsOverdue ? null : today;
+    }
+
+    public String getNotAllowedMessage() {
+        return notAllowedMessage;
+    }
+}
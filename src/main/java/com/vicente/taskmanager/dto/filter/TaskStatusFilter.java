@@ -0,0 +1,38 @@
+package com.vicente.taskmanager.dto.filter;
+
+import com.vicente.taskmanager.domain.enums.TaskStatus;
+
+import java.time.LocalDate;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Translates a status filter into predicates over the stored columns: the stored statuses plus a due date
+ * range, dueBefore (exclusive) for PENDING and dueFrom (inclusive) for IN_PROGRESS. Both IN_PROGRESS and
+ * PENDING are matched as stored values, so the filter holds whether or not overdue tasks are also written
+ * as PENDING (app.task.status.persist-overdue). Without a status filter every status matches and both
+ * dates are null.
+ */
+public record TaskStatusFilter(Set<TaskStatus> storedStatuses, LocalDate dueBefore, LocalDate dueFrom) {
+
+    public static TaskStatusFilter of(TaskStatus status, LocalDate today) {
+        if (status == null) {
+            return new TaskStatusFilter(EnumSet.allOf(TaskStatus.class), null, null);
+        }
+        return switch (status) {
+            case PENDING -> new TaskStatusFilter(EnumSet.of(TaskStatus.IN_PROGRESS, TaskStatus.PENDING), today, null);
+            case IN_PROGRESS -> new TaskStatusFilter(EnumSet.of(TaskStatus.IN_PROGRESS, TaskStatus.PENDING), null,
+                    today);
+            default -> new TaskStatusFilter(EnumSet.of(status), null, null);
+        };
+    }
+
+    public static TaskStatusFilter of(TaskStatus status) {
+        return of(status, LocalDate.now());
+    }
+
+    public List<String> storedStatusNames() {
+        return storedStatuses.stream().map(TaskStatus::name).toList();
+    }
+}
@@ -0,0 +1,6 @@
+package com.vicente.taskmanager.dto.internal;
+
+import com.vicente.taskmanager.dto.response.TaskResponseDTO;
+
+public record CachedTask(Long userId, Long version, TaskResponseDTO task) {
+}
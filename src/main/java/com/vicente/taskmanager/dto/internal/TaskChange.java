@@ -0,0 +1,11 @@
+package com.vicente.taskmanager.dto.internal;
+
+import java.time.OffsetDateTime;
+
+public interface TaskChange {
+    Long getId();
+    Long getTxid();
+    Long getTaskId();
+    String getType();
+    OffsetDateTime getChangedAt();
+}
@@ -0,0 +1,6 @@
+package com.vicente.taskmanager.dto.internal;
+
+import com.vicente.taskmanager.dto.response.TaskEventResponseDTO;
+
+public record TaskEventMessage(Long userId, TaskEventResponseDTO event) {
+}
@@ -0,0 +1,10 @@
+package com.vicente.taskmanager.dto.internal;
+
+import java.time.LocalDate;
+
+public interface TaskOverdue {
+    Long getId();
+    Long getUserId();
+    Long getVersion();
+    LocalDate getDueDate();
+}
@@ -0,0 +1,6 @@
+package com.vicente.taskmanager.dto.internal;
+
+public interface TaskOwner {
+    Long getId();
+    Long getUserId();
+}
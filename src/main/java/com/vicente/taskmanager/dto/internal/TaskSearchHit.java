@@ -0,0 +1,8 @@
+package com.vicente.taskmanager.dto.internal;
+
+public interface TaskSearchHit {
+    Long getId();
+    Double getRank();
+    String getTitleHighlight();
+    String getDescriptionHighlight();
+}
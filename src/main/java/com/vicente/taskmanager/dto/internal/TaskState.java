@@ -0,0 +1,11 @@
+package com.vicente.taskmanager.dto.internal;
+
+import com.vicente.taskmanager.domain.enums.TaskStatus;
+
+import java.time.LocalDate;
+
+public interface TaskState {
+    TaskStatus getStatus();
+    Long getVersion();
+    LocalDate getDueDate();
+}
@@ -0,0 +1,12 @@
+package com.vicente.taskmanager.dto.internal;
+
+import com.vicente.taskmanager.domain.enums.TaskStatus;
+
+import java.time.LocalDate;
+
+public interface TaskVersion {
+    Long getId();
+    Long getVersion();
+    TaskStatus getStatus();
+    LocalDate getDueDate();
+}
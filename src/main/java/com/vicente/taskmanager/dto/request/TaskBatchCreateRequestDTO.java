@@ -0,0 +1,16 @@
+package com.vicente.taskmanager.dto.request;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+@Schema(name = "TaskBatchCreateRequest", description = "Batch task create request representation")
+public record TaskBatchCreateRequestDTO(
+        @Schema(description = "Tasks to be created, at most 100 per request")
+        @NotEmpty(message = "is required")
+        @Size(max = 100) List<@Valid @NotNull TaskCreateRequestDTO> tasks) {
+}
@@ -0,0 +1,18 @@
+package com.vicente.taskmanager.dto.request;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+@Schema(name = "TaskBatchRequest", description = "Batch task operation request representation")
+public record TaskBatchRequestDTO(
+        @Schema(
+                description = "Identifiers of the tasks, at most 100 per request",
+                example = "[1, 2, 3]"
+        )
+        @NotEmpty(message = "is required")
+        @Size(max = 100) List<@NotNull Long> ids) {
+}
@@ -0,0 +1,58 @@
+package com.vicente.taskmanager.dto.response;
+
+import com.vicente.taskmanager.domain.enums.TaskStatus;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+
+@Schema(name = "ArchivedTaskResponse", description = "Retired task kept in the archive")
+public record ArchivedTaskResponseDTO(
+        @Schema(
+                description = "Identifier the task had before being archived",
+                example = "1"
+        )
+        Long id,
+
+        @Schema(
+                description = "Title of the task",
+                example = "Study Spring Boot"
+        )
+        String title,
+
+        @Schema(
+                description = "Detailed description of the task",
+                example = "Finish REST API module and review JPA mappings"
+        )
+        String description,
+
+        @Schema(
+                description = "Task due date",
+                example = "2026-03-10"
+        )
+        LocalDate dueDate,
+
+        @Schema(
+                description = "Final status of the task: DONE or CANCELLED",
+                example = "DONE"
+        )
+        TaskStatus status,
+
+        @Schema(
+                description = "Date and time when the task was created",
+                example = "2026-02-05T00:15:30Z"
+        )
+        OffsetDateTime createdAt,
+
+        @Schema(
+                description = "Date and time when the task was last updated",
+                example = "2026-02-06T14:42:10Z"
+        )
+        OffsetDateTime updatedAt,
+
+        @Schema(
+                description = "Date and time when the task was moved to the archive",
+                example = "2026-08-06T00:00:10Z"
+        )
+        OffsetDateTime archivedAt){
+}
@@ -0,0 +1,39 @@
+package com.vicente.taskmanager.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(name = "TaskBatchItemResponse", description = "Result of a single item of a batch task operation")
+public record TaskBatchItemResponseDTO(
+        @Schema(
+                description = "Position of the item in the request",
+                example = "0"
+        )
+        int index,
+
+        @Schema(
+                description = "Identifier of the task",
+                example = "1"
+        )
+        Long id,
+
+        @Schema(
+                description = "HTTP status the item would have received as a single request",
+                example = "200"
+        )
+        int status,
+
+        @Schema(
+                description = "Error type, present only when the item failed",
+                example = "Task Not Found Error"
+        )
+        String error,
+
+        @Schema(
+                description = "Error message, present only when the item failed",
+                example = "Task not found or you do not have permission to access it"
+        )
+        String message,
+
+        @Schema(description = "Resulting task, present only when the item succeeded and the task still exists")
+        TaskResponseDTO task) {
+}
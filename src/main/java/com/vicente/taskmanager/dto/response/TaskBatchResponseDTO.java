@@ -0,0 +1,18 @@
+package com.vicente.taskmanager.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(name = "TaskBatchResponse", description = "Batch task operation response")
+public record TaskBatchResponseDTO(
+        @Schema(description = "Number of items in the request", example = "3")
+        int total,
+        @Schema(description = "Number of items processed successfully", example = "2")
+        int succeeded,
+        @Schema(description = "Number of items that failed", example = "1")
+        int failed,
+        @Schema(description = "Per-item results, in request order")
+        List<TaskBatchItemResponseDTO> items
+) {
+}
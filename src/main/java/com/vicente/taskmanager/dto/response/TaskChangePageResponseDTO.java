@@ -0,0 +1,18 @@
+package com.vicente.taskmanager.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(name = "TaskChangePageResponse", description = "Page of the task change feed")
+public record TaskChangePageResponseDTO(
+        @Schema(description = "Changed tasks in the order they were changed, one entry per task")
+        List<TaskChangeResponseDTO> changes,
+        @Schema(description = "Page size", example = "100")
+        int size,
+        @Schema(description = "Cursor for the next request, always present", example = "OTAxMjM6NDU2OjE3NzAzNDU2MDA")
+        String nextCursor,
+        @Schema(description = "Indicates whether more changes are already available", example = "false")
+        boolean hasMore
+) {
+}
@@ -0,0 +1,32 @@
+package com.vicente.taskmanager.dto.response;
+
+import com.vicente.taskmanager.domain.enums.TaskChangeType;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.OffsetDateTime;
+
+@Schema(name = "TaskChangeResponse", description = "Latest change of a task since the cursor")
+public record TaskChangeResponseDTO(
+        @Schema(
+                description = "Identifier of the changed task",
+                example = "1"
+        )
+        Long taskId,
+
+        @Schema(
+                description = "Kind of the latest change: CREATED, UPDATED, STATUS_CHANGED or DELETED",
+                example = "STATUS_CHANGED"
+        )
+        TaskChangeType type,
+
+        @Schema(
+                description = "Date and time when the change was made",
+                example = "2026-02-06T14:42:10Z"
+        )
+        OffsetDateTime changedAt,
+
+        @Schema(
+                description = "Current state of the task, null when it was deleted or archived"
+        )
+        TaskResponseDTO task){
+}
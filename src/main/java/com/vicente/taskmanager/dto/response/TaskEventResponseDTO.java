@@ -0,0 +1,24 @@
+package com.vicente.taskmanager.dto.response;
+
+import com.vicente.taskmanager.domain.enums.TaskChangeType;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(name = "TaskEventResponse", description = "Live task change pushed through the event stream")
+public record TaskEventResponseDTO(
+        @Schema(
+                description = "Identifier of the changed task",
+                example = "1"
+        )
+        Long taskId,
+
+        @Schema(
+                description = "Kind of change: CREATED, UPDATED, STATUS_CHANGED or DELETED",
+                example = "STATUS_CHANGED"
+        )
+        TaskChangeType type,
+
+        @Schema(
+                description = "State of the task after the change, null when it was deleted"
+        )
+        TaskResponseDTO task){
+}
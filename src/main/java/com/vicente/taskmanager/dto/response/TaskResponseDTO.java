@@ -48,5 +48,11 @@ public record TaskResponseDTO(
                 description = "Date and time when the task was last updated",
                 example = "2026-02-06T14:42:10Z"
         )
-        OffsetDateTime updatedAt){
+        OffsetDateTime updatedAt,
+
+        @Schema(
+                description = "Version of the task, incremented on every change. Also sent as the ETag header",
+                example = "3"
+        )
+        Long version){
 }
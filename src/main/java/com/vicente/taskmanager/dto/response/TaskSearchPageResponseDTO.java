@@ -0,0 +1,18 @@
+package com.vicente.taskmanager.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(name = "TaskSearchPageResponse", description = "Keyset paginated full-text search response")
+public record TaskSearchPageResponseDTO(
+        @Schema(description = "Matched tasks ordered by relevance")
+        List<TaskSearchResponseDTO> content,
+        @Schema(description = "Page size", example = "10")
+        int size,
+        @Schema(description = "Cursor to request the next page, null on the last page", example = "MC42MDc5MjcxOjQy")
+        String nextCursor,
+        @Schema(description = "Indicates whether this is the last page", example = "false")
+        boolean lastPage
+) {
+}
@@ -0,0 +1,27 @@
+package com.vicente.taskmanager.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(name = "TaskSearchResponse", description = "Task matched by a full-text search")
+public record TaskSearchResponseDTO(
+        @Schema(description = "Matched task")
+        TaskResponseDTO task,
+
+        @Schema(
+                description = "Relevance of the task for the query, higher is more relevant",
+                example = "0.6079271"
+        )
+        double rank,
+
+        @Schema(
+                description = "HTML-escaped title with the matched terms wrapped in <mark> tags",
+                example = "Study <mark>Spring</mark> Boot"
+        )
+        String titleHighlight,
+
+        @Schema(
+                description = "HTML-escaped description fragments with the matched terms wrapped in <mark> tags",
+                example = "Finish REST API module with <mark>Spring</mark>"
+        )
+        String descriptionHighlight) {
+}
@@ -94,6 +94,31 @@ public class ResourceExceptionHandler {
         return ResponseEntity.status(status).body(standardError);
     }
 
+    @ExceptionHandler(PreconditionFailedException.class)
+    public ResponseEntity<StandardError> preconditionFailed(PreconditionFailedException e, HttpServletRequest request) {
+        String error = "Precondition Failed Error";
+        HttpStatus status = HttpStatus.PRECONDITION_FAILED;
+
+        logExceptionWarn(error, status, request, e.getMessage());
+
+        StandardError standardError = new StandardError(Instant.now(),status.value(), error,
+                e.getMessage(), request.getRequestURI());
+        return ResponseEntity.status(status).body(standardError);
+    }
+
+    @ExceptionHandler(ChangeCursorExpiredException.class)
+    public ResponseEntity<StandardError> changeCursorExpired(ChangeCursorExpiredException e,
+                                                             HttpServletRequest request) {
+        String error = "Change Cursor Expired Error";
+        HttpStatus status = HttpStatus.GONE;
+
+        logExceptionWarn(error, status, request, e.getMessage());
+
+        StandardError standardError = new StandardError(Instant.now(),status.value(), error,
+                e.getMessage(), request.getRequestURI());
+        return ResponseEntity.status(status).body(standardError);
+    }
+
     @ExceptionHandler(EmailAlreadyExistsException.class)
     public ResponseEntity<StandardError> emailAlreadyExists(EmailAlreadyExistsException e, HttpServletRequest request){
         String error = "Email Already Exists Error";
@@ -358,6 +383,24 @@ public class ResourceExceptionHandler {
                 "Retry-After", String.valueOf(Math.max(0, secondsToWait))).body(err);
     }
 
+    @ExceptionHandler(RateLimitExceededException.class)
+    public ResponseEntity<StandardError> rateLimitExceeded(RateLimitExceededException e, HttpServletRequest request) {
+        String error = "Too Many Requests Error";
+        HttpStatus status = HttpStatus.TOO_MANY_REQUESTS;
+
+        logger.warn("{} | status={} method={} path={} message={} retryAfter={}", error, status.value(),
+                request.getMethod(), request.getRequestURI(), e.getMessage(), e.getRetryAfterSeconds());
+
+        StandardError err = new StandardError(Instant.now(), status.value(), error, e.getMessage(),
+                request.getRequestURI());
+        return ResponseEntity.status(status)
+                .header("Retry-After", String.valueOf(e.getRetryAfterSeconds()))
+                .header("RateLimit-Limit", String.valueOf(e.getLimit()))
+                .header("RateLimit-Remaining", "0")
+                .header("RateLimit-Reset", String.valueOf(e.getRetryAfterSeconds()))
+                .body(err);
+    }
+
     @ExceptionHandler(VerificationTokenException.class)
     public ResponseEntity<StandardError> verificationToken(VerificationTokenException e, HttpServletRequest request) {
         String error = "Verification Token Error";
@@ -1,13 +1,21 @@
 package com.vicente.taskmanager.mapper;
 
+import com.vicente.taskmanager.domain.entity.ArchivedTask;
 import com.vicente.taskmanager.domain.entity.Task;
+import com.vicente.taskmanager.domain.enums.TaskStatus;
+import com.vicente.taskmanager.dto.internal.CachedTask;
+import com.vicente.taskmanager.dto.internal.TaskOverdue;
+import com.vicente.taskmanager.dto.response.ArchivedTaskResponseDTO;
 import com.vicente.taskmanager.dto.response.PageResponseDTO;
+import com.vicente.taskmanager.dto.response.TaskBatchItemResponseDTO;
+import com.vicente.taskmanager.dto.response.TaskBatchResponseDTO;
 import com.vicente.taskmanager.dto.request.TaskCreateRequestDTO;
 import com.vicente.taskmanager.dto.response.TaskResponseDTO;
-import com.vicente.taskmanager.dto.request.TaskUpdateRequestDTO;
 import com.vicente.taskmanager.domain.entity.User;
 import org.springframework.data.domain.Page;
 
+import java.util.List;
+
 public final class TaskMapper {
 
     public static Task toEntity(TaskCreateRequestDTO request, User user) {
@@ -20,12 +28,41 @@ public final class TaskMapper {
                 task.getTitle(),
                 task.getDescription(),
                 task.getDueDate(),
-                task.getStatus(),
+                TaskStatus.effective(task.getStatus(), task.getDueDate()),
                 task.getCreatedAt(),
-                task.getUpdatedAt()
+                task.getUpdatedAt(),
+                task.getVersion()
+        );
+    }
+
+    // DTOs from the cache or from projections may be older than today: PENDING is derived again on every read.
+    public static TaskResponseDTO withEffectiveStatus(TaskResponseDTO task) {
+        TaskStatus status = TaskStatus.effective(task.status(), task.dueDate());
+        if (status == task.status()) {
+            return task;
+        }
+        return new TaskResponseDTO(
+                task.id(),
+                task.title(),
+                task.description(),
+                task.dueDate(),
+                status,
+                task.createdAt(),
+                task.updatedAt(),
+                task.version()
         );
     }
 
+    // Becoming overdue changes nothing stored: the event only carries what the client sees change.
+    public static TaskResponseDTO toOverdueDTO(TaskOverdue task) {
+        return new TaskResponseDTO(task.getId(), null, null, task.getDueDate(), TaskStatus.PENDING, null, null,
+                task.getVersion());
+    }
+
+    public static CachedTask toCachedTask(Task task) {
+        return new CachedTask(task.getUser().getId(), task.getVersion(), toDTO(task));
+    }
+
     public static PageResponseDTO<TaskResponseDTO> toPageDTO(Page<Task> page) {
         Page<TaskResponseDTO> pageDTO = page.map(TaskMapper::toDTO);
         return new PageResponseDTO<>(
@@ -39,13 +76,40 @@ public final class TaskMapper {
         );
     }
 
-    public static void merge(Task task, TaskUpdateRequestDTO taskUpdateRequestDTO) {
-        if(taskUpdateRequestDTO.title() != null && !taskUpdateRequestDTO.title().isBlank())
-            task.setTitle(taskUpdateRequestDTO.title());
-        if(taskUpdateRequestDTO.description() != null)
-            task.setDescription(taskUpdateRequestDTO.description());
-        if(taskUpdateRequestDTO.dueDate() != null)
-            task.setDueDate(taskUpdateRequestDTO.dueDate());
+    public static ArchivedTaskResponseDTO toArchivedDTO(ArchivedTask task) {
+        return new ArchivedTaskResponseDTO(
+                task.getId(),
+                task.getTitle(),
+                task.getDescription(),
+                task.getDueDate(),
+                task.getStatus(),
+                task.getCreatedAt(),
+                task.getUpdatedAt(),
+                task.getArchivedAt()
+        );
+    }
+
+    public static PageResponseDTO<ArchivedTaskResponseDTO> toArchivedPageDTO(Page<ArchivedTask> page) {
+        Page<ArchivedTaskResponseDTO> pageDTO = page.map(TaskMapper::toArchivedDTO);
+        return new PageResponseDTO<>(
+                pageDTO.getContent(),
+                pageDTO.getNumber(),
+                pageDTO.getSize(),
+                pageDTO.getTotalPages(),
+                pageDTO.getTotalElements(),
+                pageDTO.isFirst(),
+                pageDTO.isLast()
+        );
+    }
+
+    public static TaskBatchResponseDTO toBatchDTO(List<TaskBatchItemResponseDTO> items) {
+        int succeeded = (int) items.stream().filter(item -> item.error() == null).count();
+        return new TaskBatchResponseDTO(
+                items.size(),
+                succeeded,
+                items.size() - succeeded,
+                items
+        );
     }
 
-}
+}
\ No newline at end of file
@@ -0,0 +1,82 @@
+package com.vicente.taskmanager.monitoring;
+
+import com.vicente.taskmanager.monitoring.event.AuthFilterEvent;
+import com.vicente.taskmanager.monitoring.event.PasswordHashEvent;
+import com.vicente.taskmanager.monitoring.event.SchedulerRunEvent;
+import com.vicente.taskmanager.monitoring.event.TaskOperationEvent;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+
+/**
+ * Consumes the application's own JFR events in-process and turns them into rolling percentiles
+ * (p50/p95/p99 over a sliding window) published through Micrometer. The events stay available to
+ * any other recording, e.g. a dump taken with jcmd JFR.dump, since the stream is just one more recording.
+ */
+public class JfrEventMonitor implements AutoCloseable {
+    private static final double[] PERCENTILES = {0.5, 0.95, 0.99};
+    private static final Logger logger = LoggerFactory.getLogger(JfrEventMonitor.class);
+
+    private final RecordingStream recordingStream;
+    private final MeterRegistry meterRegistry;
+    private final Duration window;
+
+    public JfrEventMonitor(MeterRegistry meterRegistry, Duration window) {
+        this.meterRegistry = meterRegistry;
+        this.window = window;
+        this.recordingStream = new RecordingStream();
+        recordingStream.setMaxAge(window);
+
+        recordingStream.enable(AuthFilterEvent.class);
+        recordingStream.enable(TaskOperationEvent.class);
+        recordingStream.enable(PasswordHashEvent.class);
+        recordingStream.enable(SchedulerRunEvent.class);
+
+        recordingStream.onEvent(AuthFilterEvent.NAME, event -> record(event, "taskmanager.jfr.auth.filter",
+                "phase", event.getString("phase")));
+        recordingStream.onEvent(PasswordHashEvent.NAME, event -> record(event, "taskmanager.jfr.password.hash",
+                "operation", event.getString("operation")));
+        recordingStream.onEvent(SchedulerRunEvent.NAME, event -> record(event, "taskmanager.jfr.scheduler.run",
+                "scheduler", event.getString("scheduler"), "outcome", event.getString("outcome")));
+        recordingStream.onEvent(TaskOperationEvent.NAME, this::recordTaskOperation);
+    }
+
+    public void start() {
+        recordingStream.startAsync();
+        logger.info("JFR event monitor started | window={}s", window.toSeconds());
+    }
+
+    @Override
+    public void close() {
+        recordingStream.close();
+    }
+
+    private void recordTaskOperation(RecordedEvent event) {
+        String operation = event.getString("operation");
+        String failed = String.valueOf(event.getBoolean("failed"));
+        record(event, "taskmanager.jfr.task.operation", "operation", operation, "failed", failed);
+
+        DistributionSummary.builder("taskmanager.jfr.task.operation.rows")
+                .description("Rows returned or changed by a TaskService operation")
+                .tags("operation", operation)
+                .publishPercentiles(PERCENTILES)
+                .distributionStatisticExpiry(window)
+                .register(meterRegistry)
+                .record(event.getLong("rows"));
+    }
+
+    private void record(RecordedEvent event, String name, String... tags) {
+        Timer.builder(name)
+                .tags(tags)
+                .publishPercentiles(PERCENTILES)
+                .distributionStatisticExpiry(window)
+                .register(meterRegistry)
+                .record(event.getDuration());
+    }
+}
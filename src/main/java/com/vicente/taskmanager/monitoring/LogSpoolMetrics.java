@@ -0,0 +1,58 @@
+package com.vicente.taskmanager.monitoring;
+
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.spi.AppenderAttachable;
+import com.vicente.taskmanager.config.util.SpoolingLogstashAppender;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.ILoggerFactory;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+
+/**
+ * Publishes, for each SpoolingLogstashAppender configured in logback-spring.xml (directly on a logger
+ * or behind an AsyncAppender), how many bytes are still waiting in the spool and how many were
+ * dropped because the spool was full.
+ */
+@Component
+public class LogSpoolMetrics {
+
+    public LogSpoolMetrics(MeterRegistry meterRegistry) {
+        ILoggerFactory loggerFactory = LoggerFactory.getILoggerFactory();
+        if (!(loggerFactory instanceof LoggerContext loggerContext)) return;
+
+        loggerContext.getLoggerList().forEach(logger -> registerAll(meterRegistry, logger));
+    }
+
+    private static void registerAll(MeterRegistry meterRegistry, AppenderAttachable<ILoggingEvent> attachable) {
+        Iterator<Appender<ILoggingEvent>> appenders = attachable.iteratorForAppenders();
+        while (appenders.hasNext()) {
+            Appender<ILoggingEvent> appender = appenders.next();
+            if (appender instanceof SpoolingLogstashAppender spoolingAppender) {
+                register(meterRegistry, spoolingAppender);
+            } else if (appender instanceof AppenderAttachable<?> wrapper) {
+                @SuppressWarnings("unchecked")
+                AppenderAttachable<ILoggingEvent> nested = (AppenderAttachable<ILoggingEvent>) wrapper;
+                registerAll(meterRegistry, nested);
+            }
+        }
+    }
+
+    private static void register(MeterRegistry meterRegistry, SpoolingLogstashAppender appender) {
+        Gauge.builder("taskmanager.log.spool.bytes.behind", appender, SpoolingLogstashAppender::getBytesBehind)
+                .description("Bytes written to the log spool and not shipped yet")
+                .tag("appender", appender.getName())
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        FunctionCounter.builder("taskmanager.log.spool.dropped", appender, SpoolingLogstashAppender::getDroppedBytes)
+                .description("Bytes dropped because the log spool reached its size limit")
+                .tag("appender", appender.getName())
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,66 @@
+package com.vicente.taskmanager.monitoring;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Checks the statements of a finished scope against its budget (per endpoint or scheduler, with a
+ * default) and flags statements repeated often enough to look like an N+1.
+ */
+@Component
+public class SqlStatementBudget {
+    private final int defaultBudget;
+    private final Map<String, Integer> budgets;
+    private final int repeatedStatementThreshold;
+    private final MeterRegistry meterRegistry;
+    private static final Logger logger = LoggerFactory.getLogger(SqlStatementBudget.class);
+
+    public SqlStatementBudget(
+            @Value("${app.sql.budget.default}") int defaultBudget,
+            @Value("#{${app.sql.budget.scopes}}") Map<String, Integer> budgets,
+            @Value("${app.sql.budget.repeated-statement-threshold}") int repeatedStatementThreshold,
+            MeterRegistry meterRegistry
+    ) {
+        this.defaultBudget = defaultBudget;
+        this.budgets = Map.copyOf(budgets);
+        this.repeatedStatementThreshold = repeatedStatementThreshold;
+        this.meterRegistry = meterRegistry;
+    }
+
+    public void check(SqlStatementStats stats) {
+        if (stats.total() == 0) return;
+
+        DistributionSummary.builder("taskmanager.sql.statements")
+                .description("SQL statements issued per request or scheduler run")
+                .tag("scope", stats.scope())
+                .register(meterRegistry)
+                .record(stats.total());
+
+        int budget = budgets.getOrDefault(stats.scope(), defaultBudget);
+        if (stats.total() > budget) {
+            violation(stats.scope(), "budget");
+            logger.warn("SQL statement budget exceeded | scope={} statements={} budget={}",
+                    stats.scope(), stats.total(), budget);
+        }
+
+        stats.repeatedStatements(repeatedStatementThreshold).forEach((sql, count) -> {
+            violation(stats.scope(), "repeated_statement");
+            logger.warn("Possible N+1 query | scope={} count={} sql={}", stats.scope(), count, sql);
+        });
+    }
+
+    private void violation(String scope, String type) {
+        Counter.builder("taskmanager.sql.budget.violations")
+                .tag("scope", scope)
+                .tag("type", type)
+                .register(meterRegistry)
+                .increment();
+    }
+}
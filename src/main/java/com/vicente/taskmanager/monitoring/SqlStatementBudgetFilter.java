@@ -0,0 +1,48 @@
+package com.vicente.taskmanager.monitoring;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.jspecify.annotations.NonNull;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * Counts the statements of each request, security filters included, and checks them against the
+ * budget of the matched endpoint ("METHOD /pattern"). Work handed off to other threads, such as
+ * streaming exports, is not attributed to the request.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class SqlStatementBudgetFilter extends OncePerRequestFilter {
+    private final SqlStatementBudget sqlStatementBudget;
+
+    public SqlStatementBudgetFilter(SqlStatementBudget sqlStatementBudget) {
+        this.sqlStatementBudget = sqlStatementBudget;
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain)
+            throws ServletException, IOException {
+        try (SqlStatementCounter.Scope scope = SqlStatementCounter.open("request")) {
+            filterChain.doFilter(request, response);
+
+            SqlStatementStats stats = scope.stats();
+            sqlStatementBudget.check(new SqlStatementStats(endpoint(request), stats.total(), stats.countsBySql()));
+        }
+    }
+
+    private static String endpoint(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return request.getMethod() + " " + (pattern != null ? pattern : "unmapped");
+    }
+}
@@ -0,0 +1,66 @@
+package com.vicente.taskmanager.monitoring;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Counts the SQL statements issued by the current thread, attributed to the innermost open scope.
+ * StatementCountingDataSource reports every statement here; requests, scheduler runs and tests open
+ * the scopes. Statements issued outside any scope (e.g. Flyway at startup) are not counted.
+ */
+public final class SqlStatementCounter {
+    private static final ThreadLocal<Scope> CURRENT = new ThreadLocal<>();
+
+    private SqlStatementCounter() {
+    }
+
+    public static Scope open(String name) {
+        Scope scope = new Scope(name, CURRENT.get());
+        CURRENT.set(scope);
+        return scope;
+    }
+
+    static void record(String sql) {
+        Scope scope = CURRENT.get();
+        if (scope != null) {
+            scope.record(sql);
+        }
+    }
+
+    public static final class Scope implements AutoCloseable {
+        private final String name;
+        private final Scope parent;
+        private final Map<String, Integer> countsBySql = new HashMap<>();
+        private int total;
+        private boolean closed;
+
+        private Scope(String name, Scope parent) {
+            this.name = name;
+            this.parent = parent;
+        }
+
+        private void record(String sql) {
+            total++;
+            countsBySql.merge(sql, 1, Integer::sum);
+        }
+
+        public SqlStatementStats stats() {
+            return new SqlStatementStats(name, total, Map.copyOf(countsBySql));
+        }
+
+        @Override
+        public void close() {
+            if (closed) return;
+            closed = true;
+            if (parent != null) {
+                countsBySql.forEach((sql, count) -> {
+                    parent.total += count;
+                    parent.countsBySql.merge(sql, count, Integer::sum);
+                });
+                CURRENT.set(parent);
+            } else {
+                CURRENT.remove();
+            }
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.vicente.taskmanager.monitoring;
+
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Statements issued inside one counting scope (a request, a scheduler run or a counted block),
+ * in total and per distinct SQL string.
+ */
+public record SqlStatementStats(String scope, int total, Map<String, Integer> countsBySql) {
+
+    /**
+     * The statements executed at least {@code threshold} times in the scope, the usual shape of an
+     * N+1: the same select issued once per row of a previous result.
+     */
+    public Map<String, Integer> repeatedStatements(int threshold) {
+        return countsBySql.entrySet().stream()
+                .filter(entry -> entry.getValue() >= threshold)
+                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+    }
+}
@@ -0,0 +1,50 @@
+package com.vicente.taskmanager.monitoring;
+
+import com.vicente.taskmanager.dto.internal.TaskState;
+import com.vicente.taskmanager.dto.response.PageResponseDTO;
+import com.vicente.taskmanager.dto.response.TaskBatchResponseDTO;
+import com.vicente.taskmanager.dto.response.TaskChangePageResponseDTO;
+import com.vicente.taskmanager.dto.response.TaskResponseDTO;
+import com.vicente.taskmanager.dto.response.TaskSearchPageResponseDTO;
+import com.vicente.taskmanager.monitoring.event.TaskOperationEvent;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+
+/**
+ * Emits a {@link TaskOperationEvent} for every public TaskServiceImpl method. The row count is
+ * taken from the result: tasks in a page, entries in a change page, items succeeded in a batch,
+ * rows written by an export and 1 for single task operations. Void methods and results without
+ * a known count record -1, so they can be excluded from row statistics.
+ */
+@Aspect
+@Component
+public class TaskOperationEventAspect {
+
+    @Around("execution(public * com.vicente.taskmanager.service.impl.TaskServiceImpl.*(..))")
+    public Object recordOperation(ProceedingJoinPoint joinPoint) throws Throwable {
+        TaskOperationEvent event = TaskOperationEvent.start(joinPoint.getSignature().getName());
+        try {
+            Object result = joinPoint.proceed();
+            event.finish(rows(result), false);
+            return result;
+        } catch (Throwable e) {
+            event.finish(0, true);
+            throw e;
+        }
+    }
+
+    private static long rows(Object result) {
+        return switch (result) {
+            case null -> -1;
+            case TaskResponseDTO _, TaskState _ -> 1;
+            case PageResponseDTO<?> page -> page.content().size();
+            case TaskSearchPageResponseDTO page -> page.content().size();
+            case TaskChangePageResponseDTO page -> page.changes().size();
+            case TaskBatchResponseDTO batch -> batch.succeeded();
+            case Long count -> count;
+            default -> -1;
+        };
+    }
+}
@@ -0,0 +1,46 @@
+package com.vicente.taskmanager.monitoring.event;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * One step of access token authentication in SecurityFilter: token parse, blacklist check or user load.
+ */
+@Name(AuthFilterEvent.NAME)
+@Label("Auth Filter Phase")
+@Category({"Task Manager", "Security"})
+@Description("Duration of a SecurityFilter authentication phase")
+@StackTrace(false)
+public class AuthFilterEvent extends Event {
+    public static final String NAME = "taskmanager.AuthFilter";
+    public static final String TOKEN_PARSE = "token_parse";
+    public static final String BLACKLIST_CHECK = "blacklist_check";
+    public static final String USER_LOAD = "user_load";
+
+    @Label("Phase")
+    private String phase;
+
+    @Label("Success")
+    private boolean success;
+
+    private AuthFilterEvent(String phase) {
+        this.phase = phase;
+    }
+
+    public static AuthFilterEvent start(String phase) {
+        AuthFilterEvent event = new AuthFilterEvent(phase);
+        event.begin();
+        return event;
+    }
+
+    public void finish(boolean success) {
+        if (shouldCommit()) {
+            this.success = success;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.vicente.taskmanager.monitoring.event;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * One Argon2 hash (encode) or verification (matches).
+ */
+@Name(PasswordHashEvent.NAME)
+@Label("Password Hash")
+@Category({"Task Manager", "Security"})
+@Description("Duration of an Argon2 encode or matches call")
+@StackTrace(false)
+public class PasswordHashEvent extends Event {
+    public static final String NAME = "taskmanager.PasswordHash";
+    public static final String ENCODE = "encode";
+    public static final String MATCHES = "matches";
+
+    @Label("Operation")
+    private String operation;
+
+    private PasswordHashEvent(String operation) {
+        this.operation = operation;
+    }
+
+    public static PasswordHashEvent start(String operation) {
+        PasswordHashEvent event = new PasswordHashEvent(operation);
+        event.begin();
+        return event;
+    }
+
+    public void finish() {
+        commit();
+    }
+}
@@ -0,0 +1,43 @@
+package com.vicente.taskmanager.monitoring.event;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * One run of a maintenance scheduler and how it ended (success, optimistic_lock or error).
+ */
+@Name(SchedulerRunEvent.NAME)
+@Label("Scheduler Run")
+@Category({"Task Manager", "Scheduler"})
+@Description("Duration and outcome of a maintenance scheduler run")
+@StackTrace(false)
+public class SchedulerRunEvent extends Event {
+    public static final String NAME = "taskmanager.SchedulerRun";
+
+    @Label("Scheduler")
+    private String scheduler;
+
+    @Label("Outcome")
+    private String outcome;
+
+    private SchedulerRunEvent(String scheduler) {
+        this.scheduler = scheduler;
+    }
+
+    public static SchedulerRunEvent start(String scheduler) {
+        SchedulerRunEvent event = new SchedulerRunEvent(scheduler);
+        event.begin();
+        return event;
+    }
+
+    public void finish(String outcome) {
+        if (shouldCommit()) {
+            this.outcome = outcome;
+            commit();
+        }
+    }
+}
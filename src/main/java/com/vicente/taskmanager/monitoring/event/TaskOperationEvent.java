@@ -0,0 +1,48 @@
+package com.vicente.taskmanager.monitoring.event;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * One TaskService operation with the number of tasks it returned or changed (-1 for void
+ * operations and results without a known count).
+ */
+@Name(TaskOperationEvent.NAME)
+@Label("Task Operation")
+@Category({"Task Manager", "Service"})
+@Description("Duration and row count of a TaskService operation")
+@StackTrace(false)
+public class TaskOperationEvent extends Event {
+    public static final String NAME = "taskmanager.TaskOperation";
+
+    @Label("Operation")
+    private String operation;
+
+    @Label("Rows")
+    private long rows;
+
+    @Label("Failed")
+    private boolean failed;
+
+    private TaskOperationEvent(String operation) {
+        this.operation = operation;
+    }
+
+    public static TaskOperationEvent start(String operation) {
+        TaskOperationEvent event = new TaskOperationEvent(operation);
+        event.begin();
+        return event;
+    }
+
+    public void finish(long rows, boolean failed) {
+        if (shouldCommit()) {
+            this.rows = rows;
+            this.failed = failed;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.vicente.taskmanager.repository;
+
+import com.vicente.taskmanager.domain.entity.ArchivedTask;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ArchivedTaskRepository extends JpaRepository<ArchivedTask, Long> {
+    Page<ArchivedTask> findByUserId(Long userId, Pageable pageable);
+
+    @Modifying
+    @Query(value = """
+            DELETE FROM tb_task_archive
+            WHERE id IN (SELECT id FROM tb_task_archive WHERE user_id = :userId LIMIT :limit)
+            """, nativeQuery = true)
+    int deleteBatchByUserId(@Param("userId") Long userId, @Param("limit") int limit);
+}
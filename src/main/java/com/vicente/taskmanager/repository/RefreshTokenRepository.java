@@ -16,17 +16,45 @@ import java.util.UUID;
 
 @Repository
 public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long> {
+    /*
+     * tb_refresh_tokens é particionada por semana de expires_at. Toda consulta recebe um limite em
+     * expires_at para que o Postgres descarte as partições que não podem conter o token: as buscas
+     * por token usam o início da retenção, as de tokens ainda válidos usam o instante atual.
+     */
     @Modifying
-    @Query("UPDATE RefreshToken rt SET rt.reuseDetected = true WHERE rt.id = :id AND rt.reuseDetected = false")
-    void markReuseDetected(@Param("id") Long refreshTokenId);
+    @Query("UPDATE RefreshToken rt SET rt.reuseDetected = true " +
+            "WHERE rt.id = :id AND rt.expiresAt = :expiresAt AND rt.reuseDetected = false")
+    void markReuseDetected(@Param("id") Long refreshTokenId, @Param("expiresAt") OffsetDateTime expiresAt);
 
-    Optional<RefreshToken> findByToken(String token);
+    Optional<RefreshToken> findByTokenAndExpiresAtAfter(String token, OffsetDateTime notBefore);
 
-    List<RefreshToken> findByUser_IdAndRevokedAtNull(Long userId);
-    List<RefreshToken> findByUser_IdAndTokenFamilyId(Long userId, UUID tokenFamilyId);
-    List<RefreshToken> findByExpiresAtBefore(OffsetDateTime thresholdDate);
+    List<RefreshToken> findByUser_IdAndRevokedAtNullAndExpiresAtAfter(Long userId, OffsetDateTime now);
+    List<RefreshToken> findByUser_IdAndTokenFamilyIdAndExpiresAtAfter(Long userId, UUID tokenFamilyId,
+                                                                      OffsetDateTime now);
     List<RefreshToken> findByUser_DeletedAtBefore(OffsetDateTime thresholdDate);
 
+    @Modifying
+    @Query(value = """
+            DELETE FROM tb_refresh_tokens
+            WHERE (id, expires_at) IN (
+                SELECT id, expires_at FROM tb_refresh_tokens WHERE user_id = :userId LIMIT :limit)
+            """, nativeQuery = true)
+    int deleteBatchByUserId(@Param("userId") Long userId, @Param("limit") int limit);
+
+    /**
+     * Creates the weekly partitions missing from the current week up to weeksAhead weeks ahead,
+     * extended to cover any row that fell into the DEFAULT partition; those rows are moved into
+     * their week. Returns how many were created.
+     */
+    @Query(value = "SELECT create_refresh_token_partitions(now(), :weeksAhead)", nativeQuery = true)
+    int createPartitionsAhead(@Param("weeksAhead") int weeksAhead);
+
+    /**
+     * Detaches and drops every weekly partition that ended before expiredBefore. Returns how many were dropped.
+     */
+    @Query(value = "SELECT drop_refresh_token_partitions(:expiredBefore)", nativeQuery = true)
+    int dropPartitionsExpiredBefore(@Param("expiredBefore") OffsetDateTime expiredBefore);
+
 
 
     /**
@@ -85,6 +113,7 @@ public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long
      * caso contrário o lock não será aplicado corretamente pelo banco de dados.
      */
     @Lock(LockModeType.PESSIMISTIC_WRITE)
-    @Query("SELECT rt FROM RefreshToken rt WHERE rt.token = :token")
-    Optional<RefreshToken> findByTokenForUpdate(@Param("token") String token);
+    @Query("SELECT rt FROM RefreshToken rt WHERE rt.token = :token AND rt.expiresAt > :notBefore")
+    Optional<RefreshToken> findByTokenForUpdate(@Param("token") String token,
+                                                @Param("notBefore") OffsetDateTime notBefore);
 }
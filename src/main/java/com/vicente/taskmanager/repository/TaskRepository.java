@@ -2,20 +2,351 @@ package com.vicente.taskmanager.repository;
 
 import com.vicente.taskmanager.domain.entity.Task;
 import com.vicente.taskmanager.domain.enums.TaskStatus;
+import com.vicente.taskmanager.dto.internal.TaskChange;
+import com.vicente.taskmanager.dto.internal.TaskOverdue;
+import com.vicente.taskmanager.dto.internal.TaskOwner;
+import com.vicente.taskmanager.dto.internal.TaskSearchHit;
+import com.vicente.taskmanager.dto.internal.TaskState;
+import com.vicente.taskmanager.dto.internal.TaskVersion;
+import com.vicente.taskmanager.dto.response.TaskResponseDTO;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
 import java.time.OffsetDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface TaskRepository extends JpaRepository<Task, Long>, JpaSpecificationExecutor<Task> {
-    List<Task> findByStatusAndDueDateBefore(TaskStatus status, LocalDate today);
+    Optional<Task> findByIdAndUserId(Long id, Long userId);
 
-    List<Task> findByStatusAndUpdatedAtBefore(TaskStatus status, OffsetDateTime thresholdDate);
+    List<Task> findByIdInAndUserId(Collection<Long> ids, Long userId);
 
-    Optional<Task> findByIdAndUserId(Long id, Long userId);
-}
\ No newline at end of file
+    /**
+     * Tasks of a user stored with the given status whose due date is before dueBefore, in
+     * (dueDate, id) order, starting after the keyset (afterDueDate, afterId). For IN_PROGRESS
+     * these are the tasks that became PENDING (derived) since afterDueDate.
+     */
+    @Query("""
+            SELECT t FROM Task t
+            WHERE t.user.id = :userId AND t.status = :status AND t.dueDate < :dueBefore
+                AND (t.dueDate > :afterDueDate OR (t.dueDate = :afterDueDate AND t.id > :afterId))
+            ORDER BY t.dueDate, t.id
+            """)
+    List<Task> findByUserIdAndStatusAndDueDateAfter(
+            @Param("userId") Long userId,
+            @Param("status") TaskStatus status,
+            @Param("afterDueDate") LocalDate afterDueDate,
+            @Param("afterId") Long afterId,
+            @Param("dueBefore") LocalDate dueBefore,
+            Limit limit
+    );
+
+    /**
+     * Reads only what an overdue event needs (id, owner, version and due date), without
+     * hydrating the tasks.
+     */
+    @Query("""
+            SELECT t.id AS id, t.user.id AS userId, t.version AS version, t.dueDate AS dueDate
+            FROM Task t
+            WHERE t.user.id IN :userIds AND t.status = :status AND t.dueDate = :dueDate
+            """)
+    List<TaskOverdue> findOverdueByUserIdInAndStatusAndDueDate(
+            @Param("userIds") Collection<Long> userIds,
+            @Param("status") TaskStatus status,
+            @Param("dueDate") LocalDate dueDate
+    );
+
+    /**
+     * Writes PENDING on up to limit IN_PROGRESS tasks due before today, for the stored overdue mode
+     * (app.task.status.persist-overdue). Returns the id and new version of every updated row so the
+     * task cache can be invalidated. Must run inside a read-write transaction.
+     */
+    @Query(value = """
+            UPDATE tb_tasks
+            SET status = 'PENDING', version = version + 1
+            WHERE id IN (
+                SELECT id FROM tb_tasks
+                WHERE status = 'IN_PROGRESS' AND due_date < :today
+                ORDER BY id LIMIT :limit FOR UPDATE SKIP LOCKED)
+            RETURNING id AS "id", version AS "version"
+            """, nativeQuery = true)
+    List<TaskVersion> markOverdueBatch(@Param("today") LocalDate today, @Param("limit") int limit);
+
+    /**
+     * Deletes up to limit tasks of the user and returns their ids so the task cache can be invalidated.
+     * Must run inside a read-write transaction.
+     */
+    @Query(value = """
+            DELETE FROM tb_tasks
+            WHERE id IN (SELECT id FROM tb_tasks WHERE user_id = :userId LIMIT :limit)
+            RETURNING id
+            """, nativeQuery = true)
+    List<Long> deleteBatchByUserId(@Param("userId") Long userId, @Param("limit") int limit);
+
+    /**
+     * Moves up to limit tasks with the given status not updated since thresholdDate into
+     * tb_task_archive and deletes them from tb_tasks in the same statement, returning their ids
+     * so the task cache can be invalidated. Rows locked by a concurrent request are skipped and
+     * picked up by a later batch. Must run inside a read-write transaction.
+     */
+    @Query(value = """
+            WITH moved AS (
+                DELETE FROM tb_tasks
+                WHERE id IN (
+                    SELECT id FROM tb_tasks
+                    WHERE status = CAST(:status AS task_status) AND updated_at < :thresholdDate
+                    ORDER BY id
+                    LIMIT :limit
+                    FOR UPDATE SKIP LOCKED)
+                RETURNING id, user_id, title, description, due_date, status, created_at, updated_at
+            ), archived AS (
+                INSERT INTO tb_task_archive (id, user_id, title, description, due_date, status, created_at,
+                                             updated_at)
+                SELECT id, user_id, title, description, due_date, status, created_at, updated_at FROM moved
+            )
+            SELECT id FROM moved
+            """, nativeQuery = true)
+    List<Long> archiveBatchByStatusAndUpdatedAtBefore(
+            @Param("status") String status,
+            @Param("thresholdDate") OffsetDateTime thresholdDate,
+            @Param("limit") int limit
+    );
+
+    @Query("""
+            SELECT t.status AS status, t.version AS version, t.dueDate AS dueDate
+            FROM Task t
+            WHERE t.id = :id AND t.user.id = :userId
+            """)
+    Optional<TaskState> findStateByIdAndUserId(@Param("id") Long id, @Param("userId") Long userId);
+
+    @Query("""
+            SELECT t.status AS status, t.version AS version, t.dueDate AS dueDate
+            FROM Task t
+            WHERE t.id = :id
+            """)
+    Optional<TaskState> findStateById(@Param("id") Long id);
+
+    /**
+     * Same filters, sort and paging as the task listing, but only reads id, version, status and
+     * due date, which is enough to compute the page ETag without hydrating entities.
+     * Returns a Slice, so no count query runs on revalidation.
+     * The status filter is given as a {@link com.vicente.taskmanager.dto.filter.TaskStatusFilter}.
+     */
+    @Query("""
+            SELECT t.id AS id, t.version AS version, t.status AS status, t.dueDate AS dueDate
+            FROM Task t
+            WHERE t.user.id = :userId AND t.user.deletedAt IS NULL
+                AND t.status IN :statuses
+                AND (:dueBefore IS NULL OR t.dueDate < :dueBefore)
+                AND (:dueFrom IS NULL OR t.dueDate >= :dueFrom)
+                AND (:dueDate IS NULL OR t.dueDate = :dueDate)
+            """)
+    Slice<TaskVersion> findVersionsByUserId(
+            @Param("userId") Long userId,
+            @Param("statuses") Collection<TaskStatus> statuses,
+            @Param("dueBefore") LocalDate dueBefore,
+            @Param("dueFrom") LocalDate dueFrom,
+            @Param("dueDate") LocalDate dueDate,
+            Pageable pageable
+    );
+
+    /**
+     * Applies a status transition in a single statement. The ownership, the allowed current
+     * statuses and, when given, the expected version (If-Match) are part of the WHERE clause,
+     * so an empty result means the task does not exist for this user, its current status does
+     * not allow the transition or it was changed since the client read it. A non-null dueFrom
+     * rejects overdue (PENDING) tasks.
+     * Must run inside a read-write transaction.
+     */
+    @Query(value = """
+            UPDATE tb_tasks
+            SET status = CAST(:targetStatus AS task_status), version = version + 1
+            WHERE id = :id AND user_id = :userId AND CAST(status AS VARCHAR) IN (:allowedStatuses)
+                AND (CAST(:dueFrom AS DATE) IS NULL OR due_date >= CAST(:dueFrom AS DATE))
+                AND (CAST(:expectedVersion AS BIGINT) IS NULL OR version = CAST(:expectedVersion AS BIGINT))
+            RETURNING *
+            """, nativeQuery = true)
+    Optional<Task> transitionStatus(
+            @Param("id") Long id,
+            @Param("userId") Long userId,
+            @Param("expectedVersion") Long expectedVersion,
+            @Param("targetStatus") String targetStatus,
+            @Param("allowedStatuses") Collection<String> allowedStatuses,
+            @Param("dueFrom") LocalDate dueFrom
+    );
+
+    /**
+     * Merges the non-null fields into the task. The stored status is left untouched: whether the
+     * task is PENDING follows from the new due date when it is read. Same empty-result contract as
+     * {@link #transitionStatus}.
+     */
+    @Query(value = """
+            UPDATE tb_tasks
+            SET title = COALESCE(CAST(:title AS VARCHAR), title),
+                description = COALESCE(CAST(:description AS TEXT), description),
+                due_date = COALESCE(CAST(:dueDate AS DATE), due_date),
+                version = version + 1
+            WHERE id = :id AND user_id = :userId AND CAST(status AS VARCHAR) IN (:allowedStatuses)
+                AND (CAST(:expectedVersion AS BIGINT) IS NULL OR version = CAST(:expectedVersion AS BIGINT))
+            RETURNING *
+            """, nativeQuery = true)
+    Optional<Task> updateFields(
+            @Param("id") Long id,
+            @Param("userId") Long userId,
+            @Param("expectedVersion") Long expectedVersion,
+            @Param("title") String title,
+            @Param("description") String description,
+            @Param("dueDate") LocalDate dueDate,
+            @Param("allowedStatuses") Collection<String> allowedStatuses
+    );
+
+    /**
+     * Set-based variant of {@link #transitionStatus}: only the rows that were actually
+     * transitioned are returned.
+     */
+    @Query(value = """
+            UPDATE tb_tasks
+            SET status = CAST(:targetStatus AS task_status), version = version + 1
+            WHERE id IN (:ids) AND user_id = :userId AND CAST(status AS VARCHAR) IN (:allowedStatuses)
+                AND (CAST(:dueFrom AS DATE) IS NULL OR due_date >= CAST(:dueFrom AS DATE))
+            RETURNING *
+            """, nativeQuery = true)
+    List<Task> transitionStatuses(
+            @Param("ids") Collection<Long> ids,
+            @Param("userId") Long userId,
+            @Param("targetStatus") String targetStatus,
+            @Param("allowedStatuses") Collection<String> allowedStatuses,
+            @Param("dueFrom") LocalDate dueFrom
+    );
+
+    /**
+     * Oldest transaction id still in progress (xmin of the current snapshot). Every change log
+     * row with a lower txid is already committed or rolled back, so it is safe to read.
+     */
+    @Query(value = "SELECT CAST(CAST(pg_snapshot_xmin(pg_current_snapshot()) AS TEXT) AS BIGINT)",
+            nativeQuery = true)
+    long findChangeLogHorizon();
+
+    /**
+     * Change log entries of a user after the (afterTxid, afterId) cursor and below horizon,
+     * ordered by (txid, id). The log is written by the trigger on tb_tasks.
+     */
+    @Query(value = """
+            SELECT c.id AS "id", c.txid AS "txid", c.task_id AS "taskId", CAST(c.type AS VARCHAR) AS "type",
+                   c.changed_at AS "changedAt"
+            FROM tb_task_changes c
+            WHERE c.user_id = :userId
+                AND (c.txid, c.id) > (:afterTxid, :afterId)
+                AND c.txid < :horizon
+            ORDER BY c.txid, c.id
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<TaskChange> findChanges(
+            @Param("userId") Long userId,
+            @Param("afterTxid") long afterTxid,
+            @Param("afterId") long afterId,
+            @Param("horizon") long horizon,
+            @Param("limit") int limit
+    );
+
+    /**
+     * Deletes up to limit change log entries older than thresholdDate. Must run inside a
+     * read-write transaction.
+     */
+    @Modifying
+    @Query(value = """
+            DELETE FROM tb_task_changes
+            WHERE id IN (SELECT id FROM tb_task_changes WHERE changed_at < :thresholdDate LIMIT :limit)
+            """, nativeQuery = true)
+    int deleteChangesBefore(@Param("thresholdDate") OffsetDateTime thresholdDate, @Param("limit") int limit);
+
+    @Query(value = """
+            DELETE FROM tb_tasks WHERE id IN (:ids)
+            RETURNING id AS "id", user_id AS "userId"
+            """, nativeQuery = true)
+    List<TaskOwner> deleteByIdInReturningOwner(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Streams the tasks of a user as DTOs, read through a server-side cursor in chunks of
+     * 500 rows. Nothing is attached to the persistence context, so memory stays constant
+     * however many rows are read. The stream must be consumed and closed inside a transaction.
+     * The DTOs carry the stored status; map them through TaskMapper.withEffectiveStatus.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("""
+            SELECT new com.vicente.taskmanager.dto.response.TaskResponseDTO(
+                t.id, t.title, t.description, t.dueDate, t.status, t.createdAt, t.updatedAt, t.version)
+            FROM Task t
+            WHERE t.user.id = :userId AND t.user.deletedAt IS NULL
+                AND t.status IN :statuses
+                AND (:dueBefore IS NULL OR t.dueDate < :dueBefore)
+                AND (:dueFrom IS NULL OR t.dueDate >= :dueFrom)
+                AND (:dueDate IS NULL OR t.dueDate = :dueDate)
+            ORDER BY t.id
+            """)
+    Stream<TaskResponseDTO> streamByUserId(
+            @Param("userId") Long userId,
+            @Param("statuses") Collection<TaskStatus> statuses,
+            @Param("dueBefore") LocalDate dueBefore,
+            @Param("dueFrom") LocalDate dueFrom,
+            @Param("dueDate") LocalDate dueDate
+    );
+
+    /**
+     * Full-text search over the generated search_vector column (GIN indexed), ranked by
+     * ts_rank and paginated by keyset on (rank, id). Pass null afterRank/afterId for the
+     * first page. The same status and due date filters as TaskSpecification apply.
+     * The highlights are HTML-safe: title and description are escaped before the <mark>
+     * tags are added, so the only markup in them is the highlight itself.
+     */
+    @Query(value = """
+            SELECT t.id AS "id",
+                   CAST(ts_rank(t.search_vector, query) AS DOUBLE PRECISION) AS "rank",
+                   ts_headline('simple', replace(replace(replace(t.title,
+                           '&', '&amp;'), '<', '&lt;'), '>', '&gt;'), query,
+                       'StartSel=<mark>, StopSel=</mark>, HighlightAll=true') AS "titleHighlight",
+                   ts_headline('simple', replace(replace(replace(COALESCE(t.description, ''),
+                           '&', '&amp;'), '<', '&lt;'), '>', '&gt;'), query,
+                       'StartSel=<mark>, StopSel=</mark>, MaxFragments=2, MaxWords=20, MinWords=5')
+                       AS "descriptionHighlight"
+            FROM tb_tasks t
+            JOIN tb_users u ON u.id = t.user_id
+            CROSS JOIN websearch_to_tsquery('simple', :query) query
+            WHERE t.user_id = :userId AND u.deleted_at IS NULL
+                AND t.search_vector @@ query
+                AND CAST(t.status AS VARCHAR) IN (:statuses)
+                AND (CAST(:dueBefore AS DATE) IS NULL OR t.due_date < CAST(:dueBefore AS DATE))
+                AND (CAST(:dueFrom AS DATE) IS NULL OR t.due_date >= CAST(:dueFrom AS DATE))
+                AND (CAST(:dueDate AS DATE) IS NULL OR t.due_date = CAST(:dueDate AS DATE))
+                AND (CAST(:afterRank AS DOUBLE PRECISION) IS NULL
+                    OR (CAST(ts_rank(t.search_vector, query) AS DOUBLE PRECISION), t.id)
+                        < (CAST(:afterRank AS DOUBLE PRECISION), CAST(:afterId AS BIGINT)))
+            ORDER BY "rank" DESC, t.id DESC
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<TaskSearchHit> search(
+            @Param("query") String query,
+            @Param("userId") Long userId,
+            @Param("statuses") Collection<String> statuses,
+            @Param("dueBefore") LocalDate dueBefore,
+            @Param("dueFrom") LocalDate dueFrom,
+            @Param("dueDate") LocalDate dueDate,
+            @Param("afterRank") Double afterRank,
+            @Param("afterId") Long afterId,
+            @Param("limit") int limit
+    );
+}
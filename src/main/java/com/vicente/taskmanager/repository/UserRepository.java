@@ -2,8 +2,13 @@ package com.vicente.taskmanager.repository;
 
 import com.vicente.taskmanager.domain.entity.User;
 import com.vicente.taskmanager.domain.enums.AccountStatus;
+import com.vicente.taskmanager.dto.response.UserResponseDTO;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.OffsetDateTime;
@@ -14,7 +19,142 @@ import java.util.Optional;
 public interface UserRepository extends JpaRepository<User, Long>, JpaSpecificationExecutor<User> {
     boolean existsByEmail(String email);
     Optional<User> findByEmail(String username);
-    List<User> findByAccountStatusAndUpdatedAtBefore(AccountStatus status, OffsetDateTime date);
-    List<User> findByDeletedAtBefore(OffsetDateTime date);
-    List<User> findByLockUntilBefore(OffsetDateTime date);
+    List<User> findByAccountStatusAndUpdatedAtBeforeAndDeletedAtNotNull(AccountStatus status, OffsetDateTime date);
+
+    /*
+     * Expurgo em lotes: as consultas claim* marcam até :limit usuários elegíveis com purge_started_at e já os
+     * tratam como excluídos (deleted_at preenchido, version incrementada para derrubar escritas concorrentes).
+     * Devolvem os ids marcados. Precisam rodar numa transação de escrita.
+     */
+    @Query(value = """
+            UPDATE tb_users
+            SET purge_started_at = :now, deleted_at = COALESCE(deleted_at, :now), version = version + 1
+            WHERE id IN (
+                SELECT id FROM tb_users
+                WHERE purge_started_at IS NULL AND account_status = CAST(:status AS account_status)
+                    AND updated_at < :threshold
+                ORDER BY id LIMIT :limit FOR UPDATE SKIP LOCKED)
+            RETURNING id
+            """, nativeQuery = true)
+    List<Long> claimForPurgeByAccountStatus(@Param("status") String status,
+                                            @Param("threshold") OffsetDateTime threshold,
+                                            @Param("now") OffsetDateTime now,
+                                            @Param("limit") int limit);
+
+    @Query(value = """
+            UPDATE tb_users
+            SET purge_started_at = :now, deleted_at = :now, version = version + 1
+            WHERE id IN (
+                SELECT id FROM tb_users
+                WHERE purge_started_at IS NULL AND account_status = 'PENDING_VERIFICATION'
+                    AND updated_at < :threshold AND deleted_at IS NULL
+                ORDER BY id LIMIT :limit FOR UPDATE SKIP LOCKED)
+            RETURNING id
+            """, nativeQuery = true)
+    List<Long> claimPendingVerificationForPurge(@Param("threshold") OffsetDateTime threshold,
+                                                @Param("now") OffsetDateTime now,
+                                                @Param("limit") int limit);
+
+    @Query(value = """
+            UPDATE tb_users
+            SET purge_started_at = :now, version = version + 1
+            WHERE id IN (
+                SELECT id FROM tb_users
+                WHERE purge_started_at IS NULL AND deleted_at < :threshold
+                ORDER BY id LIMIT :limit FOR UPDATE SKIP LOCKED)
+            RETURNING id
+            """, nativeQuery = true)
+    List<Long> claimForPurgeByDeletedAtBefore(@Param("threshold") OffsetDateTime threshold,
+                                              @Param("now") OffsetDateTime now,
+                                              @Param("limit") int limit);
+
+    /**
+     * Re-claims up to limit users whose purge was claimed before staleBefore and never finished (an
+     * interrupted run). purge_started_at is moved to now, so a re-claimed user leaves the predicate and
+     * is handed to a single caller.
+     */
+    @Query(value = """
+            UPDATE tb_users SET purge_started_at = :now
+            WHERE id IN (
+                SELECT id FROM tb_users
+                WHERE purge_started_at < :staleBefore
+                ORDER BY id LIMIT :limit FOR UPDATE SKIP LOCKED)
+            RETURNING id
+            """, nativeQuery = true)
+    List<Long> reclaimStalePurges(@Param("staleBefore") OffsetDateTime staleBefore,
+                                  @Param("now") OffsetDateTime now,
+                                  @Param("limit") int limit);
+
+    @Modifying
+    @Query(value = "DELETE FROM tb_user_roles WHERE user_id = :userId", nativeQuery = true)
+    int deleteRolesByUserId(@Param("userId") Long userId);
+
+    @Modifying
+    @Query(value = "DELETE FROM tb_users WHERE id = :id AND purge_started_at IS NOT NULL", nativeQuery = true)
+    int deleteClaimedForPurge(@Param("id") Long id);
+
+    /**
+     * Locks the account until lockUntil and invalidates its access tokens, unless a lock is already
+     * active. Returns 0 when a concurrent failed login locked the row first, so a burst of failures
+     * writes the row once.
+     */
+    @Modifying
+    @Query(value = """
+            UPDATE tb_users SET lock_until = :lockUntil, token_version = token_version + 1, version = version + 1
+            WHERE id = :id AND (lock_until IS NULL OR lock_until < :now)
+            """, nativeQuery = true)
+    int lockIfNotLocked(@Param("id") Long id, @Param("lockUntil") OffsetDateTime lockUntil,
+            @Param("now") OffsetDateTime now);
+
+    /**
+     * Clears up to limit lockouts that already expired. An expired lock_until already reads as unlocked,
+     * so this only compacts stale values: it does not bump version or updated_at, and rows locked by a
+     * concurrent login are skipped.
+     */
+    @Modifying
+    @Query(value = """
+            UPDATE tb_users SET lock_until = NULL
+            WHERE lock_until < :now AND id IN (
+                SELECT id FROM tb_users WHERE lock_until < :now LIMIT :limit FOR UPDATE SKIP LOCKED)
+            """, nativeQuery = true)
+    int clearExpiredLocks(@Param("now") OffsetDateTime now, @Param("limit") int limit);
+
+    /**
+     * Planner estimate of the rows matched by the admin user listing, read from EXPLAIN
+     * instead of running count(*). Takes the same name and account status filters as
+     * UserSpecification; null skips a filter.
+     */
+    @Query(value = "SELECT estimate_user_count(:name, :accountStatus)", nativeQuery = true)
+    long estimateCount(@Param("name") String name, @Param("accountStatus") String accountStatus);
+
+    /**
+     * Users whose name or email is similar to the term (pg_trgm, served by the trigram GIN
+     * indexes), most similar first. The term must already be lower-cased.
+     */
+    @Query(value = """
+            SELECT u.* FROM tb_users u
+            WHERE u.deleted_at IS NULL AND (lower(u.name) % :term OR u.email % :term)
+            ORDER BY GREATEST(similarity(lower(u.name), :term), similarity(u.email, :term)) DESC, u.id
+            LIMIT :limit OFFSET :offset
+            """, nativeQuery = true)
+    List<User> searchBySimilarity(@Param("term") String term, @Param("limit") int limit, @Param("offset") long offset);
+
+    @Query(value = """
+            SELECT count(*) FROM tb_users u
+            WHERE u.deleted_at IS NULL AND (lower(u.name) % :term OR u.email % :term)
+            """, nativeQuery = true)
+    long countBySimilarity(@Param("term") String term);
+
+    /**
+     * Prefix autocomplete on name or email. The prefix must already be lower-cased, have
+     * its LIKE wildcards escaped and end with '%'.
+     */
+    @Query("""
+            SELECT new com.vicente.taskmanager.dto.response.UserResponseDTO(u.id, u.name, u.email)
+            FROM User u
+            WHERE u.deletedAt IS NULL
+                AND (lower(u.name) LIKE :prefix ESCAPE '\\' OR u.email LIKE :prefix ESCAPE '\\')
+            ORDER BY lower(u.name), u.id
+            """)
+    List<UserResponseDTO> findByNameOrEmailStartingWith(@Param("prefix") String prefix, Limit limit);
 }
@@ -3,6 +3,9 @@ package com.vicente.taskmanager.repository;
 import com.vicente.taskmanager.domain.entity.VerificationToken;
 import com.vicente.taskmanager.domain.enums.TokenType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.OffsetDateTime;
@@ -15,4 +18,8 @@ public interface VerificationTokenRepository extends JpaRepository<VerificationT
     Optional<VerificationToken> findByToken(UUID token);
     Optional<VerificationToken> findByUser_IdAndType(Long id, TokenType tokenType);
     List<VerificationToken> findByTypeAndExpiresAtBefore(TokenType tokenType, OffsetDateTime thresholdDate);
+
+    @Modifying
+    @Query("DELETE FROM VerificationToken vt WHERE vt.user.id = :userId")
+    int deleteByUserId(@Param("userId") Long userId);
 }
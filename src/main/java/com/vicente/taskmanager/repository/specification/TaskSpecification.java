@@ -3,12 +3,30 @@ package com.vicente.taskmanager.repository.specification;
 import com.vicente.taskmanager.domain.entity.Task;
 import com.vicente.taskmanager.domain.enums.TaskStatus;
 import com.vicente.taskmanager.dto.filter.TaskFilterDTO;
+import com.vicente.taskmanager.dto.filter.TaskStatusFilter;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Order;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.JpaSort;
 import org.springframework.data.jpa.domain.Specification;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Objects;
 
 public final class TaskSpecification {
+    private static final String STATUS = "status";
+    private static final String ACTIVE_JPQL = "t.status IN (com.vicente.taskmanager.domain.enums.TaskStatus.IN_PROGRESS, "
+            + "com.vicente.taskmanager.domain.enums.TaskStatus.PENDING)";
+    private static final String STATUS_RANK_JPQL = "CASE WHEN " + ACTIVE_JPQL + " AND t.dueDate < CURRENT_DATE THEN 0 "
+            + "WHEN " + ACTIVE_JPQL + " THEN 1 "
+            + "WHEN t.status = com.vicente.taskmanager.domain.enums.TaskStatus.DONE THEN 2 ELSE 3 END";
+
     private TaskSpecification() {}
 
     public static Specification<Task> filter(TaskFilterDTO taskFilter) {
@@ -19,17 +37,71 @@ public final class TaskSpecification {
                 .and(byDueDate(taskFilter.dueDate()));
     }
 
+    // PENDING e IN_PROGRESS não são gravados separadamente: viram o status gravado mais um intervalo de due_date
     private static Specification<Task> byStatus(TaskStatus status) {
         return (root, _, cb) -> {
 
             if (Objects.nonNull(status)) {
-                return cb.equal(root.get("status"), status);
+                TaskStatusFilter filter = TaskStatusFilter.of(status);
+                List<Predicate> predicates = new ArrayList<>();
+                predicates.add(root.get("status").in(filter.storedStatuses()));
+                if (filter.dueBefore() != null) {
+                    predicates.add(cb.lessThan(root.get("dueDate"), filter.dueBefore()));
+                }
+                if (filter.dueFrom() != null) {
+                    predicates.add(cb.greaterThanOrEqualTo(root.get("dueDate"), filter.dueFrom()));
+                }
+                return cb.and(predicates.toArray(Predicate[]::new));
             }
 
             return null;
         };
     }
 
+    /*
+     * "status" ordena pelo status exibido (PENDING, IN_PROGRESS, DONE, CANCELLED), que não é uma coluna: uma
+     * tarefa ativa vencida conta como PENDING. A ordenação fica na especificação porque o Sort só aceita
+     * propriedades; a página deve ser pedida sem Sort.
+     */
+    public static Specification<Task> orderBy(Sort sort) {
+        return (root, query, cb) -> {
+            if (query != null) {
+                List<Order> orders = sort.stream()
+                        .map(order -> {
+                            Expression<?> expression = STATUS.equals(order.getProperty()) ?
+                                    statusRank(root, cb) : root.get(order.getProperty());
+                            return order.isAscending() ? cb.asc(expression) : cb.desc(expression);
+                        })
+                        .toList();
+                query.orderBy(orders);
+            }
+            return null;
+        };
+    }
+
+    /**
+     * The same order for JPQL queries over the alias t: "status" becomes the displayed status rank, so a
+     * projection query pages exactly like {@link #orderBy(Sort)}.
+     */
+    public static Sort toQuerySort(Sort sort) {
+        Sort querySort = Sort.unsorted();
+        for (Sort.Order order : sort) {
+            querySort = querySort.and(STATUS.equals(order.getProperty()) ?
+                    JpaSort.unsafe(order.getDirection(), STATUS_RANK_JPQL) : Sort.by(order));
+        }
+        return querySort;
+    }
+
+    private static Expression<Integer> statusRank(Root<Task> root, CriteriaBuilder cb) {
+        Path<TaskStatus> status = root.get(STATUS);
+        Predicate active = status.in(TaskStatus.IN_PROGRESS, TaskStatus.PENDING);
+        return cb.<Integer>selectCase()
+                .when(cb.and(active, cb.lessThan(root.<LocalDate>get("dueDate"), cb.localDate())), 0)
+                .when(active, 1)
+                .when(cb.equal(status, TaskStatus.DONE), 2)
+                .otherwise(3);
+    }
+
     private static Specification<Task> byDueDate(LocalDate dueDate) {
         return (root, _, cb) -> {
 
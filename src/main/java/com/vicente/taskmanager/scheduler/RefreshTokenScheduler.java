@@ -1,5 +1,6 @@
 package com.vicente.taskmanager.scheduler;
 
+import com.vicente.taskmanager.scheduler.util.SchedulerMetrics;
 import com.vicente.taskmanager.service.RefreshTokenSchedulerService;
 import jakarta.persistence.OptimisticLockException;
 import org.slf4j.Logger;
@@ -8,13 +9,18 @@ import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
+import java.util.concurrent.TimeUnit;
+
 @Component
 public class RefreshTokenScheduler {
     private final RefreshTokenSchedulerService refreshTokenSchedulerService;
+    private final SchedulerMetrics schedulerMetrics;
     private static final Logger logger = LoggerFactory.getLogger(RefreshTokenScheduler.class);
+    private static final String SCHEDULER = "refresh_token";
 
-    public RefreshTokenScheduler(RefreshTokenSchedulerService refreshTokenSchedulerService) {
+    public RefreshTokenScheduler(RefreshTokenSchedulerService refreshTokenSchedulerService, SchedulerMetrics schedulerMetrics) {
         this.refreshTokenSchedulerService = refreshTokenSchedulerService;
+        this.schedulerMetrics = schedulerMetrics;
     }
 
     @Scheduled(cron = "${spring.refresh.token.scheduling.cron}")
@@ -25,17 +31,22 @@ public class RefreshTokenScheduler {
     private void execute() {
         logger.info("[REFRESH TOKEN SCHEDULER] Running task maintenance");
 
-        long start = System.currentTimeMillis();
+        SchedulerMetrics.Run run = schedulerMetrics.start(SCHEDULER);
         try {
-            refreshTokenSchedulerService.deleteRefreshTokensExpiredBefore7Days();
+            refreshTokenSchedulerService.createPartitionsAhead();
+            refreshTokenSchedulerService.dropExpiredPartitions();
             refreshTokenSchedulerService.deleteRefreshTokensOfUsersDeletedBefore3Days();
 
-            long duration = System.currentTimeMillis() - start;
+            long duration = TimeUnit.NANOSECONDS.toMillis(
+                    schedulerMetrics.recordRun(run, SchedulerMetrics.OUTCOME_SUCCESS));
             logger.info("[REFRESH TOKEN SCHEDULER] Refresh token maintenance scheduler finished | duration={}ms", duration);
 
         } catch (ObjectOptimisticLockingFailureException | OptimisticLockException e) {
+            schedulerMetrics.recordRun(run, SchedulerMetrics.OUTCOME_OPTIMISTIC_LOCK);
+            schedulerMetrics.recordOptimisticLockSkip(SCHEDULER);
             logger.warn("[REFRESH TOKEN SCHEDULER] Refresh token skipped due to concurrent update | reason=optimistic_lock");
         } catch (Exception e){
+            schedulerMetrics.recordRun(run, SchedulerMetrics.OUTCOME_ERROR);
             logger.error("[REFRESH TOKEN SCHEDULER] Refresh token maintenance scheduler failed due to unexpected error", e);
         }
     }
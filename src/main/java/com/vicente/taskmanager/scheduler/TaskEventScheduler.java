@@ -0,0 +1,43 @@
+package com.vicente.taskmanager.scheduler;
+
+import com.vicente.taskmanager.service.TaskEventService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+
+/*
+ * Jobs das conexões SSE de eventos de tarefa:
+ *  - heartbeat: mantém a conexão aberta atrás de proxies com timeout de inatividade e revela conexões
+ *    mortas, que falham no envio e são removidas;
+ *  - vencidas: logo após a meia-noite avisa as conexões desta instância das tarefas IN_PROGRESS que
+ *    venceram ontem e agora são exibidas como PENDING. Só leitura, nenhuma linha é alterada.
+ */
+@Component
+public class TaskEventScheduler {
+    private final TaskEventService taskEventService;
+    private static final Logger logger = LoggerFactory.getLogger(TaskEventScheduler.class);
+
+    public TaskEventScheduler(TaskEventService taskEventService) {
+        this.taskEventService = taskEventService;
+    }
+
+    @Scheduled(fixedDelayString = "${app.task.events.heartbeat.millis}")
+    public void sendHeartbeats() {
+        taskEventService.sendHeartbeats();
+    }
+
+    @Scheduled(cron = "${app.task.events.overdue.cron}")
+    public void publishOverdue() {
+        LocalDate dueDate = LocalDate.now().minusDays(1);
+        try {
+            taskEventService.publishOverdue(dueDate);
+        } catch (DataAccessException e) {
+            // Best effort: o cliente recebe a mudança pelo feed de mudanças ou na próxima leitura
+            logger.warn("[TASK EVENTS] Overdue task events not pushed | dueDate={}", dueDate, e);
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.vicente.taskmanager.scheduler;
 
+import com.vicente.taskmanager.scheduler.util.SchedulerMetrics;
 import com.vicente.taskmanager.service.TaskSchedulerService;
 import jakarta.persistence.OptimisticLockException;
 import org.slf4j.Logger;
@@ -10,12 +11,15 @@ import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 @Component(value = "TaskMaintenanceScheduler")
 public class TaskScheduler {
     private final TaskSchedulerService taskSchedulerService;
+    private final SchedulerMetrics schedulerMetrics;
     private static final Logger logger = LoggerFactory.getLogger(TaskScheduler.class);
+    private static final String SCHEDULER = "task";
 
     /**
      * ================================================================
@@ -94,8 +98,9 @@ public class TaskScheduler {
      */
     private final AtomicBoolean running = new AtomicBoolean(false);
 
-    public TaskScheduler(TaskSchedulerService taskSchedulerService) {
+    public TaskScheduler(TaskSchedulerService taskSchedulerService, SchedulerMetrics schedulerMetrics) {
         this.taskSchedulerService = taskSchedulerService;
+        this.schedulerMetrics = schedulerMetrics;
     }
 
     @EventListener(ApplicationReadyEvent.class)
@@ -117,18 +122,23 @@ public class TaskScheduler {
 
         logger.info("[{}] Running task maintenance", source);
 
-        long start = System.currentTimeMillis();
+        SchedulerMetrics.Run run = schedulerMetrics.start(SCHEDULER);
         try {
-            taskSchedulerService.updateOverdueTasks(source);
-            taskSchedulerService.deleteCancelledTasksOlderThan90Days(source);
-            taskSchedulerService.deleteDoneTasksOlderThan180Days(source);
+            taskSchedulerService.markOverdueTasks(source);
+            taskSchedulerService.archiveCancelledTasksOlderThan90Days(source);
+            taskSchedulerService.archiveDoneTasksOlderThan180Days(source);
+            taskSchedulerService.pruneTaskChanges(source);
 
-            long duration = System.currentTimeMillis() - start;
+            long duration = TimeUnit.NANOSECONDS.toMillis(
+                    schedulerMetrics.recordRun(run, SchedulerMetrics.OUTCOME_SUCCESS));
             logger.info("[{}] Task maintenance scheduler finished | duration={}ms", source, duration);
 
         } catch (ObjectOptimisticLockingFailureException | OptimisticLockException e) {
+            schedulerMetrics.recordRun(run, SchedulerMetrics.OUTCOME_OPTIMISTIC_LOCK);
+            schedulerMetrics.recordOptimisticLockSkip(SCHEDULER);
             logger.warn("[{}] Task skipped due to concurrent update | reason=optimistic_lock", source);
         } catch (Exception e){
+            schedulerMetrics.recordRun(run, SchedulerMetrics.OUTCOME_ERROR);
             logger.error("[{}] Task maintenance scheduler failed due to unexpected error", source, e);
         }finally {
             running.set(false);
@@ -1,5 +1,6 @@
 package com.vicente.taskmanager.scheduler;
 
+import com.vicente.taskmanager.scheduler.util.SchedulerMetrics;
 import com.vicente.taskmanager.service.UserSchedulerService;
 import jakarta.persistence.OptimisticLockException;
 import org.slf4j.Logger;
@@ -8,15 +9,22 @@ import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
+import java.util.concurrent.TimeUnit;
+
 @Component
 public class UserScheduler {
     private final UserSchedulerService userSchedulerService;
+    private final SchedulerMetrics schedulerMetrics;
     private static final Logger logger = LoggerFactory.getLogger(UserScheduler.class);
+    private static final String SCHEDULER = "user";
     private static final String EVERY_DAY = "EVERY DAY";
     private static final String EVERY_HOUR = "EVERY HOUR";
+    private static final String LOCK_COMPACTION = "LOCK COMPACTION";
+    private static final String PURGE_RESUME = "PURGE RESUME";
 
-    public UserScheduler(UserSchedulerService userSchedulerService) {
+    public UserScheduler(UserSchedulerService userSchedulerService, SchedulerMetrics schedulerMetrics) {
         this.userSchedulerService = userSchedulerService;
+        this.schedulerMetrics = schedulerMetrics;
     }
 
     @Scheduled(cron = "${spring.user.scheduling.cron.every.day}")
@@ -29,24 +37,42 @@ public class UserScheduler {
         execute(EVERY_HOUR);
     }
 
+    @Scheduled(cron = "${spring.user.scheduling.cron.purge.resume}")
+    public void runScheduledPurgeResume() {
+        execute(PURGE_RESUME);
+    }
+
+    // Opcional: cron "-" desliga a compactação; bloqueios expirados continuam valendo como desbloqueados
+    @Scheduled(cron = "${spring.user.scheduling.cron.lock.compaction}")
+    public void runScheduledLockCompaction() {
+        execute(LOCK_COMPACTION);
+    }
+
     private void execute(String source) {
         logger.info("[USER SCHEDULER {}] Running task maintenance",  source);
 
-        long start = System.currentTimeMillis();
+        SchedulerMetrics.Run run = schedulerMetrics.start(SCHEDULER);
 
         try {
-            if(source.equals(EVERY_DAY)) {
-                userSchedulerService.deleteDisabledUsersOlderThan180Days();
-                userSchedulerService.deleteUsersWithDeletedAtOlderThan180Days();
-            }else{
-                userSchedulerService.deleteUsersWithPendingVerificationOlderThan72Hours();
+            switch (source) {
+                case EVERY_DAY -> {
+                    userSchedulerService.deleteDisabledUsersOlderThan180Days();
+                    userSchedulerService.deleteUsersWithDeletedAtOlderThan180Days();
+                }
+                case LOCK_COMPACTION -> userSchedulerService.clearExpiredLocks();
+                case PURGE_RESUME -> userSchedulerService.resumeInterruptedPurges();
+                default -> userSchedulerService.deleteUsersWithPendingVerificationOlderThan72Hours();
             }
-            long duration = System.currentTimeMillis() - start;
+            long duration = TimeUnit.NANOSECONDS.toMillis(
+                    schedulerMetrics.recordRun(run, SchedulerMetrics.OUTCOME_SUCCESS));
             logger.info("[USER SCHEDULER {}] User scheduler finished | duration={}ms",source, duration);
 
         } catch (ObjectOptimisticLockingFailureException | OptimisticLockException e) {
+            schedulerMetrics.recordRun(run, SchedulerMetrics.OUTCOME_OPTIMISTIC_LOCK);
+            schedulerMetrics.recordOptimisticLockSkip(SCHEDULER);
             logger.warn("[USER SCHEDULER {}] User skipped due to concurrent | reason=optimistic_lock", source);
         } catch (Exception e){
+            schedulerMetrics.recordRun(run, SchedulerMetrics.OUTCOME_ERROR);
             logger.error("[USER SCHEDULER {}] User scheduler failed due to unexpected error", source, e);
         }
     }
@@ -1,5 +1,6 @@
 package com.vicente.taskmanager.scheduler;
 
+import com.vicente.taskmanager.scheduler.util.SchedulerMetrics;
 import com.vicente.taskmanager.service.VerificationTokenSchedulerService;
 import jakarta.persistence.OptimisticLockException;
 import org.slf4j.Logger;
@@ -8,13 +9,18 @@ import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
+import java.util.concurrent.TimeUnit;
+
 @Component
 public class VerificationTokenScheduler {
     private final VerificationTokenSchedulerService verificationTokenSchedulerService;
+    private final SchedulerMetrics schedulerMetrics;
     private static final Logger logger = LoggerFactory.getLogger(VerificationTokenScheduler.class);
+    private static final String SCHEDULER = "verification_token";
 
-    public VerificationTokenScheduler(VerificationTokenSchedulerService verificationTokenSchedulerService) {
+    public VerificationTokenScheduler(VerificationTokenSchedulerService verificationTokenSchedulerService, SchedulerMetrics schedulerMetrics) {
         this.verificationTokenSchedulerService = verificationTokenSchedulerService;
+        this.schedulerMetrics = schedulerMetrics;
     }
 
     @Scheduled(cron = "${spring.verification.token.scheduling.cron}")
@@ -25,17 +31,21 @@ public class VerificationTokenScheduler {
     private void execute() {
         logger.info("[VERIFICATION TOKEN SCHEDULER] Running task maintenance");
 
-        long start = System.currentTimeMillis();
+        SchedulerMetrics.Run run = schedulerMetrics.start(SCHEDULER);
         try {
             verificationTokenSchedulerService.deleteVerificationTokenTypeEmailExpiredBefore2Days();
             verificationTokenSchedulerService.deleteVerificationTokenTypePasswordExpiredBefore1Days();
 
-            long duration = System.currentTimeMillis() - start;
+            long duration = TimeUnit.NANOSECONDS.toMillis(
+                    schedulerMetrics.recordRun(run, SchedulerMetrics.OUTCOME_SUCCESS));
             logger.info("[VERIFICATION TOKEN SCHEDULER] Verification token maintenance scheduler finished | duration={}ms", duration);
 
         } catch (ObjectOptimisticLockingFailureException | OptimisticLockException e) {
+            schedulerMetrics.recordRun(run, SchedulerMetrics.OUTCOME_OPTIMISTIC_LOCK);
+            schedulerMetrics.recordOptimisticLockSkip(SCHEDULER);
             logger.warn("[VERIFICATION TOKEN SCHEDULER] Verification token skipped due to concurrent update | reason=optimistic_lock");
         } catch (Exception e){
+            schedulerMetrics.recordRun(run, SchedulerMetrics.OUTCOME_ERROR);
             logger.error("[VERIFICATION TOKEN SCHEDULER] Verification token maintenance scheduler failed due to unexpected error", e);
         }
     }
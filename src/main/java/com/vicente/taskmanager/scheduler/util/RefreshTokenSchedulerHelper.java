@@ -8,6 +8,8 @@ import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.OffsetDateTime;
+
 @Component
 public class RefreshTokenSchedulerHelper {
     private final RefreshTokenRepository refreshTokenRepository;
@@ -23,4 +25,16 @@ public class RefreshTokenSchedulerHelper {
         logger.debug("[REFRESH TOKEN SCHEDULER] Executing Delete single refreshToken | refreshTokenId={}", refreshToken.getId());
         refreshTokenRepository.delete(refreshToken);
     }
+
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public int createPartitionsAhead(int weeksAhead) {
+        logger.debug("[REFRESH TOKEN SCHEDULER] Executing create partitions ahead | weeksAhead={}", weeksAhead);
+        return refreshTokenRepository.createPartitionsAhead(weeksAhead);
+    }
+
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public int dropPartitionsExpiredBefore(OffsetDateTime thresholdDate) {
+        logger.debug("[REFRESH TOKEN SCHEDULER] Executing drop expired partitions | threshold={}", thresholdDate);
+        return refreshTokenRepository.dropPartitionsExpiredBefore(thresholdDate);
+    }
 }
@@ -0,0 +1,74 @@
+package com.vicente.taskmanager.scheduler.util;
+
+import com.vicente.taskmanager.monitoring.SqlStatementBudget;
+import com.vicente.taskmanager.monitoring.SqlStatementCounter;
+import com.vicente.taskmanager.monitoring.event.SchedulerRunEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+/**
+ * Metrics shared by the maintenance schedulers: run duration per scheduler and outcome,
+ * rows affected per operation and rows skipped because of an optimistic lock conflict.
+ * Each run is also emitted as a {@link SchedulerRunEvent} JFR event and its SQL statements are
+ * checked against the scheduler's budget.
+ */
+@Component
+public class SchedulerMetrics {
+    public static final String OUTCOME_SUCCESS = "success";
+    public static final String OUTCOME_OPTIMISTIC_LOCK = "optimistic_lock";
+    public static final String OUTCOME_ERROR = "error";
+
+    private final MeterRegistry meterRegistry;
+    private final SqlStatementBudget sqlStatementBudget;
+
+    public SchedulerMetrics(MeterRegistry meterRegistry, SqlStatementBudget sqlStatementBudget) {
+        this.meterRegistry = meterRegistry;
+        this.sqlStatementBudget = sqlStatementBudget;
+    }
+
+    public Run start(String scheduler) {
+        return new Run(scheduler, Timer.start(meterRegistry), SchedulerRunEvent.start(scheduler),
+                SqlStatementCounter.open("scheduler " + scheduler));
+    }
+
+    /**
+     * Stops the run, records it as a timer sample and a JFR event and checks its SQL statement budget.
+     * Returns the measured duration in nanoseconds.
+     */
+    public long recordRun(Run run, String outcome) {
+        run.event().finish(outcome);
+        try (SqlStatementCounter.Scope sqlScope = run.sqlScope()) {
+            sqlStatementBudget.check(sqlScope.stats());
+        }
+        return run.sample().stop(Timer.builder("taskmanager.scheduler.run")
+                .description("Duration of a maintenance scheduler run")
+                .tag("scheduler", run.scheduler())
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry));
+    }
+
+    public void recordRowsAffected(String scheduler, String operation, int rows) {
+        if (rows <= 0) return;
+        Counter.builder("taskmanager.scheduler.rows.affected")
+                .description("Rows updated or deleted by maintenance schedulers")
+                .tag("scheduler", scheduler)
+                .tag("operation", operation)
+                .register(meterRegistry)
+                .increment(rows);
+    }
+
+    public void recordOptimisticLockSkip(String scheduler) {
+        Counter.builder("taskmanager.scheduler.optimistic.lock.skips")
+                .description("Rows or runs skipped due to a concurrent update")
+                .tag("scheduler", scheduler)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    public record Run(String scheduler, Timer.Sample sample, SchedulerRunEvent event,
+                      SqlStatementCounter.Scope sqlScope) {
+    }
+}
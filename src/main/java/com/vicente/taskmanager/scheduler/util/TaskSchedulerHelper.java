@@ -1,34 +1,53 @@
 package com.vicente.taskmanager.scheduler.util;
 
-import com.vicente.taskmanager.domain.entity.Task;
 import com.vicente.taskmanager.domain.enums.TaskStatus;
+import com.vicente.taskmanager.dto.internal.TaskVersion;
 import com.vicente.taskmanager.repository.TaskRepository;
+import com.vicente.taskmanager.service.TaskCacheService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
 @Component
 public class TaskSchedulerHelper {
     private final TaskRepository taskRepository;
+    private final TaskCacheService taskCacheService;
     private final Logger logger = LoggerFactory.getLogger(TaskSchedulerHelper.class);
 
-    public TaskSchedulerHelper(TaskRepository taskRepository) {
+    public TaskSchedulerHelper(TaskRepository taskRepository, TaskCacheService taskCacheService) {
         this.taskRepository = taskRepository;
+        this.taskCacheService = taskCacheService;
     }
 
 
     @Transactional(propagation = Propagation.REQUIRES_NEW)
-    public void deleteSingleTask(String source, Task task) {
-        logger.debug("[{}] Executing Delete single task | taskId={}", source, task.getId());
-        taskRepository.delete(task);
+    public int archiveTaskBatch(String source, TaskStatus status, OffsetDateTime thresholdDate, int batchSize) {
+        logger.debug("[{}] Executing archive task batch | status={} batchSize={}", source, status, batchSize);
+        List<Long> taskIds = taskRepository.archiveBatchByStatusAndUpdatedAtBefore(status.name(), thresholdDate,
+                batchSize);
+        taskCacheService.invalidateDeleted(taskIds);
+        return taskIds.size();
+    }
+
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public int markOverdueBatch(String source, LocalDate today, int batchSize) {
+        logger.debug("[{}] Executing mark overdue task batch | batchSize={}", source, batchSize);
+        List<TaskVersion> versions = taskRepository.markOverdueBatch(today, batchSize);
+        taskCacheService.invalidate(versions.stream()
+                .collect(Collectors.toMap(TaskVersion::getId, TaskVersion::getVersion)));
+        return versions.size();
     }
 
     @Transactional(propagation = Propagation.REQUIRES_NEW)
-    public void saveSingleTask(String source, Task task) {
-        logger.debug("[{}] Executing Save single task | taskId={}", source, task.getId());
-        task.setStatus(TaskStatus.PENDING);
-        taskRepository.save(task);
+    public int deleteChangeBatch(String source, OffsetDateTime thresholdDate, int batchSize) {
+        logger.debug("[{}] Executing delete task change batch | batchSize={}", source, batchSize);
+        return taskRepository.deleteChangesBefore(thresholdDate, batchSize);
     }
 }
@@ -2,27 +2,96 @@ package com.vicente.taskmanager.scheduler.util;
 
 import com.vicente.taskmanager.domain.entity.User;
 import com.vicente.taskmanager.domain.enums.AccountStatus;
+import com.vicente.taskmanager.repository.ArchivedTaskRepository;
+import com.vicente.taskmanager.repository.RefreshTokenRepository;
+import com.vicente.taskmanager.repository.TaskRepository;
 import com.vicente.taskmanager.repository.UserRepository;
+import com.vicente.taskmanager.repository.VerificationTokenRepository;
+import com.vicente.taskmanager.service.TaskCacheService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.OffsetDateTime;
+import java.util.List;
+
 @Component
 public class UserSchedulerHelper {
     private final UserRepository userRepository;
+    private final TaskRepository taskRepository;
+    private final ArchivedTaskRepository archivedTaskRepository;
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final VerificationTokenRepository verificationTokenRepository;
+    private final TaskCacheService taskCacheService;
     private final Logger logger = LoggerFactory.getLogger(UserSchedulerHelper.class);
 
-    public UserSchedulerHelper(UserRepository userRepository) {
+    public UserSchedulerHelper(UserRepository userRepository, TaskRepository taskRepository,
+                               ArchivedTaskRepository archivedTaskRepository,
+                               RefreshTokenRepository refreshTokenRepository,
+                               VerificationTokenRepository verificationTokenRepository,
+                               TaskCacheService taskCacheService) {
         this.userRepository = userRepository;
+        this.taskRepository = taskRepository;
+        this.archivedTaskRepository = archivedTaskRepository;
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.verificationTokenRepository = verificationTokenRepository;
+        this.taskCacheService = taskCacheService;
+    }
+
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public List<Long> claimForPurgeByAccountStatus(AccountStatus status, OffsetDateTime thresholdDate, int limit) {
+        logger.debug("[USER SCHEDULER] Executing claim users for purge | status={} limit={}", status, limit);
+        return userRepository.claimForPurgeByAccountStatus(status.name(), thresholdDate, OffsetDateTime.now(), limit);
+    }
+
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public List<Long> claimPendingVerificationForPurge(OffsetDateTime thresholdDate, int limit) {
+        logger.debug("[USER SCHEDULER] Executing claim pending verification users for purge | limit={}", limit);
+        return userRepository.claimPendingVerificationForPurge(thresholdDate, OffsetDateTime.now(), limit);
+    }
+
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public List<Long> claimForPurgeByDeletedAtBefore(OffsetDateTime thresholdDate, int limit) {
+        logger.debug("[USER SCHEDULER] Executing claim deleted users for purge | limit={}", limit);
+        return userRepository.claimForPurgeByDeletedAtBefore(thresholdDate, OffsetDateTime.now(), limit);
+    }
+
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public List<Long> reclaimStalePurges(OffsetDateTime staleBefore, int limit) {
+        logger.debug("[USER SCHEDULER] Executing reclaim interrupted purges | staleBefore={} limit={}", staleBefore,
+                limit);
+        return userRepository.reclaimStalePurges(staleBefore, OffsetDateTime.now(), limit);
+    }
+
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public int deleteTaskBatch(Long userId, int batchSize) {
+        List<Long> taskIds = taskRepository.deleteBatchByUserId(userId, batchSize);
+        taskCacheService.invalidateDeleted(taskIds);
+        return taskIds.size();
+    }
+
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public int deleteArchivedTaskBatch(Long userId, int batchSize) {
+        return archivedTaskRepository.deleteBatchByUserId(userId, batchSize);
     }
 
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public int deleteRefreshTokenBatch(Long userId, int batchSize) {
+        return refreshTokenRepository.deleteBatchByUserId(userId, batchSize);
+    }
 
+    /*
+     * Último passo do expurgo: tarefas, tarefas arquivadas e refresh tokens já saíram em lotes, então o que sobra
+     * (tokens de verificação e papéis, poucas linhas por usuário) vai junto com o próprio usuário.
+     */
     @Transactional(propagation = Propagation.REQUIRES_NEW)
-    public void deleteSingleUser(User user) {
-        logger.debug("[USER SCHEDULER] Executing Delete single user | userId={}", user.getId());
-        userRepository.delete(user);
+    public boolean deleteClaimedUser(Long userId) {
+        logger.debug("[USER SCHEDULER] Executing delete claimed user | userId={}", userId);
+        verificationTokenRepository.deleteByUserId(userId);
+        userRepository.deleteRolesByUserId(userId);
+        return userRepository.deleteClaimedForPurge(userId) > 0;
     }
 
     @Transactional(propagation = Propagation.REQUIRES_NEW)
@@ -31,4 +100,10 @@ public class UserSchedulerHelper {
         user.setAccountStatus(AccountStatus.ACTIVE);
         userRepository.save(user);
     }
+
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public int clearExpiredLocks(OffsetDateTime now, int batchSize) {
+        logger.debug("[USER SCHEDULER] Executing clear expired locks batch | batchSize={}", batchSize);
+        return userRepository.clearExpiredLocks(now, batchSize);
+    }
 }
@@ -6,6 +6,7 @@ import com.vicente.taskmanager.security.entrypoint.AuthEntryPointJwt;
 import com.vicente.taskmanager.security.entrypoint.CustomAccessDeniedHandler;
 import com.vicente.taskmanager.security.filter.SecurityFilter;
 import com.vicente.taskmanager.security.service.PasswordEncoderImpl;
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.servlet.DispatcherType;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
@@ -64,12 +65,17 @@ public class WebSecurityConfig {
                 })
                 .sessionManagement(session ->
                         session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+                // O dispatch ASYNC (fim de export em streaming, SSE) reaproveita a requisição já autorizada;
+                // o SecurityFilter não roda nele e o contexto é stateless, então seria negado sem autenticação
                 .authorizeHttpRequests(authorize ->
-                        authorize.dispatcherTypeMatchers(DispatcherType.ERROR).permitAll()
+                        authorize.dispatcherTypeMatchers(DispatcherType.ERROR, DispatcherType.ASYNC).permitAll()
                                 .requestMatchers(HttpMethod.POST, "/api/v1/auth/logout")
                                 .authenticated()
                                 .requestMatchers("/api/v1/auth/**").permitAll()
                                 .requestMatchers(SWAGGER).permitAll()
+                                .requestMatchers("/actuator/health").permitAll()
+                                .requestMatchers("/actuator/**")
+                                .hasRole(UserRole.ADMIN.name())
                                 .requestMatchers("/api/v1/users/me")
                                 .authenticated()
                                 .requestMatchers(HttpMethod.DELETE, "/api/v1/users/me/delete")
@@ -98,9 +104,10 @@ public class WebSecurityConfig {
     }
 
     @Bean
-    public PasswordEncoder passwordEncoder(@Value("${auth.password.pepper}") String pepper) {
+    public PasswordEncoder passwordEncoder(@Value("${auth.password.pepper}") String pepper,
+                                           MeterRegistry meterRegistry) {
         return new PasswordEncoderImpl(new Argon2PasswordEncoder(16, 32, 2,
-                65536, 3), pepper);
+                65536, 3), pepper, meterRegistry);
     }
 
     @Bean
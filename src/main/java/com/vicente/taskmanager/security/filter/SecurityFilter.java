@@ -1,6 +1,7 @@
 package com.vicente.taskmanager.security.filter;
 
 import com.vicente.taskmanager.domain.entity.User;
+import com.vicente.taskmanager.monitoring.event.AuthFilterEvent;
 import com.vicente.taskmanager.security.TokenExtractor;
 import com.vicente.taskmanager.security.service.AuthTokenStoreService;
 import com.vicente.taskmanager.security.service.TokenService;
@@ -38,13 +39,20 @@ public class SecurityFilter extends OncePerRequestFilter {
             throws ServletException, IOException {
             String token = TokenExtractor.extractAccessToken(request);
             if (token != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+                AuthFilterEvent parseEvent = AuthFilterEvent.start(AuthFilterEvent.TOKEN_PARSE);
                 Claims claims = tokenService.getClaims(token);
+                parseEvent.finish(claims != null);
                 if (claims != null) {
                     String jti = claims.getId();
-                    if(!authTokenStoreService.isBlacklisted(jti)){
+                    AuthFilterEvent blacklistEvent = AuthFilterEvent.start(AuthFilterEvent.BLACKLIST_CHECK);
+                    boolean blacklisted = authTokenStoreService.isBlacklisted(jti);
+                    blacklistEvent.finish(!blacklisted);
+                    if(!blacklisted){
                         String subject = claims.getSubject();
                         Long tokenVersion = claims.get("tokenVersion", Long.class);
+                        AuthFilterEvent userLoadEvent = AuthFilterEvent.start(AuthFilterEvent.USER_LOAD);
                         User user = (User) userDetailsService.loadUserByUsername(subject);
+                        userLoadEvent.finish(true);
                         if (user.getDeletedAt() == null &&
                             user.isAccountNonLocked() &&
                             user.isEnabled() && tokenVersion.equals(user.getTokenVersion())) {
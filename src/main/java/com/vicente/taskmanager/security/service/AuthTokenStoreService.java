@@ -1,6 +1,8 @@
 package com.vicente.taskmanager.security.service;
 
 import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.redis.core.StringRedisTemplate;
@@ -14,12 +16,18 @@ import java.util.concurrent.TimeUnit;
 public class AuthTokenStoreService {
     private final TokenService tokenService;
     private final StringRedisTemplate stringRedisTemplate;
+    private final Timer blacklistLookupTimer;
     private static final String ACCESS_BLACKLIST_KEY_PREFIX = "auth:jwt:blacklist:";
     private static final Logger logger = LoggerFactory.getLogger(AuthTokenStoreService.class);
 
-    public AuthTokenStoreService(TokenService tokenService, StringRedisTemplate stringRedisTemplate) {
+    public AuthTokenStoreService(TokenService tokenService, StringRedisTemplate stringRedisTemplate,
+                                 MeterRegistry meterRegistry) {
         this.tokenService = tokenService;
         this.stringRedisTemplate = stringRedisTemplate;
+        this.blacklistLookupTimer = Timer.builder("taskmanager.auth.blacklist.lookup")
+                .description("Latency of the Redis access token blacklist lookup")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
     }
 
     public void blacklistToken(String token){
@@ -44,7 +52,7 @@ public class AuthTokenStoreService {
 
     public boolean isBlacklisted(String jti) {
         if(jti == null) return false;
-        return Boolean.TRUE.equals(stringRedisTemplate.hasKey(buildKey(jti)));
+        return Boolean.TRUE.equals(blacklistLookupTimer.record(() -> stringRedisTemplate.hasKey(buildKey(jti))));
     }
 
     private void storeBlacklist(String jti, Date expirationDate) {
@@ -0,0 +1,88 @@
+package com.vicente.taskmanager.security.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.List;
+
+/*
+ * Contador de tentativas de login com falha por usuário, mantido no Redis em vez da linha de tb_users.
+ * Cada senha errada é um INCR atômico com TTL renovado; só quando o limite é atingido o bloqueio
+ * calculado aqui é persistido em lock_until pelo AuthServiceImpl.
+ */
+@Service
+public class LoginAttemptService {
+    private final StringRedisTemplate stringRedisTemplate;
+    private final long baseTimeMinutes;
+    private final int maxAttempts;
+    private final Duration attemptsWindow;
+    private static final long MAX_LOCK_MINUTES = 1440;
+    private static final String FAILED_ATTEMPTS_KEY_PREFIX = "auth:login:failed:";
+    private static final Logger logger = LoggerFactory.getLogger(LoginAttemptService.class);
+
+    // INCR e PEXPIRE no mesmo script: o contador nunca fica sem TTL
+    private static final RedisScript<Long> REGISTER_FAILURE_SCRIPT = new DefaultRedisScript<>("""
+            local attempts = redis.call('INCR', KEYS[1])
+            redis.call('PEXPIRE', KEYS[1], ARGV[1])
+            return attempts
+            """, Long.class);
+
+    public LoginAttemptService(
+            StringRedisTemplate stringRedisTemplate,
+            @Value("${security.base.time.minutes}") long baseTimeMinutes,
+            @Value("${security.lock.max_attempts}") int maxAttempts,
+            @Value("${security.lock.attempts.window.minutes}") long attemptsWindowMinutes
+    ) {
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.baseTimeMinutes = baseTimeMinutes;
+        this.maxAttempts = maxAttempts;
+        this.attemptsWindow = Duration.ofMinutes(attemptsWindowMinutes);
+    }
+
+    /**
+     * Counts one failed login and returns the lock expiration once the limit is reached, or null.
+     */
+    public OffsetDateTime registerFailure(Long userId) {
+        Long attempts;
+        try {
+            attempts = stringRedisTemplate.execute(REGISTER_FAILURE_SCRIPT, List.of(buildKey(userId)),
+                    String.valueOf(attemptsWindow.toMillis()));
+        } catch (DataAccessException e) {
+            logger.warn("Failed login attempt not counted, Redis unavailable | userId={}", userId, e);
+            return null;
+        }
+
+        logger.debug("Failed login attempt registered | userId={} attempts={}", userId, attempts);
+        if (attempts == null || attempts < maxAttempts) {
+            return null;
+        }
+        return calculateLockExpiration(attempts);
+    }
+
+    public void reset(Long userId) {
+        try {
+            stringRedisTemplate.delete(buildKey(userId));
+        } catch (DataAccessException e) {
+            logger.warn("Failed login attempts not reset, Redis unavailable | userId={}", userId, e);
+        }
+    }
+
+    // Backoff exponencial: baseTime * 2^(tentativas além do limite), limitado a MAX_LOCK_MINUTES
+    private OffsetDateTime calculateLockExpiration(long attempts) {
+        long blocks = attempts - maxAttempts;
+        long lockMinutes = (long) Math.min(baseTimeMinutes * Math.pow(2, blocks), MAX_LOCK_MINUTES);
+        return OffsetDateTime.now().plusMinutes(lockMinutes);
+    }
+
+    private String buildKey(Long userId) {
+        return FAILED_ATTEMPTS_KEY_PREFIX + userId;
+    }
+}
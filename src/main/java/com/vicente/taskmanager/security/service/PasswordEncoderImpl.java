@@ -1,23 +1,41 @@
 package com.vicente.taskmanager.security.service;
+import com.vicente.taskmanager.monitoring.event.PasswordHashEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
 public class PasswordEncoderImpl implements PasswordEncoder {
     private final PasswordEncoder passwordEncoder;
     private final String PEPPER;
+    private final Timer encodeTimer;
+    private final Timer matchesTimer;
 
-    public PasswordEncoderImpl(PasswordEncoder passwordEncoder, String pepper) {
+    public PasswordEncoderImpl(PasswordEncoder passwordEncoder, String pepper, MeterRegistry meterRegistry) {
         this.passwordEncoder = passwordEncoder;
         this.PEPPER = pepper;
+        this.encodeTimer = hashTimer("encode", meterRegistry);
+        this.matchesTimer = hashTimer("matches", meterRegistry);
     }
 
     @Override
     public String encode(CharSequence rawPassword) {
-        return passwordEncoder.encode(applyPepper(rawPassword));
+        PasswordHashEvent event = PasswordHashEvent.start(PasswordHashEvent.ENCODE);
+        try {
+            return encodeTimer.record(() -> passwordEncoder.encode(applyPepper(rawPassword)));
+        } finally {
+            event.finish();
+        }
     }
 
     @Override
     public boolean matches(CharSequence rawPassword, String encodedPassword) {
-        return passwordEncoder.matches(applyPepper(rawPassword), encodedPassword);
+        PasswordHashEvent event = PasswordHashEvent.start(PasswordHashEvent.MATCHES);
+        try {
+            return Boolean.TRUE.equals(matchesTimer.record(
+                    () -> passwordEncoder.matches(applyPepper(rawPassword), encodedPassword)));
+        } finally {
+            event.finish();
+        }
     }
 
     @Override
@@ -28,4 +46,12 @@ public class PasswordEncoderImpl implements PasswordEncoder {
     private String applyPepper(CharSequence rawPassword) {
         return rawPassword + PEPPER;
     }
+
+    private static Timer hashTimer(String operation, MeterRegistry meterRegistry) {
+        return Timer.builder("taskmanager.password.hash")
+                .description("Argon2 password hashing latency")
+                .tag("operation", operation)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
 }
@@ -0,0 +1,7 @@
+package com.vicente.taskmanager.service;
+
+import com.vicente.taskmanager.domain.enums.RateLimitRoute;
+
+public interface RateLimitService {
+    void check(RateLimitRoute route, String ipAddress, String email, Long userId);
+}
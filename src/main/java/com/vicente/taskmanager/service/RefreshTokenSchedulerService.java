@@ -1,6 +1,7 @@
 package com.vicente.taskmanager.service;
 
 public interface RefreshTokenSchedulerService {
-    void deleteRefreshTokensExpiredBefore7Days();
+    void createPartitionsAhead();
+    void dropExpiredPartitions();
     void deleteRefreshTokensOfUsersDeletedBefore3Days();
 }
@@ -0,0 +1,15 @@
+package com.vicente.taskmanager.service;
+
+import com.vicente.taskmanager.dto.internal.CachedTask;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+public interface TaskCacheService {
+    Optional<CachedTask> get(Long id, Supplier<Optional<CachedTask>> loader);
+    void invalidate(Long id, Long version);
+    void invalidate(Map<Long, Long> versionsById);
+    void invalidateDeleted(Collection<Long> ids);
+}
@@ -0,0 +1,14 @@
+package com.vicente.taskmanager.service;
+
+import com.vicente.taskmanager.domain.enums.TaskChangeType;
+import com.vicente.taskmanager.dto.response.TaskResponseDTO;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.LocalDate;
+
+public interface TaskEventService {
+    SseEmitter subscribe(Long userId);
+    void publish(Long userId, TaskChangeType type, Long taskId, TaskResponseDTO task);
+    void sendHeartbeats();
+    void publishOverdue(LocalDate dueDate);
+}
@@ -1,7 +1,8 @@
 package com.vicente.taskmanager.service;
 
 public interface TaskSchedulerService {
-    void updateOverdueTasks(String source);
-    void deleteCancelledTasksOlderThan90Days(String source);
-    void deleteDoneTasksOlderThan180Days(String source);
+    void markOverdueTasks(String source);
+    void archiveCancelledTasksOlderThan90Days(String source);
+    void archiveDoneTasksOlderThan180Days(String source);
+    void pruneTaskChanges(String source);
 }
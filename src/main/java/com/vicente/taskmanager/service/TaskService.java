@@ -1,22 +1,48 @@
 package com.vicente.taskmanager.service;
 
+import com.vicente.taskmanager.domain.enums.ExportFormat;
+import com.vicente.taskmanager.domain.enums.TaskStatus;
+import com.vicente.taskmanager.dto.internal.TaskState;
+import com.vicente.taskmanager.dto.internal.TaskVersion;
+import com.vicente.taskmanager.dto.request.TaskBatchCreateRequestDTO;
+import com.vicente.taskmanager.dto.request.TaskBatchRequestDTO;
+import com.vicente.taskmanager.dto.response.ArchivedTaskResponseDTO;
 import com.vicente.taskmanager.dto.response.PageResponseDTO;
 import com.vicente.taskmanager.dto.request.TaskCreateRequestDTO;
+import com.vicente.taskmanager.dto.response.TaskBatchResponseDTO;
+import com.vicente.taskmanager.dto.response.TaskChangePageResponseDTO;
 import com.vicente.taskmanager.dto.response.TaskResponseDTO;
+import com.vicente.taskmanager.dto.response.TaskSearchPageResponseDTO;
 import com.vicente.taskmanager.dto.request.TaskUpdateRequestDTO;
 import com.vicente.taskmanager.domain.entity.User;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.time.LocalDate;
 
 public interface TaskService {
     TaskResponseDTO create(TaskCreateRequestDTO taskCreateRequestDTO, User user);
-    TaskResponseDTO update(Long id, Long userId, TaskUpdateRequestDTO TaskUpdateRequestDTO);
-    TaskResponseDTO done(Long id, Long userId);
-    TaskResponseDTO cancel(Long id, Long userId);
+    TaskResponseDTO update(Long id, Long userId, Long expectedVersion, TaskUpdateRequestDTO TaskUpdateRequestDTO);
+    TaskResponseDTO done(Long id, Long userId, Long expectedVersion);
+    TaskResponseDTO cancel(Long id, Long userId, Long expectedVersion);
     TaskResponseDTO findById(Long id, Long userId);
+    TaskState findState(Long id, Long userId);
+    TaskState findState(Long id);
     PageResponseDTO<TaskResponseDTO> find(String status, LocalDate dueDate, Long userId, Pageable pageable);
+    Slice<TaskVersion> findVersions(String status, LocalDate dueDate, Long userId, Pageable pageable);
+    TaskSearchPageResponseDTO search(String query, String status, LocalDate dueDate, Long userId, String cursor,
+                                     int size);
     TaskResponseDTO findById(Long id);
+    PageResponseDTO<ArchivedTaskResponseDTO> findArchived(Long userId, Pageable pageable);
+    TaskChangePageResponseDTO findChanges(Long userId, String cursor, int size);
     void deleteTask(Long id);
+    TaskBatchResponseDTO createBatch(TaskBatchCreateRequestDTO taskBatchCreateRequestDTO, User user);
+    TaskBatchResponseDTO doneBatch(TaskBatchRequestDTO taskBatchRequestDTO, Long userId);
+    TaskBatchResponseDTO cancelBatch(TaskBatchRequestDTO taskBatchRequestDTO, Long userId);
+    TaskBatchResponseDTO deleteBatch(TaskBatchRequestDTO taskBatchRequestDTO);
+    long export(TaskStatus status, LocalDate dueDate, Long userId, ExportFormat format, OutputStream outputStream)
+            throws IOException;
 
 }
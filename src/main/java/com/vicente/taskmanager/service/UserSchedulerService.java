@@ -4,4 +4,6 @@ public interface UserSchedulerService {
     void deleteDisabledUsersOlderThan180Days();
     void deleteUsersWithDeletedAtOlderThan180Days();
     void deleteUsersWithPendingVerificationOlderThan72Hours();
+    void resumeInterruptedPurges();
+    void clearExpiredLocks();
 }
@@ -7,11 +7,15 @@ import com.vicente.taskmanager.dto.response.*;
 import com.vicente.taskmanager.domain.entity.User;
 import org.springframework.data.domain.Pageable;
 
+import java.util.List;
+
 public interface UserService {
     UserResponseDTO getMe(User user);
     UserAdminResponseDTO findById(Long id);
     UserAdminResponseDTO findByEmail(String email);
     PageResponseDTO<UserAdminResponseDTO> find(UserFilterDTO filter, Pageable pageable);
+    PageResponseDTO<UserAdminResponseDTO> search(String term, Pageable pageable);
+    List<UserResponseDTO> autocomplete(String prefix, int limit);
     UserUpdateResponseDTO update(User authenticatedUser, UserUpdateRequestDTO userUpdateRequestDTO);
     void changePassword(User user, PasswordUpdateRequestDTO passwordUpdateRequestDTO, String currentRefreshToken);
     UserEnabledResponseDTO toggleUserEnabled(Long id);
@@ -12,20 +12,24 @@ import com.vicente.taskmanager.mapper.UserMapper;
 import com.vicente.taskmanager.domain.entity.User;
 import com.vicente.taskmanager.domain.entity.VerificationToken;
 import com.vicente.taskmanager.domain.enums.AccountStatus;
+import com.vicente.taskmanager.domain.enums.RateLimitRoute;
 import com.vicente.taskmanager.domain.enums.TokenType;
 import com.vicente.taskmanager.domain.enums.UserRole;
 import com.vicente.taskmanager.repository.UserRepository;
 import com.vicente.taskmanager.security.service.AuthTokenStoreService;
+import com.vicente.taskmanager.security.service.LoginAttemptService;
 import com.vicente.taskmanager.security.service.TokenService;
 import com.vicente.taskmanager.service.AuthService;
 import com.vicente.taskmanager.service.EmailService;
+import com.vicente.taskmanager.service.RateLimitService;
 import com.vicente.taskmanager.service.RefreshTokenService;
 import com.vicente.taskmanager.service.VerificationTokenService;
+import com.vicente.taskmanager.service.util.AuditLogger;
 import jakarta.persistence.EntityManager;
 import org.jspecify.annotations.NonNull;
+import io.micrometer.core.annotation.Timed;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -33,10 +37,13 @@ import org.springframework.security.core.Authentication;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.OffsetDateTime;
 import java.util.*;
 
 @Service
+@Timed(value = "taskmanager.auth.service", histogram = true)
 public class AuthServiceImpl implements AuthService {
     private final UserRepository userRepository;
     private final VerificationTokenService verificationTokenService;
@@ -47,8 +54,9 @@ public class AuthServiceImpl implements AuthService {
     private final PasswordEncoder passwordEncoder;
     private final EntityManager entityManager;
     private final AuthenticationManager authenticationManager;
-    private final Long BASE_TIME_MINUTES;
-    private final Integer MAX_ATTEMPTS;
+    private final TransactionTemplate transactionTemplate;
+    private final LoginAttemptService loginAttemptService;
+    private final RateLimitService rateLimitService;
 
     private static final Logger logger = LoggerFactory.getLogger(AuthServiceImpl.class);
 
@@ -61,8 +69,9 @@ public class AuthServiceImpl implements AuthService {
             PasswordEncoder passwordEncoder,
             EntityManager entityManager,
             AuthenticationManager authenticationManager,
-            @Value("${security.base.time.minutes}") Long BASE_TIME_MINUTES,
-            @Value("${security.lock.max_attempts}") Integer MAX_ATTEMPTS) {
+            TransactionTemplate transactionTemplate,
+            LoginAttemptService loginAttemptService,
+            RateLimitService rateLimitService) {
         this.userRepository = userRepository;
         this.verificationTokenService = verificationTokenService;
         this.refreshTokenService = refreshTokenService;
@@ -72,70 +81,78 @@ public class AuthServiceImpl implements AuthService {
         this.passwordEncoder = passwordEncoder;
         this.entityManager = entityManager;
         this.authenticationManager = authenticationManager;
-        this.BASE_TIME_MINUTES = BASE_TIME_MINUTES;
-        this.MAX_ATTEMPTS = MAX_ATTEMPTS;
+        this.transactionTemplate = transactionTemplate;
+        this.loginAttemptService = loginAttemptService;
+        this.rateLimitService = rateLimitService;
     }
 
+    /*
+     * register, login and passwordReset are not @Transactional: password hashing runs without holding
+     * a pooled connection and only the writes are wrapped in short TransactionTemplate transactions.
+     */
     @Override
-    @Transactional
     public RegisterUserResponseDTO register(RegisterUserRequestDTO registerUserRequest) {
         logger.info("Starting user registration | email={}", registerUserRequest.email());
 
         String email = registerUserRequest.email().toLowerCase().trim();
+        String encodedPassword = passwordEncoder.encode(registerUserRequest.password());
 
-        Optional<User> optionalUser = userRepository.findByEmail(email);
-        User user = prepareUserForRegistration(registerUserRequest, optionalUser);
+        User user = transactionTemplate.execute(status -> {
+            Optional<User> optionalUser = userRepository.findByEmail(email);
+            User registeredUser = prepareUserForRegistration(registerUserRequest, optionalUser, encodedPassword);
 
-        userRepository.saveAndFlush(user);
-        entityManager.refresh(user);
+            userRepository.saveAndFlush(registeredUser);
+            entityManager.refresh(registeredUser);
 
-        logger.info("User registered successfully | userId={}", user.getId());
+            logger.info("User registered successfully | userId={}", registeredUser.getId());
 
-        VerificationToken verificationToken = verificationTokenService.generateOrReuseActiveToken(
-                user, TokenType.EMAIL_VERIFICATION);
+            VerificationToken verificationToken = verificationTokenService.generateOrReuseActiveToken(
+                    registeredUser, TokenType.EMAIL_VERIFICATION);
 
-        emailService.sendVerificationEmail(email, verificationToken.getToken().toString());
+            emailService.sendVerificationEmail(email, verificationToken.getToken().toString());
+            return registeredUser;
+        });
 
-        return UserMapper.toDTO(user);
+        return UserMapper.toDTO(Objects.requireNonNull(user));
     }
 
     @Override
-    @Transactional(noRollbackFor = { BadCredentialsException.class, AccountLockedException.class })
     public TokenResponseDTO login(LoginRequestDTO loginRequestDTO, String oldRefreshToken) {
         logger.info("Starting user login | email={}", loginRequestDTO.email());
 
         User user = userRepository.findByEmail(loginRequestDTO.email().toLowerCase().trim())
                 .orElseThrow(() -> new BadCredentialsException("Invalid email or password"));
 
+        Authentication authentication;
         try {
-            Authentication authentication = getAuthentication(loginRequestDTO);
+            authentication = getAuthentication(loginRequestDTO);
+        } catch (BadCredentialsException e) {
+            handleFailedLogin(user);
+            throw e;
+        }
 
-            user = (User) authentication.getPrincipal();
-            String accessToken = tokenService.generateToken(Objects.requireNonNull(user));
-            RefreshTokenResult refreshTokenResult = refreshTokenService.create(Objects.requireNonNull(user), oldRefreshToken);
+        User authenticatedUser = Objects.requireNonNull((User) authentication.getPrincipal());
+        String upgradedPassword = passwordEncoder.upgradeEncoding(authenticatedUser.getPassword()) ?
+                passwordEncoder.encode(loginRequestDTO.password()) : null;
+        String accessToken = tokenService.generateToken(authenticatedUser);
+        loginAttemptService.reset(authenticatedUser.getId());
 
-            if (passwordEncoder.upgradeEncoding(user.getPassword())) {
-                user.setPassword(passwordEncoder.encode(loginRequestDTO.password()));
+        RefreshTokenResult refreshTokenResult = transactionTemplate.execute(status -> {
+            User managedUser = getUser(authenticatedUser.getId());
+            if (upgradedPassword != null) {
+                managedUser.setPassword(upgradedPassword);
             }
-
-            user.resetFailedAttempts();
-
-            logger.info("User logged in successfully. | userId={} email={}", user.getId(), user.getEmail());
-
-            return new TokenResponseDTO(accessToken, refreshTokenResult.refreshToken(), refreshTokenResult.fingerprint());
-        } catch (BadCredentialsException e) {
-            handleFailedLogin(Objects.requireNonNull(user));
-
-            if (!user.isAccountNonLocked()) {
-                logger.debug("User account locked | userId={}", user.getId());
-                refreshTokenService.revokeAllTokens(user.getId());
-                user.incrementTokenVersion();
-                userRepository.save(user);
-                throw new AccountLockedException("User account is locked. Try again later.", user.getLockUntil());
+            if (managedUser.getLockUntil() != null) {
+                managedUser.unlock();
             }
+            return refreshTokenService.create(managedUser, oldRefreshToken);
+        });
 
-            throw e;
-        }
+        logger.info("User logged in successfully. | userId={} email={}", authenticatedUser.getId(),
+                authenticatedUser.getEmail());
+
+        return new TokenResponseDTO(accessToken, Objects.requireNonNull(refreshTokenResult).refreshToken(),
+                refreshTokenResult.fingerprint());
     }
 
     @Override
@@ -178,6 +195,7 @@ public class AuthServiceImpl implements AuthService {
 
         verificationTokenService.consumeToken(verificationToken);
 
+        AuditLogger.accountStatusChanged(user.getId(), user.getAccountStatus());
         emailService.sendVerificationEmailSuccessEmail(user.getEmail(), ipAddress);
         logger.info("Email verified successfully | userId={} | email={}", user.getId(), user.getEmail());
     }
@@ -191,32 +209,36 @@ public class AuthServiceImpl implements AuthService {
     }
 
     @Override
-    @Transactional
     public void passwordReset(UUID token, PasswordRequestDTO passwordRequestDTO, String ipAddress) {
-        VerificationToken verificationToken = verificationTokenService.findByToken(token);
+        // Cheap checks first, so an invalid token never costs a hash; they are repeated inside the transaction.
+        validatePasswordResetToken(verificationTokenService.findByToken(token));
 
-        if (verificationToken.getType() != TokenType.PASSWORD_RESET) {
-            logger.debug("Invalid token type for password reset | tokenId={}", verificationToken.getId());
-            throw new VerificationTokenException("Invalid token type");
-        }
+        String encodedPassword = passwordEncoder.encode(passwordRequestDTO.password());
 
-        verificationTokenService.validateTokenForConsumption(verificationToken);
+        User user = transactionTemplate.execute(status -> {
+            VerificationToken verificationToken = verificationTokenService.findByToken(token);
+            validatePasswordResetToken(verificationToken);
 
-        User user = verificationToken.getUser();
+            User tokenUser = verificationToken.getUser();
 
-        validateUserForTokenRequest(TokenType.PASSWORD_RESET, user);
+            validateUserForTokenRequest(TokenType.PASSWORD_RESET, tokenUser);
 
-        user.setPassword(passwordEncoder.encode(passwordRequestDTO.password()));
+            tokenUser.setPassword(encodedPassword);
 
-        user.resetFailedAttempts();
-        user.incrementTokenVersion();
+            tokenUser.unlock();
+            tokenUser.incrementTokenVersion();
 
-        userRepository.saveAndFlush(user);
+            userRepository.saveAndFlush(tokenUser);
 
-        verificationTokenService.consumeToken(verificationToken);
+            verificationTokenService.consumeToken(verificationToken);
 
-        refreshTokenService.revokeAllTokens(user.getId());
+            refreshTokenService.revokeAllTokens(tokenUser.getId());
+            return tokenUser;
+        });
 
+        Objects.requireNonNull(user);
+        loginAttemptService.reset(user.getId());
+        AuditLogger.passwordReset(user.getId(), ipAddress);
         emailService.sendPasswordResetSuccessEmail(user.getEmail(), ipAddress);
         logger.info("Password reset successfully | userId={} | email={}", user.getId(), user.getEmail());
     }
@@ -260,6 +282,9 @@ public class AuthServiceImpl implements AuthService {
 
         User user = oldRefreshToken.getUser();
 
+        // Bucket por usuário só depois de validar token e fingerprint: o IP já foi limitado no controller
+        rateLimitService.check(RateLimitRoute.REFRESH, null, null, user.getId());
+
         String accessToken = tokenService.generateToken(user);
 
         String refreshToken = refreshTokenService.create(user, oldRefreshToken, fingerprint);
@@ -298,11 +323,49 @@ public class AuthServiceImpl implements AuthService {
         }
     }
 
+    private void validatePasswordResetToken(VerificationToken verificationToken) {
+        if (verificationToken.getType() != TokenType.PASSWORD_RESET) {
+            logger.debug("Invalid token type for password reset | tokenId={}", verificationToken.getId());
+            throw new VerificationTokenException("Invalid token type");
+        }
+
+        verificationTokenService.validateTokenForConsumption(verificationToken);
+    }
+
+    /*
+     * A senha errada só incrementa o contador no Redis; a linha do usuário é escrita apenas quando
+     * o limite é atingido e o bloqueio precisa ser persistido.
+     */
     private void handleFailedLogin(User user) {
         logger.debug("Bad credentials | email={}", user.getEmail());
-        if (!user.getRoles().contains(UserRole.ADMIN)) {
-            user.registerFailedLoginAttempt(BASE_TIME_MINUTES, MAX_ATTEMPTS);
+        if (user.getRoles().contains(UserRole.ADMIN)) {
+            return;
+        }
+
+        OffsetDateTime lockUntil = loginAttemptService.registerFailure(user.getId());
+        if (lockUntil == null) {
+            return;
+        }
+
+        // Só a primeira falha acima do limite grava o bloqueio; as concorrentes encontram lock_until ativo
+        Boolean locked = transactionTemplate.execute(status -> {
+            if (userRepository.lockIfNotLocked(user.getId(), lockUntil, OffsetDateTime.now()) == 0) {
+                return false;
+            }
+            refreshTokenService.revokeAllTokens(user.getId());
+            return true;
+        });
+        if (!Boolean.TRUE.equals(locked)) {
+            return;
         }
+
+        logger.debug("User account locked | userId={}", user.getId());
+        AuditLogger.accountLocked(user.getId(), lockUntil);
+        throw new AccountLockedException("User account is locked. Try again later.", lockUntil);
+    }
+
+    private @NonNull User getUser(Long id) {
+        return userRepository.findById(id).orElseThrow(() -> new BadCredentialsException("Invalid email or password"));
     }
 
     private @NonNull Authentication getAuthentication(LoginRequestDTO loginRequestDTO) {
@@ -313,7 +376,7 @@ public class AuthServiceImpl implements AuthService {
     }
 
     private @NonNull User prepareUserForRegistration(RegisterUserRequestDTO registerUserRequest,
-            Optional<User> optionalUser) {
+            Optional<User> optionalUser, String encodedPassword) {
         User user;
         if (optionalUser.isPresent()) {
             user = optionalUser.get();
@@ -326,7 +389,7 @@ public class AuthServiceImpl implements AuthService {
         }
 
         user.setAccountStatus(AccountStatus.PENDING_VERIFICATION);
-        user.setPassword(passwordEncoder.encode(user.getPassword()));
+        user.setPassword(encodedPassword);
         return user;
     }
 
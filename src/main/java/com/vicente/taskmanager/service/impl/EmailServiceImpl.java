@@ -1,5 +1,6 @@
 package com.vicente.taskmanager.service.impl;
 
+import com.vicente.taskmanager.config.AsyncConfig;
 import com.vicente.taskmanager.service.EmailService;
 import jakarta.mail.MessagingException;
 import jakarta.mail.internet.MimeMessage;
@@ -27,7 +28,7 @@ public class EmailServiceImpl implements EmailService {
         this.from = from;
     }
 
-    @Async
+    @Async(AsyncConfig.EMAIL_TASK_EXECUTOR)
     @Override
     public void sendVerificationEmail(String email, String verificationToken) {
         String subject = "Email Verification";
@@ -36,7 +37,7 @@ public class EmailServiceImpl implements EmailService {
         sendActionEmail(email, verificationToken, subject, path, message);
     }
 
-    @Async
+    @Async(AsyncConfig.EMAIL_TASK_EXECUTOR)
     @Override
     public void sendForgotPasswordEmail(String email, String resetToken) {
         String subject = "Password Reset Request";
@@ -45,7 +46,7 @@ public class EmailServiceImpl implements EmailService {
         sendActionEmail(email, resetToken, subject, path, message);
     }
 
-    @Async
+    @Async(AsyncConfig.EMAIL_TASK_EXECUTOR)
     @Override
     public void sendPasswordResetSuccessEmail(String email, String ipAddress) {
         String subject = "Your password has been changed successfully";
@@ -60,7 +61,7 @@ public class EmailServiceImpl implements EmailService {
         sendSecurityNotificationEmail(email, subject, message, ipAddress);
     }
 
-    @Async
+    @Async(AsyncConfig.EMAIL_TASK_EXECUTOR)
     @Override
     public void sendVerificationEmailSuccessEmail(String email, String ipAddress) {
         String subject = "Your Email Has Been Verified – You Can Now Log In";
@@ -76,7 +77,7 @@ public class EmailServiceImpl implements EmailService {
         sendSecurityNotificationEmail(email, subject, message, ipAddress);
     }
 
-    @Async
+    @Async(AsyncConfig.EMAIL_TASK_EXECUTOR)
     @Override
     public void sendSecurityAlert(String email, String ipAddress) {
         String subject = "Security Alert: Suspicious Login Activity Detected";
@@ -0,0 +1,203 @@
+package com.vicente.taskmanager.service.impl;
+
+import com.vicente.taskmanager.domain.enums.RateLimitKeyType;
+import com.vicente.taskmanager.domain.enums.RateLimitRoute;
+import com.vicente.taskmanager.exception.RateLimitExceededException;
+import com.vicente.taskmanager.security.util.CryptoHelper;
+import com.vicente.taskmanager.service.RateLimitService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Service
+public class RateLimitServiceImpl implements RateLimitService {
+    private final StringRedisTemplate stringRedisTemplate;
+    private final boolean enabled;
+    private final int localLeaseSize;
+    private final long localLeaseTtlNanos;
+    private final Map<RateLimitRoute, Map<RateLimitKeyType, Limit>> limits = new EnumMap<>(RateLimitRoute.class);
+    private final ConcurrentHashMap<String, LocalLease> localLeases = new ConcurrentHashMap<>();
+    private static final Logger logger = LoggerFactory.getLogger(RateLimitServiceImpl.class);
+    private static final String KEY_PREFIX = "ratelimit:";
+    private static final int MAX_LOCAL_LEASES = 10_000;
+
+    /*
+     * Token bucket atômico sobre todas as chaves da rota (IP, e-mail, usuário): a request só passa se
+     * todos os buckets tiverem ao menos 1 token, e então consome de todos. O relógio é o TIME do Redis,
+     * igual para todas as instâncias. Quando todos os buckets estão acima da metade da capacidade,
+     * concede até ARGV[1] tokens de uma vez, que a instância usa localmente sem voltar ao Redis.
+     *
+     * KEYS[i]: bucket; ARGV[1]: tokens pedidos; ARGV[2i], ARGV[2i+1]: capacidade e tokens por ms.
+     * Retorno: {tokens concedidos, capacidade do bucket mais restrito, tokens restantes, retry-after em ms}
+     */
+    private static final String TOKEN_BUCKET_SCRIPT_SOURCE = """
+            local time = redis.call('TIME')
+            local now = tonumber(time[1]) * 1000 + math.floor(tonumber(time[2]) / 1000)
+            local lease = tonumber(ARGV[1])
+            local tokens = {}
+            local allowed = true
+            local clearlyUnder = true
+            local retry = 0
+            local limit = 0
+            local remaining = -1
+            for i = 1, #KEYS do
+                local capacity = tonumber(ARGV[i * 2])
+                local rate = tonumber(ARGV[i * 2 + 1])
+                local bucket = redis.call('HMGET', KEYS[i], 'tokens', 'ts')
+                local current = tonumber(bucket[1]) or capacity
+                local ts = tonumber(bucket[2]) or now
+                current = math.min(capacity, current + math.max(0, now - ts) * rate)
+                tokens[i] = current
+                if current < 1 then
+                    allowed = false
+                    retry = math.max(retry, math.ceil((1 - current) / rate))
+                end
+                if current < capacity / 2 then
+                    clearlyUnder = false
+                end
+                if remaining < 0 or current < remaining then
+                    remaining = current
+                    limit = capacity
+                end
+            end
+            local granted = 0
+            if allowed then
+                granted = clearlyUnder and lease or 1
+                for i = 1, #KEYS do
+                    granted = math.min(granted, math.floor(tokens[i]))
+                end
+            end
+            for i = 1, #KEYS do
+                local capacity = tonumber(ARGV[i * 2])
+                local rate = tonumber(ARGV[i * 2 + 1])
+                local left = tokens[i] - granted
+                redis.call('HSET', KEYS[i], 'tokens', tostring(left), 'ts', tostring(now))
+                redis.call('PEXPIRE', KEYS[i], math.ceil((capacity - left) / rate) + 1000)
+            end
+            return {granted, limit, math.floor(remaining - granted), retry}
+            """;
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> TOKEN_BUCKET_SCRIPT =
+            new DefaultRedisScript<>(TOKEN_BUCKET_SCRIPT_SOURCE, List.class);
+
+    public RateLimitServiceImpl(
+            StringRedisTemplate stringRedisTemplate,
+            Environment environment,
+            @Value("${app.rate-limit.enabled}") boolean enabled,
+            @Value("${app.rate-limit.local-lease.size}") int localLeaseSize,
+            @Value("${app.rate-limit.local-lease.ttl.millis}") long localLeaseTtlMillis
+    ) {
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.enabled = enabled;
+        this.localLeaseSize = Math.max(1, localLeaseSize);
+        this.localLeaseTtlNanos = localLeaseTtlMillis * 1_000_000;
+
+        // app.rate-limit.<route>.<ip|email|user>.capacity / .refill-per-minute; sem propriedade, a chave não é limitada
+        for (RateLimitRoute route : RateLimitRoute.values()) {
+            Map<RateLimitKeyType, Limit> routeLimits = new EnumMap<>(RateLimitKeyType.class);
+            for (RateLimitKeyType keyType : RateLimitKeyType.values()) {
+                String prefix = "app.rate-limit." + route.getPropertyName() + "." + keyType.getPropertyName();
+                Integer capacity = environment.getProperty(prefix + ".capacity", Integer.class);
+                Integer refillPerMinute = environment.getProperty(prefix + ".refill-per-minute", Integer.class);
+                if (capacity != null && refillPerMinute != null) {
+                    routeLimits.put(keyType, new Limit(capacity, refillPerMinute / 60_000.0));
+                }
+            }
+            limits.put(route, routeLimits);
+        }
+    }
+
+    @Override
+    public void check(RateLimitRoute route, String ipAddress, String email, Long userId) {
+        if (!enabled) return;
+
+        List<String> keys = new ArrayList<>();
+        List<String> args = new ArrayList<>();
+        args.add(String.valueOf(localLeaseSize));
+        limits.get(route).forEach((keyType, limit) -> {
+            String value = keyValue(keyType, ipAddress, email, userId);
+            if (value != null) {
+                keys.add(KEY_PREFIX + route.getPropertyName() + ":" + keyType.getPropertyName() + ":" + value);
+                args.add(String.valueOf(limit.capacity()));
+                args.add(String.valueOf(limit.tokensPerMilli()));
+            }
+        });
+        if (keys.isEmpty()) return;
+
+        String leaseKey = String.join("|", keys);
+        if (takeLocalToken(leaseKey)) {
+            logger.debug("Rate limit allowed from local lease | route={}", route);
+            return;
+        }
+
+        List<?> result;
+        try {
+            result = stringRedisTemplate.execute(TOKEN_BUCKET_SCRIPT, keys, args.toArray());
+        } catch (DataAccessException e) {
+            // Redis indisponível não pode derrubar login e cadastro: a request segue sem limite
+            logger.warn("Rate limit check skipped, Redis unavailable | route={}", route, e);
+            return;
+        }
+
+        long granted = ((Number) result.get(0)).longValue();
+        if (granted == 0) {
+            long limit = ((Number) result.get(1)).longValue();
+            long retryAfterSeconds = Math.max(1, (((Number) result.get(3)).longValue() + 999) / 1000);
+            logger.debug("Rate limit exceeded | route={} retryAfter={}s", route, retryAfterSeconds);
+            throw new RateLimitExceededException("Too many requests. Try again later.", limit, retryAfterSeconds);
+        }
+
+        if (granted > 1) {
+            storeLocalLease(leaseKey, (int) granted - 1);
+        }
+    }
+
+    private static String keyValue(RateLimitKeyType keyType, String ipAddress, String email, Long userId) {
+        return switch (keyType) {
+            case IP -> ipAddress;
+            // o e-mail não fica em claro nas chaves do Redis
+            case EMAIL -> email != null ? CryptoHelper.hashValue(email.toLowerCase().trim()) : null;
+            case USER -> userId != null ? userId.toString() : null;
+        };
+    }
+
+    private boolean takeLocalToken(String leaseKey) {
+        LocalLease lease = localLeases.get(leaseKey);
+        if (lease == null) return false;
+        if (lease.isExpired() || lease.tokens().decrementAndGet() < 0) {
+            localLeases.remove(leaseKey, lease);
+            return false;
+        }
+        return true;
+    }
+
+    private void storeLocalLease(String leaseKey, int tokens) {
+        if (localLeases.size() >= MAX_LOCAL_LEASES) {
+            localLeases.values().removeIf(LocalLease::isExpired);
+            if (localLeases.size() >= MAX_LOCAL_LEASES) return;
+        }
+        localLeases.put(leaseKey, new LocalLease(new AtomicInteger(tokens), System.nanoTime() + localLeaseTtlNanos));
+    }
+
+    private record Limit(int capacity, double tokensPerMilli) {
+    }
+
+    private record LocalLease(AtomicInteger tokens, long expiresAtNanos) {
+        boolean isExpired() {
+            return System.nanoTime() - expiresAtNanos > 0;
+        }
+    }
+}
@@ -3,10 +3,12 @@ package com.vicente.taskmanager.service.impl;
 import com.vicente.taskmanager.domain.entity.RefreshToken;
 import com.vicente.taskmanager.repository.RefreshTokenRepository;
 import com.vicente.taskmanager.scheduler.util.RefreshTokenSchedulerHelper;
+import com.vicente.taskmanager.scheduler.util.SchedulerMetrics;
 import com.vicente.taskmanager.service.RefreshTokenSchedulerService;
 import jakarta.persistence.OptimisticLockException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -19,23 +21,55 @@ import java.util.concurrent.atomic.AtomicInteger;
 public class RefreshTokenSchedulerServiceImpl implements RefreshTokenSchedulerService {
     private final RefreshTokenRepository refreshTokenRepository;
     private final RefreshTokenSchedulerHelper refreshTokenSchedulerHelper;
+    private final SchedulerMetrics schedulerMetrics;
+    private final long retentionDays;
+    private final int partitionWeeksAhead;
     private static final Logger logger = LoggerFactory.getLogger(RefreshTokenSchedulerServiceImpl.class);
+    private static final String SCHEDULER = "refresh_token";
 
     public RefreshTokenSchedulerServiceImpl(
             RefreshTokenRepository refreshTokenRepository,
-            RefreshTokenSchedulerHelper refreshTokenSchedulerHelper
+            RefreshTokenSchedulerHelper refreshTokenSchedulerHelper,
+            SchedulerMetrics schedulerMetrics,
+            @Value("${security.refresh.token.retention.days}") long retentionDays,
+            @Value("${app.refresh-token.partitions.weeks-ahead}") int partitionWeeksAhead
     ) {
         this.refreshTokenRepository = refreshTokenRepository;
         this.refreshTokenSchedulerHelper = refreshTokenSchedulerHelper;
+        this.schedulerMetrics = schedulerMetrics;
+        this.retentionDays = retentionDays;
+        this.partitionWeeksAhead = partitionWeeksAhead;
     }
 
     @Override
-    @Transactional(readOnly = true)
-    public void deleteRefreshTokensExpiredBefore7Days() {
-        OffsetDateTime thresholdDate = OffsetDateTime.now().minusDays(7);
-        List<RefreshToken> refreshTokens = refreshTokenRepository.findByExpiresAtBefore(thresholdDate);
+    public void createPartitionsAhead() {
+        int created = refreshTokenSchedulerHelper.createPartitionsAhead(partitionWeeksAhead);
 
-        deleteRefreshTokens(refreshTokens,  thresholdDate);
+        schedulerMetrics.recordRowsAffected(SCHEDULER, "create_partition", created);
+        if (created > 0) {
+            logger.info("[REFRESH TOKEN SCHEDULER] Refresh token partitions created | weeksAhead={} count={}",
+                    partitionWeeksAhead, created);
+            return;
+        }
+        logger.debug("[REFRESH TOKEN SCHEDULER] Refresh token partitions already created ahead");
+    }
+
+    /*
+     * Tokens expirados saem da tabela pela partição semanal inteira (DETACH + DROP) assim que a semana
+     * termina antes do início da retenção, em vez de um DELETE por linha.
+     */
+    @Override
+    public void dropExpiredPartitions() {
+        OffsetDateTime thresholdDate = OffsetDateTime.now().minusDays(retentionDays);
+        int dropped = refreshTokenSchedulerHelper.dropPartitionsExpiredBefore(thresholdDate);
+
+        schedulerMetrics.recordRowsAffected(SCHEDULER, "drop_partition", dropped);
+        if (dropped > 0) {
+            logger.info("[REFRESH TOKEN SCHEDULER] Expired refresh token partitions dropped | threshold={} count={}",
+                    thresholdDate, dropped);
+            return;
+        }
+        logger.debug("[REFRESH TOKEN SCHEDULER] No expired refresh token partitions to drop");
     }
 
     @Override
@@ -55,10 +89,12 @@ public class RefreshTokenSchedulerServiceImpl implements RefreshTokenSchedulerSe
                     refreshTokenSchedulerHelper.deleteSingleRefreshToken(refreshToken);
                     count.incrementAndGet();
                 } catch (ObjectOptimisticLockingFailureException | OptimisticLockException e) {
+                    schedulerMetrics.recordOptimisticLockSkip(SCHEDULER);
                     logger.warn("[REFRESH TOKEN SCHEDULER] Refresh token skipped due to optimistic lock" +
                             " | refreshTokenId={}", refreshToken.getId());
                 }
             });
+            schedulerMetrics.recordRowsAffected(SCHEDULER, "delete", count.get());
             if(count.get() > 0) {
                 logger.info("[REFRESH TOKEN SCHEDULER] Refresh tokens deleted | threshold={} count={}", thresholdDate, count.get());
                 return;
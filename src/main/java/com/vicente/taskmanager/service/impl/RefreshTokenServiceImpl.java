@@ -8,6 +8,8 @@ import com.vicente.taskmanager.repository.RefreshTokenRepository;
 import com.vicente.taskmanager.security.util.CryptoHelper;
 import com.vicente.taskmanager.service.EmailService;
 import com.vicente.taskmanager.service.RefreshTokenService;
+import com.vicente.taskmanager.service.util.AuditLogger;
+import io.micrometer.core.annotation.Timed;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
@@ -17,10 +19,12 @@ import java.time.OffsetDateTime;
 import java.util.*;
 
 @Service
+@Timed(value = "taskmanager.refresh.token.service", histogram = true)
 public class RefreshTokenServiceImpl implements RefreshTokenService {
     private final RefreshTokenRepository refreshTokenRepository;
     private final long refreshExpiration;
     private final long refreshTokenGraceWindow;
+    private final long retentionDays;
     private final EmailService emailService;
     private static final Logger logger = LoggerFactory.getLogger(RefreshTokenServiceImpl.class);
 
@@ -28,11 +32,13 @@ public class RefreshTokenServiceImpl implements RefreshTokenService {
             RefreshTokenRepository refreshTokenRepository,
             @Value("${security.refresh.token.expiration.days}") long refreshExpiration,
             @Value("${security.refresh.token.grace.window.seconds}") long refreshTokenGraceWindow,
+            @Value("${security.refresh.token.retention.days}") long retentionDays,
             EmailService emailService
     ) {
         this.refreshTokenRepository = refreshTokenRepository;
         this.refreshExpiration = refreshExpiration;
         this.refreshTokenGraceWindow = refreshTokenGraceWindow;
+        this.retentionDays = retentionDays;
         this.emailService = emailService;
     }
 
@@ -98,7 +104,8 @@ public class RefreshTokenServiceImpl implements RefreshTokenService {
     @Transactional
     public void revokeAllTokens(Long userId) {
         logger.info("Revoking all refresh tokens | userId={}", userId);
-        List<RefreshToken> refreshTokens = refreshTokenRepository.findByUser_IdAndRevokedAtNull(userId);
+        List<RefreshToken> refreshTokens = refreshTokenRepository.findByUser_IdAndRevokedAtNullAndExpiresAtAfter(
+                userId, OffsetDateTime.now());
 
         if (refreshTokens.isEmpty())
             return;
@@ -113,7 +120,8 @@ public class RefreshTokenServiceImpl implements RefreshTokenService {
     @Transactional
     public void revokeAllTokensExceptCurrentToken(Long userId, String currentRefreshToken) {
         logger.info("Revoking all refresh tokens current refresh token | userId={}", userId);
-        List<RefreshToken> refreshTokens = refreshTokenRepository.findByUser_IdAndRevokedAtNull(userId);
+        List<RefreshToken> refreshTokens = refreshTokenRepository.findByUser_IdAndRevokedAtNullAndExpiresAtAfter(
+                userId, OffsetDateTime.now());
 
         if (refreshTokens.isEmpty())
             return;
@@ -148,11 +156,13 @@ public class RefreshTokenServiceImpl implements RefreshTokenService {
 
             User user = oldRefreshToken.getUser();
 
+            AuditLogger.refreshTokenReuseDetected(user.getId(), oldRefreshToken.getId(), ipAddress);
+
             revokeFamilyTokens(user.getId(), oldRefreshToken.getTokenFamilyId());
 
             user.incrementTokenVersion();
 
-            refreshTokenRepository.markReuseDetected(oldRefreshToken.getId());
+            refreshTokenRepository.markReuseDetected(oldRefreshToken.getId(), oldRefreshToken.getExpiresAt());
 
             emailService.sendSecurityAlert(user.getEmail(), ipAddress);
         }
@@ -161,8 +171,8 @@ public class RefreshTokenServiceImpl implements RefreshTokenService {
     @Override
     @Transactional
     public RefreshToken findByTokenForUpdate(String token) {
-        return refreshTokenRepository.findByTokenForUpdate(CryptoHelper.hashValue(token)).orElseThrow(
-                () -> {
+        return refreshTokenRepository.findByTokenForUpdate(CryptoHelper.hashValue(token), retentionStart())
+                .orElseThrow(() -> {
                     logger.debug("Invalid refresh token");
                     return new RefreshTokenException("Refresh token invalid!");
                 });
@@ -175,13 +185,22 @@ public class RefreshTokenServiceImpl implements RefreshTokenService {
     }
 
     private RefreshToken findByToken(String token) {
-        return refreshTokenRepository.findByToken(CryptoHelper.hashValue(token)).orElseThrow(
-                () -> {
+        return refreshTokenRepository.findByTokenAndExpiresAtAfter(CryptoHelper.hashValue(token), retentionStart())
+                .orElseThrow(() -> {
                     logger.debug("Invalid refresh token | tokenPrefix={}", tokenPrefix(token));
                     return new RefreshTokenException("Refresh token invalid!");
                 });
     }
 
+    /*
+     * Tokens expirados continuam na tabela até a partição da semana deles ser removida (retenção), e
+     * ainda precisam ser encontrados para acusar reuso ou expiração. Limitar a busca ao início da
+     * retenção faz o Postgres podar as partições mais antigas.
+     */
+    private OffsetDateTime retentionStart() {
+        return OffsetDateTime.now().minusDays(retentionDays);
+    }
+
     private String tokenPrefix(String token) {
         return (token != null) ? token.substring(0, 8) : null;
     }
@@ -206,7 +225,7 @@ public class RefreshTokenServiceImpl implements RefreshTokenService {
         RefreshToken refreshToken = new RefreshToken(CryptoHelper.hashValue(token), tokenFamilyId,
                 CryptoHelper.hashValue(fingerprint), expiresAt, user);
 
-        refreshTokenRepository.saveAndFlush(refreshToken);
+        refreshTokenRepository.save(refreshToken);
         logger.info("Refresh token created successfully | tokenId={} | userId={} | expiresAt={}",
                 refreshToken.getId(), user.getId(), expiresAt);
         return token;
@@ -216,13 +235,13 @@ public class RefreshTokenServiceImpl implements RefreshTokenService {
         if (oldRefreshToken == null)
             return;
 
-        Optional<RefreshToken> optionalOldRefreshToken = refreshTokenRepository.findByToken(
-                CryptoHelper.hashValue(oldRefreshToken));
+        Optional<RefreshToken> optionalOldRefreshToken = refreshTokenRepository.findByTokenAndExpiresAtAfter(
+                CryptoHelper.hashValue(oldRefreshToken), OffsetDateTime.now());
 
         optionalOldRefreshToken.ifPresent(refreshToken -> {
             if (refreshToken.getUser().getId().equals(userId)) {
                 refreshToken.setRevokedAt(OffsetDateTime.now());
-                refreshTokenRepository.saveAndFlush(refreshToken);
+                refreshTokenRepository.save(refreshToken);
                 logger.debug("Previous refresh token revoked | tokenId={} | userId={}",
                         refreshToken.getId(), userId);
             }
@@ -231,7 +250,8 @@ public class RefreshTokenServiceImpl implements RefreshTokenService {
 
     private void revokeFamilyTokens(Long userId, UUID tokenFamilyId) {
         logger.info("Revoking family tokens | userId={} tokenFamilyId={}", userId, tokenFamilyId);
-        List<RefreshToken> refreshTokens = refreshTokenRepository.findByUser_IdAndTokenFamilyId(userId, tokenFamilyId);
+        List<RefreshToken> refreshTokens = refreshTokenRepository.findByUser_IdAndTokenFamilyIdAndExpiresAtAfter(
+                userId, tokenFamilyId, OffsetDateTime.now());
 
         if (refreshTokens.isEmpty())
             return;
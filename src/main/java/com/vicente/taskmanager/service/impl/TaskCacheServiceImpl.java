@@ -0,0 +1,295 @@
+package com.vicente.taskmanager.service.impl;
+
+import com.vicente.taskmanager.dto.internal.CachedTask;
+import com.vicente.taskmanager.service.TaskCacheService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.connection.ReturnType;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Read-through cache for single task lookups: an in-memory near cache in front of Redis.
+ * <p>
+ * Redis holds a version pointer per task ({@code task:cache:{id}}) and the serialized task
+ * under a key stamped with that version ({@code task:cache:{id}:v{version}}). Writers raise
+ * the pointer after commit, so older payloads become unreachable and expire on their own.
+ * The pointer only moves forward, which keeps a reader that loaded an older row from
+ * publishing it over a newer write.
+ * <p>
+ * Near cache entries are served without touching Redis until their short TTL runs out. Freshness
+ * comes from the invalidation path: after raising the pointers, writers broadcast the ids on a
+ * Redis channel and every instance drops its near entries. A broadcast lost while Redis is
+ * unavailable leaves an entry stale for at most {@code task.cache.near.ttl.seconds}. A lookup
+ * that read Redis before an invalidation arrived does not fill the near cache (see
+ * {@link #invalidationEpochs}). Lookups, their latency and errors are published on Micrometer.
+ */
+@Service
+public class TaskCacheServiceImpl implements TaskCacheService, MessageListener {
+    private static final String KEY_PREFIX = "task:cache:";
+    private static final String INVALIDATION_CHANNEL = "task:cache:invalidations";
+    private static final String DELETED = "deleted";
+    // KEYS[1] = pointer, KEYS[2] = payload (optional); ARGV = version or 'deleted', ttl in ms, payload
+    private static final String STORE_SCRIPT_SOURCE = """
+            local current = redis.call('GET', KEYS[1])
+            if current == 'deleted' then
+                return 0
+            end
+            if ARGV[1] ~= 'deleted' and current and tonumber(current) > tonumber(ARGV[1]) then
+                return 0
+            end
+            redis.call('SET', KEYS[1], ARGV[1], 'PX', ARGV[2])
+            if #KEYS > 1 then
+                redis.call('SET', KEYS[2], ARGV[3], 'PX', ARGV[2])
+            end
+            return 1
+            """;
+    private static final RedisScript<Long> STORE_SCRIPT = new DefaultRedisScript<>(STORE_SCRIPT_SOURCE, Long.class);
+    private static final byte[] STORE_SCRIPT_BYTES = STORE_SCRIPT_SOURCE.getBytes(StandardCharsets.UTF_8);
+    private static final int EPOCH_STRIPES = 64;
+    private static final Logger logger = LoggerFactory.getLogger(TaskCacheServiceImpl.class);
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final JsonMapper jsonMapper;
+    private final String ttlMillis;
+    private final long nearTtlNanos;
+    private final int nearMaxSize;
+    private final Map<Long, NearEntry> nearCache = new ConcurrentHashMap<>();
+    // Contador de invalidações por faixa de ids: uma leitura só entra no near cache se a faixa não mudou
+    private final AtomicLongArray invalidationEpochs = new AtomicLongArray(EPOCH_STRIPES);
+
+    private final Timer nearHits;
+    private final Timer redisHits;
+    private final Timer misses;
+    private final Counter errors;
+
+    public TaskCacheServiceImpl(
+            StringRedisTemplate stringRedisTemplate,
+            JsonMapper jsonMapper,
+            RedisMessageListenerContainer redisMessageListenerContainer,
+            MeterRegistry meterRegistry,
+            @Value("${task.cache.ttl.seconds}") long ttlSeconds,
+            @Value("${task.cache.near.ttl.seconds}") long nearTtlSeconds,
+            @Value("${task.cache.near.max-size}") int nearMaxSize) {
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.jsonMapper = jsonMapper;
+        this.ttlMillis = String.valueOf(Duration.ofSeconds(ttlSeconds).toMillis());
+        this.nearTtlNanos = Duration.ofSeconds(nearTtlSeconds).toNanos();
+        this.nearMaxSize = nearMaxSize;
+
+        redisMessageListenerContainer.addMessageListener(this, new ChannelTopic(INVALIDATION_CHANNEL));
+
+        this.nearHits = lookupTimer(meterRegistry, "near_hit");
+        this.redisHits = lookupTimer(meterRegistry, "redis_hit");
+        this.misses = lookupTimer(meterRegistry, "miss");
+        this.errors = Counter.builder("taskmanager.task.cache.errors")
+                .description("Task cache operations that failed and fell back to the database")
+                .register(meterRegistry);
+        Gauge.builder("taskmanager.task.cache.near.size", nearCache, Map::size)
+                .description("Entries in this instance's near cache")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Optional<CachedTask> get(Long id, Supplier<Optional<CachedTask>> loader) {
+        long start = System.nanoTime();
+        NearEntry near = nearCache.get(id);
+        if (near != null && near.expiresAt() - start > 0) {
+            nearHits.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return Optional.of(near.task());
+        }
+        long epoch = invalidationEpochs.get(stripe(id));
+
+        String pointer;
+        try {
+            pointer = stringRedisTemplate.opsForValue().get(pointerKey(id));
+        } catch (DataAccessException e) {
+            errors.increment();
+            logger.warn("Task cache unavailable, reading from database | taskId={} error={}", id, e.getMessage());
+            return loader.get();
+        }
+
+        if (pointer != null && !DELETED.equals(pointer)) {
+            long version = Long.parseLong(pointer);
+            CachedTask cached = readPayload(id, version);
+            if (cached != null) {
+                putNear(id, cached, epoch);
+                redisHits.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                return Optional.of(cached);
+            }
+        }
+
+        Optional<CachedTask> loaded = loader.get();
+        loaded.ifPresent(cached -> store(cached, epoch));
+        misses.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        return loaded;
+    }
+
+    @Override
+    public void invalidate(Long id, Long version) {
+        afterCommit(() -> raisePointers(Map.of(id, String.valueOf(version))));
+    }
+
+    @Override
+    public void invalidate(Map<Long, Long> versionsById) {
+        if (versionsById.isEmpty()) return;
+        Map<Long, String> pointers = new HashMap<>();
+        versionsById.forEach((id, version) -> pointers.put(id, String.valueOf(version)));
+        afterCommit(() -> raisePointers(pointers));
+    }
+
+    @Override
+    public void invalidateDeleted(Collection<Long> ids) {
+        if (ids.isEmpty()) return;
+        Map<Long, String> pointers = new HashMap<>();
+        ids.forEach(id -> pointers.put(id, DELETED));
+        afterCommit(() -> raisePointers(pointers));
+    }
+
+    // Ids invalidados em qualquer instância (inclusive nesta), separados por vírgula
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String ids = new String(message.getBody(), StandardCharsets.UTF_8);
+        for (String id : ids.split(",")) {
+            try {
+                evictNear(Long.valueOf(id));
+            } catch (NumberFormatException e) {
+                logger.warn("Invalid task cache invalidation ignored | id={}", id);
+            }
+        }
+    }
+
+    private CachedTask readPayload(Long id, long version) {
+        try {
+            String payload = stringRedisTemplate.opsForValue().get(payloadKey(id, version));
+            return payload != null ? jsonMapper.readValue(payload, CachedTask.class) : null;
+        } catch (DataAccessException | JacksonException e) {
+            errors.increment();
+            logger.warn("Failed to read cached task | taskId={} version={} error={}", id, version, e.getMessage());
+            return null;
+        }
+    }
+
+    private void store(CachedTask cached, long epoch) {
+        Long id = cached.task().id();
+        try {
+            String payload = jsonMapper.writeValueAsString(cached);
+            Long stored = stringRedisTemplate.execute(STORE_SCRIPT,
+                    List.of(pointerKey(id), payloadKey(id, cached.version())),
+                    String.valueOf(cached.version()), ttlMillis, payload);
+            if (Long.valueOf(1).equals(stored)) {
+                putNear(id, cached, epoch);
+            }
+        } catch (DataAccessException | JacksonException e) {
+            errors.increment();
+            logger.warn("Failed to cache task | taskId={} error={}", id, e.getMessage());
+        }
+    }
+
+    private void raisePointers(Map<Long, String> pointers) {
+        pointers.keySet().forEach(this::evictNear);
+        try {
+            byte[] ttl = ttlMillis.getBytes(StandardCharsets.UTF_8);
+            stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                pointers.forEach((id, version) -> connection.scriptingCommands().eval(STORE_SCRIPT_BYTES,
+                        ReturnType.INTEGER, 1, pointerKey(id).getBytes(StandardCharsets.UTF_8),
+                        version.getBytes(StandardCharsets.UTF_8), ttl));
+                return null;
+            });
+            stringRedisTemplate.convertAndSend(INVALIDATION_CHANNEL, pointers.keySet().stream()
+                    .map(String::valueOf)
+                    .collect(Collectors.joining(",")));
+            logger.debug("Task cache invalidated | count={}", pointers.size());
+        } catch (DataAccessException e) {
+            // Entries left behind expire with the TTL, near entries on other instances with the near TTL.
+            errors.increment();
+            logger.warn("Failed to invalidate task cache | count={} error={}", pointers.size(), e.getMessage());
+        }
+    }
+
+    private void evictNear(Long id) {
+        invalidationEpochs.incrementAndGet(stripe(id));
+        nearCache.remove(id);
+    }
+
+    /*
+     * epoch é o valor da faixa lido antes de consultar o Redis: se uma invalidação chegou depois, o que foi
+     * lido pode ser anterior a ela e não entra. A segunda verificação cobre a invalidação entre a comparação
+     * e o put.
+     */
+    private void putNear(Long id, CachedTask cached, long epoch) {
+        int stripe = stripe(id);
+        if (invalidationEpochs.get(stripe) != epoch) return;
+        if (nearCache.size() >= nearMaxSize && !nearCache.containsKey(id)) {
+            long now = System.nanoTime();
+            nearCache.values().removeIf(entry -> entry.expiresAt() - now <= 0);
+            if (nearCache.size() >= nearMaxSize) return;
+        }
+        NearEntry entry = new NearEntry(cached, System.nanoTime() + nearTtlNanos);
+        nearCache.put(id, entry);
+        if (invalidationEpochs.get(stripe) != epoch) {
+            nearCache.remove(id, entry);
+        }
+    }
+
+    private static int stripe(Long id) {
+        return (int) (id & (EPOCH_STRIPES - 1));
+    }
+
+    private static Timer lookupTimer(MeterRegistry meterRegistry, String result) {
+        return Timer.builder("taskmanager.task.cache.lookup")
+                .description("Task cache lookups by where the task was found")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+            return;
+        }
+        action.run();
+    }
+
+    private static String pointerKey(Long id) {
+        return KEY_PREFIX + id;
+    }
+
+    private static String payloadKey(Long id, long version) {
+        return KEY_PREFIX + id + ":v" + version;
+    }
+
+    private record NearEntry(CachedTask task, long expiresAt) {
+    }
+}
@@ -0,0 +1,282 @@
+package com.vicente.taskmanager.service.impl;
+
+import com.vicente.taskmanager.domain.enums.TaskChangeType;
+import com.vicente.taskmanager.domain.enums.TaskStatus;
+import com.vicente.taskmanager.dto.internal.TaskEventMessage;
+import com.vicente.taskmanager.dto.internal.TaskOverdue;
+import com.vicente.taskmanager.dto.response.TaskEventResponseDTO;
+import com.vicente.taskmanager.dto.response.TaskResponseDTO;
+import com.vicente.taskmanager.mapper.TaskMapper;
+import com.vicente.taskmanager.repository.TaskRepository;
+import com.vicente.taskmanager.service.TaskEventService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/*
+ * Eventos SSE: cada alteração vai para um canal Redis após o commit e cada instância repassa às conexões
+ * locais do usuário. Cada conexão tem fila limitada drenada por uma virtual thread; cliente lento é
+ * desconectado. Vencidas são enviadas só localmente, sem Redis, para não duplicar eventos.
+ */
+@Service
+public class TaskEventServiceImpl implements TaskEventService, MessageListener {
+    private static final String CHANNEL = "task:events";
+    private static final int OVERDUE_USER_BATCH_SIZE = 1000;
+    private static final PendingEvent HEARTBEAT = new PendingEvent(null, null);
+    private static final Logger logger = LoggerFactory.getLogger(TaskEventServiceImpl.class);
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final TaskRepository taskRepository;
+    private final JsonMapper jsonMapper;
+    private final long timeoutMillis;
+    private final int maxQueued;
+    private final int maxConnectionsPerUser;
+    private final Map<Long, Set<Connection>> connections = new ConcurrentHashMap<>();
+    private final AtomicInteger connectionCount = new AtomicInteger();
+    private final ExecutorService sender = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("task-events-", 0).factory());
+    private final Counter droppedConnections;
+
+    public TaskEventServiceImpl(
+            StringRedisTemplate stringRedisTemplate,
+            TaskRepository taskRepository,
+            JsonMapper jsonMapper,
+            RedisMessageListenerContainer redisMessageListenerContainer,
+            MeterRegistry meterRegistry,
+            @Value("${app.task.events.timeout.millis}") long timeoutMillis,
+            @Value("${app.task.events.max-queued}") int maxQueued,
+            @Value("${app.task.events.max-connections-per-user}") int maxConnectionsPerUser) {
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.taskRepository = taskRepository;
+        this.jsonMapper = jsonMapper;
+        this.timeoutMillis = timeoutMillis;
+        this.maxQueued = maxQueued;
+        this.maxConnectionsPerUser = maxConnectionsPerUser;
+
+        redisMessageListenerContainer.addMessageListener(this, new ChannelTopic(CHANNEL));
+
+        Gauge.builder("taskmanager.task.events.connections", connectionCount, AtomicInteger::get)
+                .description("Open task event streams on this instance")
+                .register(meterRegistry);
+        this.droppedConnections = Counter.builder("taskmanager.task.events.dropped")
+                .description("Task event streams closed because the client fell behind")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public SseEmitter subscribe(Long userId) {
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        Connection connection = new Connection(userId, emitter);
+
+        emitter.onCompletion(connection::remove);
+        emitter.onTimeout(connection::remove);
+        emitter.onError(_ -> connection.remove());
+
+        Set<Connection> userConnections = connections.compute(userId, (_, current) -> {
+            Set<Connection> set = current != null ? current : ConcurrentHashMap.newKeySet();
+            set.add(connection);
+            return set;
+        });
+        connectionCount.incrementAndGet();
+
+        // Acima do limite por usuário, a conexão mais antiga é fechada
+        if (userConnections.size() > maxConnectionsPerUser) {
+            userConnections.stream()
+                    .min(Comparator.comparingLong(Connection::openedAt))
+                    .ifPresent(Connection::close);
+        }
+
+        connection.enqueue(HEARTBEAT);
+        logger.debug("Task event stream opened | userId={} connections={}", userId, connectionCount.get());
+        return emitter;
+    }
+
+    @Override
+    public void publish(Long userId, TaskChangeType type, Long taskId, TaskResponseDTO task) {
+        TaskEventMessage message = new TaskEventMessage(userId, new TaskEventResponseDTO(taskId, type, task));
+        afterCommit(() -> {
+            try {
+                stringRedisTemplate.convertAndSend(CHANNEL, jsonMapper.writeValueAsString(message));
+            } catch (DataAccessException | JacksonException e) {
+                // Melhor esforço: o cliente recupera a alteração pelo feed de mudanças
+                logger.warn("Task event not published | userId={} taskId={} error={}", userId, taskId,
+                        e.getMessage());
+            }
+        });
+    }
+
+    @Override
+    public void sendHeartbeats() {
+        connections.values().forEach(userConnections -> userConnections.forEach(c -> c.enqueue(HEARTBEAT)));
+    }
+
+    // Só leitura: PENDING já é derivado da data de vencimento
+    @Override
+    public void publishOverdue(LocalDate dueDate) {
+        List<Long> userIds = new ArrayList<>(connections.keySet());
+        int published = 0;
+        for (int from = 0; from < userIds.size(); from += OVERDUE_USER_BATCH_SIZE) {
+            List<Long> batch = userIds.subList(from, Math.min(from + OVERDUE_USER_BATCH_SIZE, userIds.size()));
+            for (TaskOverdue task : taskRepository.findOverdueByUserIdInAndStatusAndDueDate(batch,
+                    TaskStatus.IN_PROGRESS, dueDate)) {
+                deliver(task.getUserId(), new TaskEventResponseDTO(task.getId(), TaskChangeType.STATUS_CHANGED,
+                        TaskMapper.toOverdueDTO(task)));
+                published++;
+            }
+        }
+        logger.debug("Overdue task events pushed | dueDate={} users={} events={}", dueDate, userIds.size(),
+                published);
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        TaskEventMessage eventMessage;
+        try {
+            eventMessage = jsonMapper.readValue(message.getBody(), TaskEventMessage.class);
+        } catch (JacksonException e) {
+            logger.warn("Invalid task event message ignored | error={}", e.getMessage());
+            return;
+        }
+        deliver(eventMessage.userId(), eventMessage.event());
+    }
+
+    private void deliver(Long userId, TaskEventResponseDTO event) {
+        Set<Connection> userConnections = connections.get(userId);
+        if (userConnections == null) return;
+
+        String data;
+        try {
+            data = jsonMapper.writeValueAsString(event);
+        } catch (JacksonException e) {
+            logger.warn("Task event not delivered | userId={} taskId={} error={}", userId, event.taskId(),
+                    e.getMessage());
+            return;
+        }
+        PendingEvent pending = new PendingEvent(event.type().name(), data);
+        userConnections.forEach(connection -> connection.enqueue(pending));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        connections.values().forEach(userConnections -> userConnections.forEach(Connection::close));
+        sender.shutdown();
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+            return;
+        }
+        action.run();
+    }
+
+    // name == null é um heartbeat (comentário SSE), que também detecta conexões mortas
+    private record PendingEvent(String name, String data) {
+    }
+
+    private final class Connection {
+        private final Long userId;
+        private final SseEmitter emitter;
+        private final long openedAt = System.nanoTime();
+        private final Queue<PendingEvent> queue = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger queued = new AtomicInteger();
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private final AtomicBoolean closed = new AtomicBoolean();
+
+        private Connection(Long userId, SseEmitter emitter) {
+            this.userId = userId;
+            this.emitter = emitter;
+        }
+
+        private long openedAt() {
+            return openedAt;
+        }
+
+        private void enqueue(PendingEvent event) {
+            if (closed.get()) return;
+            if (queued.incrementAndGet() > maxQueued) {
+                droppedConnections.increment();
+                logger.debug("Task event stream dropped, client too slow | userId={}", userId);
+                close();
+                return;
+            }
+            queue.offer(event);
+            if (draining.compareAndSet(false, true)) {
+                sender.execute(this::drain);
+            }
+        }
+
+        // Um único drenador por conexão: os envios ao mesmo emitter nunca são concorrentes
+        private void drain() {
+            do {
+                PendingEvent event;
+                while ((event = queue.poll()) != null) {
+                    queued.decrementAndGet();
+                    try {
+                        emitter.send(event.name() == null ?
+                                SseEmitter.event().comment("heartbeat") :
+                                SseEmitter.event().name(event.name()).data(event.data()));
+                    } catch (IOException | IllegalStateException e) {
+                        remove();
+                        return;
+                    }
+                }
+                draining.set(false);
+            } while (!queue.isEmpty() && draining.compareAndSet(false, true));
+        }
+
+        // complete() espera um send em andamento, então roda no executor e não na thread do chamador
+        private void close() {
+            if (remove()) {
+                sender.execute(emitter::complete);
+            }
+        }
+
+        private boolean remove() {
+            if (!closed.compareAndSet(false, true)) return false;
+            connections.computeIfPresent(userId, (_, set) -> {
+                set.remove(this);
+                return set.isEmpty() ? null : set;
+            });
+            connectionCount.decrementAndGet();
+            queue.clear();
+            return true;
+        }
+    }
+}
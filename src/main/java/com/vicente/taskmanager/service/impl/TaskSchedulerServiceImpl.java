@@ -1,98 +1,123 @@
 package com.vicente.taskmanager.service.impl;
 
-import com.vicente.taskmanager.domain.entity.Task;
 import com.vicente.taskmanager.domain.enums.TaskStatus;
-import com.vicente.taskmanager.repository.TaskRepository;
 import com.vicente.taskmanager.scheduler.util.TaskSchedulerHelper;
+import com.vicente.taskmanager.scheduler.util.SchedulerMetrics;
 import com.vicente.taskmanager.service.TaskSchedulerService;
-import jakarta.persistence.OptimisticLockException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.time.OffsetDateTime;
-import java.util.List;
-import java.util.concurrent.atomic.AtomicInteger;
 
 @Service
 public class TaskSchedulerServiceImpl implements TaskSchedulerService {
 
-    private final TaskRepository taskRepository;
     private final TaskSchedulerHelper taskSchedulerHelper;
+    private final SchedulerMetrics schedulerMetrics;
+    private final int archiveBatchSize;
+    private final long changeRetentionDays;
+    private final int changePruneBatchSize;
+    private final boolean persistOverdue;
+    private final int overdueBatchSize;
     private static final Logger logger = LoggerFactory.getLogger(TaskSchedulerServiceImpl.class);
+    private static final String SCHEDULER = "task";
 
-    public TaskSchedulerServiceImpl(TaskRepository taskRepository, TaskSchedulerHelper taskSchedulerHelper) {
-        this.taskRepository = taskRepository;
+    public TaskSchedulerServiceImpl(TaskSchedulerHelper taskSchedulerHelper, SchedulerMetrics schedulerMetrics,
+                                    @Value("${app.task.archive.batch-size}") int archiveBatchSize,
+                                    @Value("${app.task.changes.retention.days}") long changeRetentionDays,
+                                    @Value("${app.task.changes.prune.batch-size}") int changePruneBatchSize,
+                                    @Value("${app.task.status.persist-overdue}") boolean persistOverdue,
+                                    @Value("${app.task.status.overdue.batch-size}") int overdueBatchSize) {
         this.taskSchedulerHelper = taskSchedulerHelper;
+        this.schedulerMetrics = schedulerMetrics;
+        this.archiveBatchSize = archiveBatchSize;
+        this.changeRetentionDays = changeRetentionDays;
+        this.changePruneBatchSize = changePruneBatchSize;
+        this.persistOverdue = persistOverdue;
+        this.overdueBatchSize = overdueBatchSize;
     }
 
+    /*
+     * Modo gravado: além de derivado na leitura, PENDING também é escrito na linha, o que gera versão nova,
+     * invalidação de cache e entrada no feed de mudanças. Desligado por padrão; em lotes, cada um na sua
+     * transação, para não voltar ao pico de escrita de um único UPDATE à meia-noite.
+     */
     @Override
-    @Transactional(readOnly = true)
-    public void updateOverdueTasks(String source){
+    public void markOverdueTasks(String source) {
+        if (!persistOverdue) {
+            return;
+        }
         LocalDate today = LocalDate.now();
-        List<Task> overdueTasks = taskRepository.findByStatusAndDueDateBefore(TaskStatus.IN_PROGRESS, today);
+        int total = 0;
+        int marked;
+        do {
+            marked = taskSchedulerHelper.markOverdueBatch(source, today, overdueBatchSize);
+            total += marked;
+        } while (marked == overdueBatchSize);
 
-        if (!overdueTasks.isEmpty()) {
-            AtomicInteger count = new AtomicInteger();
-            overdueTasks.forEach(task -> {
-                try {
-                    taskSchedulerHelper.saveSingleTask(source, task);
-                    count.incrementAndGet();
-                } catch (ObjectOptimisticLockingFailureException | OptimisticLockException e) {
-                    logger.warn("[{}] Task skipped due to optimistic lock - updateOverdueTasks | taskId={}",
-                            source, task.getId());
-                }
-            });
-            if(count.get() > 0) {
-                logger.info("[{}] Overdue tasks updated | count={}", source, count.get());
-                return;
-            }
-            logger.warn("[{}] Overdue tasks found but none updated due to concurrency",  source);
-        }
-        else {
-            logger.debug("[{}] No overdue tasks found", source);
+        schedulerMetrics.recordRowsAffected(SCHEDULER, "mark_overdue", total);
+        if (total > 0) {
+            logger.info("[{}] Overdue tasks marked as PENDING | today={} count={}", source, today, total);
+        } else {
+            logger.debug("[{}] No overdue tasks to mark", source);
         }
     }
 
     @Override
-    @Transactional(readOnly = true)
-    public void deleteCancelledTasksOlderThan90Days(String source) {
-        deleteTasksByStatusOlderThan(source, TaskStatus.CANCELLED, 90);
+    public void archiveCancelledTasksOlderThan90Days(String source) {
+        archiveTasksByStatusOlderThan(source, TaskStatus.CANCELLED, 90);
     }
 
     @Override
-    @Transactional(readOnly = true)
-    public void deleteDoneTasksOlderThan180Days(String source) {
-        deleteTasksByStatusOlderThan(source, TaskStatus.DONE, 180);
+    public void archiveDoneTasksOlderThan180Days(String source) {
+        archiveTasksByStatusOlderThan(source, TaskStatus.DONE, 180);
     }
 
+    /*
+     * Um dia além da retenção: o cursor expira pelo instante em que foi emitido, e uma transação que começou
+     * antes disso ainda pode ter gravado entradas com changed_at um pouco anterior.
+     */
+    @Override
+    public void pruneTaskChanges(String source) {
+        OffsetDateTime thresholdDate = OffsetDateTime.now().minusDays(changeRetentionDays + 1);
+        int total = 0;
+        int deleted;
+        do {
+            deleted = taskSchedulerHelper.deleteChangeBatch(source, thresholdDate, changePruneBatchSize);
+            total += deleted;
+        } while (deleted == changePruneBatchSize);
+
+        schedulerMetrics.recordRowsAffected(SCHEDULER, "prune_changes", total);
+        if (total > 0) {
+            logger.info("[{}] Task changes pruned | threshold={} count={}", source, thresholdDate, total);
+        } else {
+            logger.debug("[{}] No task changes to prune", source);
+        }
+    }
 
-    private void deleteTasksByStatusOlderThan(String source, TaskStatus taskStatus, int qtdDay){
+    /*
+     * As tarefas aposentadas não são mais apagadas: cada lote é movido para tb_task_archive e removido de
+     * tb_tasks no mesmo comando, na sua própria transação, então uma execução interrompida não perde nem
+     * duplica linhas e a próxima continua de onde parou.
+     */
+    private void archiveTasksByStatusOlderThan(String source, TaskStatus taskStatus, int qtdDay){
         OffsetDateTime thresholdDate = OffsetDateTime.now().minusDays(qtdDay);
-        List<Task> tasks = taskRepository.findByStatusAndUpdatedAtBefore(taskStatus, thresholdDate);
+        int total = 0;
+        int archived;
+        do {
+            archived = taskSchedulerHelper.archiveTaskBatch(source, taskStatus, thresholdDate, archiveBatchSize);
+            total += archived;
+        } while (archived == archiveBatchSize);
 
-        if (!tasks.isEmpty()) {
-            AtomicInteger count = new AtomicInteger();
-            tasks.forEach(task -> {
-                try {
-                    taskSchedulerHelper.deleteSingleTask(source, task);
-                    count.incrementAndGet();
-                } catch (ObjectOptimisticLockingFailureException | OptimisticLockException e) {
-                    logger.warn("[{}] Task skipped due to optimistic lock - deleteTasksByStatusOlderThan | taskId={}",
-                            source, task.getId());
-                }
-            });
-            if(count.get() > 0) {
-                logger.info("[{}] Tasks deleted | status={} olderThan={}days count={}",
-                        source, taskStatus, qtdDay, count.get());
-                return;
-            }
-            logger.warn("[{}] Overdue tasks found but none cancelled due to concurrency",  source);
-        }else{
-            logger.debug("[{}] No tasks to delete | status={} olderThan={}days", source, taskStatus, qtdDay);
+        schedulerMetrics.recordRowsAffected(SCHEDULER, "archive_" + taskStatus.name().toLowerCase(), total);
+        if (total > 0) {
+            logger.info("[{}] Tasks archived | status={} olderThan={}days count={}",
+                    source, taskStatus, qtdDay, total);
+        } else {
+            logger.debug("[{}] No tasks to archive | status={} olderThan={}days", source, taskStatus, qtdDay);
         }
     }
 }
@@ -1,42 +1,93 @@
 package com.vicente.taskmanager.service.impl;
 
+import com.vicente.taskmanager.exception.ChangeCursorExpiredException;
+import com.vicente.taskmanager.exception.PreconditionFailedException;
 import com.vicente.taskmanager.exception.TaskNotFoundException;
 import com.vicente.taskmanager.exception.TaskStatusNotAllowedException;
 import com.vicente.taskmanager.mapper.TaskMapper;
+import com.vicente.taskmanager.domain.entity.ArchivedTask;
 import com.vicente.taskmanager.domain.entity.Task;
+import com.vicente.taskmanager.domain.enums.ExportFormat;
+import com.vicente.taskmanager.domain.enums.TaskChangeType;
 import com.vicente.taskmanager.domain.enums.TaskStatus;
+import com.vicente.taskmanager.domain.enums.TaskStatusTransition;
+import com.vicente.taskmanager.dto.request.TaskBatchCreateRequestDTO;
+import com.vicente.taskmanager.dto.request.TaskBatchRequestDTO;
+import com.vicente.taskmanager.dto.response.ArchivedTaskResponseDTO;
 import com.vicente.taskmanager.dto.response.PageResponseDTO;
+import com.vicente.taskmanager.dto.response.TaskBatchItemResponseDTO;
+import com.vicente.taskmanager.dto.response.TaskBatchResponseDTO;
+import com.vicente.taskmanager.dto.response.TaskChangePageResponseDTO;
+import com.vicente.taskmanager.dto.response.TaskChangeResponseDTO;
 import com.vicente.taskmanager.dto.request.TaskCreateRequestDTO;
+import com.vicente.taskmanager.dto.internal.CachedTask;
+import com.vicente.taskmanager.dto.internal.TaskChange;
+import com.vicente.taskmanager.dto.internal.TaskOwner;
+import com.vicente.taskmanager.dto.internal.TaskSearchHit;
+import com.vicente.taskmanager.dto.internal.TaskState;
+import com.vicente.taskmanager.dto.internal.TaskVersion;
 import com.vicente.taskmanager.dto.response.TaskResponseDTO;
+import com.vicente.taskmanager.dto.response.TaskSearchPageResponseDTO;
+import com.vicente.taskmanager.dto.response.TaskSearchResponseDTO;
 import com.vicente.taskmanager.dto.request.TaskUpdateRequestDTO;
 import com.vicente.taskmanager.domain.entity.User;
+import com.vicente.taskmanager.repository.ArchivedTaskRepository;
 import com.vicente.taskmanager.repository.TaskRepository;
 import com.vicente.taskmanager.dto.filter.TaskFilterDTO;
+import com.vicente.taskmanager.dto.filter.TaskStatusFilter;
 import com.vicente.taskmanager.repository.specification.TaskSpecification;
+import com.vicente.taskmanager.service.TaskCacheService;
+import com.vicente.taskmanager.service.TaskEventService;
 import com.vicente.taskmanager.service.TaskService;
-import jakarta.persistence.EntityManager;
+import com.vicente.taskmanager.service.util.AuditLogger;
+import com.vicente.taskmanager.service.util.TaskExportWriter;
 import org.jspecify.annotations.NonNull;
+import io.micrometer.core.annotation.Timed;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import org.springframework.data.domain.Pageable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
 import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
+@Timed(value = "taskmanager.task.service", histogram = true)
 public class TaskServiceImpl implements TaskService {
     private final TaskRepository taskRepository;
-    private final EntityManager entityManager;
+    private final ArchivedTaskRepository archivedTaskRepository;
+    private final TaskCacheService taskCacheService;
+    private final TaskEventService taskEventService;
+    private final Duration changeRetention;
     private static final Logger logger = LoggerFactory.getLogger(TaskServiceImpl.class);
+    private static final int MAX_SEARCH_QUERY_LENGTH = 200;
 
-    public TaskServiceImpl(TaskRepository taskRepository, EntityManager entityManager) {
+    public TaskServiceImpl(TaskRepository taskRepository, ArchivedTaskRepository archivedTaskRepository,
+                           TaskCacheService taskCacheService, TaskEventService taskEventService,
+                           @Value("${app.task.changes.retention.days}") long changeRetentionDays) {
         this.taskRepository = taskRepository;
-        this.entityManager = entityManager;
+        this.archivedTaskRepository = archivedTaskRepository;
+        this.taskCacheService = taskCacheService;
+        this.taskEventService = taskEventService;
+        this.changeRetention = Duration.ofDays(changeRetentionDays);
     }
 
     @Override
@@ -46,63 +97,41 @@ public class TaskServiceImpl implements TaskService {
         Task task = TaskMapper.toEntity(taskCreateRequestDTO, user);
 
         task = taskRepository.save(task);
-        entityManager.refresh(task);
+        TaskResponseDTO response = TaskMapper.toDTO(task);
+        taskEventService.publish(user.getId(), TaskChangeType.CREATED, task.getId(), response);
 
         logger.info("Task created successfully | taskId={} userId={}", task.getId(), user.getId());
-        return TaskMapper.toDTO(task);
+        return response;
     }
 
     @Override
     @Transactional
-    public TaskResponseDTO update(Long id, Long userId, TaskUpdateRequestDTO taskUpdateRequestDTO) {
+    public TaskResponseDTO update(Long id, Long userId, Long expectedVersion,
+                                  TaskUpdateRequestDTO taskUpdateRequestDTO) {
         logger.info("Starting update task | taskId={} userId={}", id, userId);
 
-        Task task = findByIdAndUserId(id, userId);
-
-        if(task.getStatus().equals(TaskStatus.CANCELLED) || task.getStatus().equals(TaskStatus.DONE)) {
-            logger.debug("Update not allowed for task id={} with status={} | userId={}", id, task.getStatus(), userId);
-            throw new TaskStatusNotAllowedException("Task with status DONE or CANCELLED cannot be updated");
-        }
-
-        TaskStatus previousStatus = task.getStatus();
-
-        TaskMapper.merge(task, taskUpdateRequestDTO);
-
-        LocalDate today = LocalDate.now();
-
-        if(task.getDueDate().isBefore(today) && previousStatus.equals(TaskStatus.IN_PROGRESS)) {
-            task.setStatus(TaskStatus.PENDING);
-        }
-        else if(!task.getDueDate().isBefore(today) &&
-                previousStatus.equals(TaskStatus.PENDING)) {
-            task.setStatus(TaskStatus.IN_PROGRESS);
-        }
-        logTaskStatusChange(task, userId, previousStatus);
+        String title = taskUpdateRequestDTO.title() != null && !taskUpdateRequestDTO.title().isBlank() ?
+                taskUpdateRequestDTO.title() : null;
 
-        saveAndFlushAndRefresh(task);
+        Task task = taskRepository.updateFields(id, userId, expectedVersion, title,
+                        taskUpdateRequestDTO.description(), taskUpdateRequestDTO.dueDate(),
+                        TaskStatusTransition.UPDATE.getAllowedFromNames())
+                .orElseThrow(() -> transitionFailure(id, userId, expectedVersion, TaskStatusTransition.UPDATE));
 
-        logger.info("Task updated successfully | taskId={} userId={}", id,  userId);
+        taskCacheService.invalidate(task.getId(), task.getVersion());
+        TaskResponseDTO response = TaskMapper.toDTO(task);
+        taskEventService.publish(userId, TaskChangeType.UPDATED, task.getId(), response);
+        logger.info("Task updated successfully | taskId={} userId={} status={}", id,  userId, task.getStatus());
 
-        return TaskMapper.toDTO(task);
+        return response;
     }
 
     @Override
     @Transactional
-    public TaskResponseDTO done(Long id, Long userId) {
+    public TaskResponseDTO done(Long id, Long userId, Long expectedVersion) {
         logger.info("Starting done task | taskId={} userId={}", id, userId);
-        Task task = findByIdAndUserId(id, userId);
-
-        if(task.getStatus() != TaskStatus.IN_PROGRESS) {
-            logger.debug("Task status transition not allowed | taskId={} userId={} currentStatus={} attemptedStatus=DONE",
-                    task.getId(), userId, task.getStatus());
-            throw new TaskStatusNotAllowedException("Only tasks with status IN_PROGRESS can be marked as DONE");
-        }
 
-        TaskStatus previousStatus = task.getStatus();
-        task.setStatus(TaskStatus.DONE);
-        logTaskStatusChange(task, userId, previousStatus);
-
-        saveAndFlushAndRefresh(task);
+        Task task = transitionStatus(id, userId, expectedVersion, TaskStatusTransition.DONE);
 
         logger.info("Task marked as DONE successfully | taskId={} userId={}", task.getId(), userId);
 
@@ -111,49 +140,43 @@ public class TaskServiceImpl implements TaskService {
 
     @Override
     @Transactional
-    public TaskResponseDTO cancel(Long id, Long userId) {
+    public TaskResponseDTO cancel(Long id, Long userId, Long expectedVersion) {
         logger.info("Starting cancel task | taskId={} userId={}", id, userId);
 
-        Task task = findByIdAndUserId(id, userId);
-
-        if(task.getStatus() != TaskStatus.IN_PROGRESS && task.getStatus() != TaskStatus.PENDING) {
-            logger.debug("Task status transition not allowed | taskId={} userId={}" +
-                            " currentStatus={} attemptedStatus=Cancelled", userId, task.getId(), task.getStatus());
-            throw new TaskStatusNotAllowedException("Only tasks with status IN_PROGRESS or PENDING can be cancelled");
-        }
-
-        TaskStatus previousStatus = task.getStatus();
-        task.setStatus(TaskStatus.CANCELLED);
-        logTaskStatusChange(task, userId, previousStatus);
-
-        saveAndFlushAndRefresh(task);
+        Task task = transitionStatus(id, userId, expectedVersion, TaskStatusTransition.CANCEL);
 
         logger.info("Task CANCELLED successfully | taskId={} userId={}", task.getId(), userId);
 
         return TaskMapper.toDTO(task);
     }
 
+    // Sem transação: o acerto no cache não toca o banco e a falta usa a transação do repositório
     @Override
-    @Transactional(readOnly = true)
     public TaskResponseDTO findById(Long id, Long userId){
         logger.info("Starting find by id task | taskId={} userId={}", id, userId);
 
-        Task task = findByIdAndUserId(id, userId);
+        TaskResponseDTO task = findCachedTask(id)
+                .filter(cached -> cached.userId().equals(userId))
+                .map(CachedTask::task)
+                .map(TaskMapper::withEffectiveStatus)
+                .orElseThrow(() ->
+                        new TaskNotFoundException("Task not found or you do not have permission to access it"));
 
-        logger.info("Task found successfully | taskId={} userId={}", task.getId(), userId);
+        logger.info("Task found successfully | taskId={} userId={}", task.id(), userId);
 
-        return TaskMapper.toDTO(task);
+        return task;
     }
 
     @Override
-    @Transactional(readOnly = true)
     public TaskResponseDTO findById(Long id) {
         logger.info("Starting find by id task | taskId={}", id);
-        Task task = taskRepository.findById(id).orElseThrow(() ->
-                new TaskNotFoundException("Task not found with id: " + id));
+        TaskResponseDTO task = findCachedTask(id)
+                .map(CachedTask::task)
+                .map(TaskMapper::withEffectiveStatus)
+                .orElseThrow(() -> new TaskNotFoundException("Task not found with id: " + id));
 
-        logger.info("Task found successfully | taskId={}", task.getId());
-        return TaskMapper.toDTO(task);
+        logger.info("Task found successfully | taskId={}", task.id());
+        return task;
     }
 
     @Override
@@ -166,8 +189,9 @@ public class TaskServiceImpl implements TaskService {
         logTaskFindStrategy(status, dueDate);
 
         Specification<Task> spec = TaskSpecification.filter(new TaskFilterDTO(userId,
-                TaskStatus.convert(status), dueDate));
-        Page<Task> tasks = taskRepository.findAll(spec, pageable);
+                TaskStatus.convert(status), dueDate)).and(TaskSpecification.orderBy(pageable.getSort()));
+        Page<Task> tasks = taskRepository.findAll(spec,
+                PageRequest.of(pageable.getPageNumber(), pageable.getPageSize()));
 
         logger.info("Find tasks success | totalElements={} totalPages={} page={} size={}", tasks.getTotalElements(),
                 tasks.getTotalPages(), pageable.getPageNumber(), pageable.getPageSize());
@@ -175,6 +199,153 @@ public class TaskServiceImpl implements TaskService {
         return TaskMapper.toPageDTO(tasks);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public TaskState findState(Long id, Long userId) {
+        return taskRepository.findStateByIdAndUserId(id, userId).orElseThrow(() ->
+                new TaskNotFoundException("Task not found or you do not have permission to access it"));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public TaskState findState(Long id) {
+        return taskRepository.findStateById(id).orElseThrow(() ->
+                new TaskNotFoundException("Task not found with id: " + id));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Slice<TaskVersion> findVersions(String status, LocalDate dueDate, Long userId, Pageable pageable) {
+        TaskStatusFilter statusFilter = TaskStatusFilter.of(TaskStatus.convert(status));
+        return taskRepository.findVersionsByUserId(userId, statusFilter.storedStatuses(),
+                statusFilter.dueBefore(), statusFilter.dueFrom(), dueDate, querySortPageable(pageable));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public TaskSearchPageResponseDTO search(String query, String status, LocalDate dueDate, Long userId,
+                                            String cursor, int size) {
+        logger.info("Starting search tasks | userId={} status={} dueDate={}", userId, status, dueDate);
+
+        if (query == null || query.isBlank()) {
+            throw new IllegalArgumentException("Search query must not be blank");
+        }
+        if (query.length() > MAX_SEARCH_QUERY_LENGTH) {
+            throw new IllegalArgumentException("Search query must have at most " + MAX_SEARCH_QUERY_LENGTH +
+                    " characters");
+        }
+
+        TaskStatusFilter statusFilter = TaskStatusFilter.of(TaskStatus.convert(status));
+        Double afterRank = null;
+        Long afterId = null;
+        if (cursor != null && !cursor.isBlank()) {
+            String[] parts = decodeSearchCursor(cursor);
+            afterRank = Double.valueOf(parts[0]);
+            afterId = Long.valueOf(parts[1]);
+        }
+
+        // Uma linha a mais indica se há próxima página, sem count
+        List<TaskSearchHit> hits = taskRepository.search(query.trim(), userId, statusFilter.storedStatusNames(),
+                statusFilter.dueBefore(), statusFilter.dueFrom(), dueDate, afterRank, afterId, size + 1);
+        boolean lastPage = hits.size() <= size;
+        if (!lastPage) {
+            hits = hits.subList(0, size);
+        }
+
+        Map<Long, Task> tasks = taskRepository.findAllById(hits.stream().map(TaskSearchHit::getId).toList())
+                .stream()
+                .collect(Collectors.toMap(Task::getId, Function.identity()));
+
+        List<TaskSearchResponseDTO> content = hits.stream()
+                .filter(hit -> tasks.containsKey(hit.getId()))
+                .map(hit -> new TaskSearchResponseDTO(TaskMapper.toDTO(tasks.get(hit.getId())), hit.getRank(),
+                        hit.getTitleHighlight(), hit.getDescriptionHighlight()))
+                .toList();
+
+        String nextCursor = lastPage ? null : encodeSearchCursor(hits.getLast());
+
+        logger.info("Search tasks success | userId={} results={} lastPage={}", userId, content.size(), lastPage);
+        return new TaskSearchPageResponseDTO(content, size, nextCursor, lastPage);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public PageResponseDTO<ArchivedTaskResponseDTO> findArchived(Long userId, Pageable pageable) {
+        logger.info("Starting find archived tasks | userId={}", userId);
+
+        Sort sort = pageable.getSort().isUnsorted() ?
+                Sort.by("archivedAt").descending().and(Sort.by("id").descending()) : pageable.getSort();
+        Page<ArchivedTask> tasks = archivedTaskRepository.findByUserId(userId,
+                PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), sort));
+
+        logger.info("Find archived tasks success | userId={} totalElements={} page={} size={}", userId,
+                tasks.getTotalElements(), pageable.getPageNumber(), pageable.getPageSize());
+
+        return TaskMapper.toArchivedPageDTO(tasks);
+    }
+
+    // Cursor = posição (txid, id) no log + instante de emissão; mais antigo que a retenção recebe 410
+    @Override
+    @Transactional(readOnly = true)
+    public TaskChangePageResponseDTO findChanges(Long userId, String cursor, int size) {
+        logger.info("Starting find task changes | userId={}", userId);
+
+        long horizon = taskRepository.findChangeLogHorizon();
+        if (cursor == null || cursor.isBlank()) {
+            return new TaskChangePageResponseDTO(List.of(), size,
+                    encodeChangeCursor(horizon - 1, Long.MAX_VALUE, null), false);
+        }
+
+        long[] position = decodeChangeCursor(cursor);
+        if (Instant.ofEpochSecond(position[2]).isBefore(Instant.now().minus(changeRetention))) {
+            throw new ChangeCursorExpiredException("Change cursor expired, reload the task list and start over");
+        }
+
+        List<TaskChange> entries = taskRepository.findChanges(userId, position[0], position[1], horizon, size + 1);
+        boolean hasMore = entries.size() > size;
+        if (hasMore) {
+            entries = entries.subList(0, size);
+        }
+
+        // Várias alterações da mesma tarefa na página viram só a mais recente
+        Map<Long, TaskChange> latest = new LinkedHashMap<>();
+        entries.forEach(entry -> {
+            latest.remove(entry.getTaskId());
+            latest.put(entry.getTaskId(), entry);
+        });
+
+        List<Long> liveIds = latest.values().stream()
+                .filter(entry -> !TaskChangeType.DELETED.name().equals(entry.getType()))
+                .map(TaskChange::getTaskId)
+                .toList();
+        Map<Long, Task> tasks = taskRepository.findAllById(liveIds).stream()
+                .collect(Collectors.toMap(Task::getId, Function.identity()));
+
+        // Tarefa que não existe mais já sai como DELETED
+        List<TaskChangeResponseDTO> changes = latest.values().stream()
+                .map(entry -> {
+                    Task task = tasks.get(entry.getTaskId());
+                    return new TaskChangeResponseDTO(entry.getTaskId(),
+                            task != null ? TaskChangeType.valueOf(entry.getType()) : TaskChangeType.DELETED,
+                            entry.getChangedAt(), task != null ? TaskMapper.toDTO(task) : null);
+                })
+                .collect(Collectors.toCollection(ArrayList::new));
+        long[] overdueKey = addCrossedDueDate(userId, position, size, latest.keySet(), changes);
+
+        String nextCursor;
+        if (hasMore) {
+            nextCursor = encodeChangeCursor(entries.getLast().getTxid(), entries.getLast().getId(), overdueKey);
+        } else if (position[0] < horizon - 1) {
+            nextCursor = encodeChangeCursor(horizon - 1, Long.MAX_VALUE, overdueKey);
+        } else {
+            nextCursor = encodeChangeCursor(position[0], position[1], overdueKey);
+        }
+        hasMore |= overdueKey != null;
+
+        logger.info("Find task changes success | userId={} changes={} hasMore={}", userId, changes.size(), hasMore);
+        return new TaskChangePageResponseDTO(changes, size, nextCursor, hasMore);
+    }
+
     @Override
     @Transactional
     public void deleteTask(Long id) {
@@ -183,31 +354,295 @@ public class TaskServiceImpl implements TaskService {
                 new TaskNotFoundException("Task not found with id: " + id));
 
         taskRepository.delete(task);
+        taskCacheService.invalidateDeleted(List.of(task.getId()));
+        taskEventService.publish(task.getUser().getId(), TaskChangeType.DELETED, task.getId(), null);
 
         logger.info("Task deleted successfully | taskId={}", task.getId());
     }
 
+    @Override
+    @Transactional
+    public TaskBatchResponseDTO createBatch(TaskBatchCreateRequestDTO taskBatchCreateRequestDTO, User user) {
+        logger.info("Starting batch create tasks | userId={} size={}", user.getId(),
+                taskBatchCreateRequestDTO.tasks().size());
+
+        List<Task> tasks = taskBatchCreateRequestDTO.tasks().stream()
+                .map(request -> TaskMapper.toEntity(request, user))
+                .toList();
+
+        tasks = taskRepository.saveAll(tasks);
+        taskRepository.flush();
+
+        List<TaskBatchItemResponseDTO> items = new ArrayList<>(tasks.size());
+        for (int index = 0; index < tasks.size(); index++) {
+            Task task = tasks.get(index);
+            TaskResponseDTO response = TaskMapper.toDTO(task);
+            taskEventService.publish(user.getId(), TaskChangeType.CREATED, task.getId(), response);
+            items.add(new TaskBatchItemResponseDTO(index, task.getId(), HttpStatus.CREATED.value(),
+                    null, null, response));
+        }
+
+        logger.info("Batch create tasks successfully | userId={} created={}", user.getId(), items.size());
+        return TaskMapper.toBatchDTO(items);
+    }
+
+    @Override
+    @Transactional
+    public TaskBatchResponseDTO doneBatch(TaskBatchRequestDTO taskBatchRequestDTO, Long userId) {
+        logger.info("Starting batch done tasks | userId={} size={}", userId, taskBatchRequestDTO.ids().size());
+
+        TaskBatchResponseDTO response = transitionStatuses(taskBatchRequestDTO.ids(), userId,
+                TaskStatusTransition.DONE);
+
+        logger.info("Batch done tasks finished | userId={} succeeded={} failed={}", userId,
+                response.succeeded(), response.failed());
+        return response;
+    }
+
+    @Override
+    @Transactional
+    public TaskBatchResponseDTO cancelBatch(TaskBatchRequestDTO taskBatchRequestDTO, Long userId) {
+        logger.info("Starting batch cancel tasks | userId={} size={}", userId, taskBatchRequestDTO.ids().size());
+
+        TaskBatchResponseDTO response = transitionStatuses(taskBatchRequestDTO.ids(), userId,
+                TaskStatusTransition.CANCEL);
+
+        logger.info("Batch cancel tasks finished | userId={} succeeded={} failed={}", userId,
+                response.succeeded(), response.failed());
+        return response;
+    }
+
+    @Override
+    @Transactional
+    public TaskBatchResponseDTO deleteBatch(TaskBatchRequestDTO taskBatchRequestDTO) {
+        List<Long> ids = taskBatchRequestDTO.ids();
+        logger.info("Starting batch delete tasks | size={}", ids.size());
+
+        List<TaskOwner> deleted = taskRepository.deleteByIdInReturningOwner(new LinkedHashSet<>(ids));
+        Set<Long> deletedIds = deleted.stream().map(TaskOwner::getId).collect(Collectors.toSet());
+        taskCacheService.invalidateDeleted(deletedIds);
+        deleted.forEach(owner ->
+                taskEventService.publish(owner.getUserId(), TaskChangeType.DELETED, owner.getId(), null));
+
+        List<TaskBatchItemResponseDTO> items = new ArrayList<>(ids.size());
+        for (int index = 0; index < ids.size(); index++) {
+            Long id = ids.get(index);
+            if (deletedIds.contains(id)) {
+                items.add(new TaskBatchItemResponseDTO(index, id, HttpStatus.NO_CONTENT.value(),
+                        null, null, null));
+            } else {
+                items.add(new TaskBatchItemResponseDTO(index, id, HttpStatus.NOT_FOUND.value(),
+                        "Task Not Found Error", "Task not found with id: " + id, null));
+            }
+        }
+
+        logger.info("Batch delete tasks finished | deleted={} requested={}", deletedIds.size(), ids.size());
+        return TaskMapper.toBatchDTO(items);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long export(TaskStatus status, LocalDate dueDate, Long userId, ExportFormat format,
+                       OutputStream outputStream) throws IOException {
+        logger.info("Starting export tasks | userId={} format={} status={} dueDate={}", userId, format, status,
+                dueDate);
+
+        TaskExportWriter exportWriter = new TaskExportWriter(outputStream, format);
+        exportWriter.writeHeader();
+
+        TaskStatusFilter statusFilter = TaskStatusFilter.of(status);
+        try (Stream<TaskResponseDTO> tasks = taskRepository.streamByUserId(userId, statusFilter.storedStatuses(),
+                statusFilter.dueBefore(), statusFilter.dueFrom(), dueDate)) {
+            Iterator<TaskResponseDTO> iterator = tasks.map(TaskMapper::withEffectiveStatus).iterator();
+            while (iterator.hasNext()) {
+                exportWriter.write(iterator.next());
+            }
+        }
+
+        long rows = exportWriter.finish();
+        logger.info("Export tasks successfully | userId={} format={} rows={}", userId, format, rows);
+        return rows;
+    }
+
+    // Desempate por id: a mesma página tem sempre o mesmo conteúdo e ETag
     private static @NonNull Pageable sortPageable(Pageable pageable) {
-        return (pageable.getSort().isUnsorted()) ? PageRequest.of(
-                pageable.getPageNumber(),
-                pageable.getPageSize(),
-                Sort.by("status").ascending().
-                        and(Sort.by("dueDate").ascending())) : pageable;
+        Sort sort = pageable.getSort().isUnsorted() ?
+                Sort.by("status").ascending().and(Sort.by("dueDate").ascending()) : pageable.getSort();
+        if (sort.getOrderFor("id") == null) {
+            sort = sort.and(Sort.by("id").ascending());
+        }
+        return PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), sort);
     }
 
-    private void saveAndFlushAndRefresh(Task task) {
-        taskRepository.saveAndFlush(task);
-        entityManager.refresh(task);
+    private static @NonNull Pageable querySortPageable(Pageable pageable) {
+        Pageable sorted = sortPageable(pageable);
+        return PageRequest.of(sorted.getPageNumber(), sorted.getPageSize(),
+                TaskSpecification.toQuerySort(sorted.getSort()));
     }
 
-    private @NonNull Task findByIdAndUserId(Long id, Long userId) {
-        return taskRepository.findByIdAndUserId(id, userId).orElseThrow(() ->
-                new TaskNotFoundException("Task not found or you do not have permission to access it"));
+    private Optional<CachedTask> findCachedTask(Long id) {
+        return taskCacheService.get(id, () -> taskRepository.findById(id).map(TaskMapper::toCachedTask));
+    }
+
+    private @NonNull Task transitionStatus(Long id, Long userId, Long expectedVersion,
+                                           TaskStatusTransition transition) {
+        Task task = taskRepository.transitionStatus(id, userId, expectedVersion, transition.getTargetStatusName(),
+                        transition.getAllowedFromNames(), transition.getDueFrom(LocalDate.now()))
+                .orElseThrow(() -> transitionFailure(id, userId, expectedVersion, transition));
+
+        taskCacheService.invalidate(task.getId(), task.getVersion());
+        taskEventService.publish(userId, TaskChangeType.STATUS_CHANGED, task.getId(), TaskMapper.toDTO(task));
+        logTaskStatusChange(task, userId);
+        return task;
+    }
+
+    // Só roda quando o UPDATE condicional não afetou nenhuma linha
+    private RuntimeException transitionFailure(Long id, Long userId, Long expectedVersion,
+                                               TaskStatusTransition transition) {
+        TaskState currentState = taskRepository.findStateByIdAndUserId(id, userId).orElse(null);
+        if (currentState == null) {
+            return new TaskNotFoundException("Task not found or you do not have permission to access it");
+        }
+
+        if (expectedVersion != null && !expectedVersion.equals(currentState.getVersion())) {
+            logger.debug("Task version does not match If-Match | taskId={} userId={} expected={} current={}",
+                    id, userId, expectedVersion, currentState.getVersion());
+            return new PreconditionFailedException("Task was modified since it was last read");
+        }
+
+        logger.debug("Task status transition not allowed | taskId={} userId={} currentStatus={} transition={}",
+                id, userId, TaskStatus.effective(currentState.getStatus(), currentState.getDueDate()), transition);
+        return new TaskStatusNotAllowedException(transition.getNotAllowedMessage());
+    }
+
+    private TaskBatchResponseDTO transitionStatuses(List<Long> ids, Long userId, TaskStatusTransition transition) {
+        Set<Long> uniqueIds = new LinkedHashSet<>(ids);
+
+        Map<Long, Task> transitioned = taskRepository.transitionStatuses(uniqueIds, userId,
+                        transition.getTargetStatusName(), transition.getAllowedFromNames(),
+                        transition.getDueFrom(LocalDate.now()))
+                .stream()
+                .collect(Collectors.toMap(Task::getId, Function.identity()));
+        taskCacheService.invalidate(transitioned.values().stream()
+                .collect(Collectors.toMap(Task::getId, Task::getVersion)));
+        transitioned.values().forEach(task -> {
+            AuditLogger.taskStatusChanged(task.getId(), userId, task.getStatus());
+            taskEventService.publish(userId, TaskChangeType.STATUS_CHANGED, task.getId(), TaskMapper.toDTO(task));
+        });
+
+        // Os ids não atualizados são resolvidos numa única consulta extra
+        Map<Long, TaskStatus> rejected = new HashMap<>();
+        if (transitioned.size() < uniqueIds.size()) {
+            List<Long> missingIds = uniqueIds.stream().filter(id -> !transitioned.containsKey(id)).toList();
+            taskRepository.findByIdInAndUserId(missingIds, userId)
+                    .forEach(task -> rejected.put(task.getId(),
+                            TaskStatus.effective(task.getStatus(), task.getDueDate())));
+        }
+
+        List<TaskBatchItemResponseDTO> items = new ArrayList<>(ids.size());
+        for (int index = 0; index < ids.size(); index++) {
+            Long id = ids.get(index);
+            Task task = transitioned.get(id);
+            if (task != null) {
+                items.add(new TaskBatchItemResponseDTO(index, id, HttpStatus.OK.value(), null, null,
+                        TaskMapper.toDTO(task)));
+            } else if (rejected.containsKey(id)) {
+                logger.debug("Task status transition not allowed | taskId={} userId={} currentStatus={} transition={}",
+                        id, userId, rejected.get(id), transition);
+                items.add(new TaskBatchItemResponseDTO(index, id, HttpStatus.UNPROCESSABLE_CONTENT.value(),
+                        "Task Status Not Allowed Error", transition.getNotAllowedMessage(), null));
+            } else {
+                items.add(new TaskBatchItemResponseDTO(index, id, HttpStatus.NOT_FOUND.value(),
+                        "Task Not Found Error", "Task not found or you do not have permission to access it", null));
+            }
+        }
+
+        return TaskMapper.toBatchDTO(items);
+    }
+
+    private static String encodeSearchCursor(TaskSearchHit hit) {
+        String value = hit.getRank() + ":" + hit.getId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String[] decodeSearchCursor(String cursor) {
+        try {
+            String value = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = value.split(":");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Invalid search cursor");
+            }
+            Double.parseDouble(parts[0]);
+            Long.parseLong(parts[1]);
+            return parts;
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid search cursor");
+        }
+    }
+
+    // Vencer não grava no log: IN_PROGRESS vencidas desde o cursor saem como STATUS_CHANGED sintético,
+    // só no espaço que sobrou na página. Devolve a chave (vencimento, id) do que ficou para depois, ou null.
+    private long[] addCrossedDueDate(Long userId, long[] position, int size, Set<Long> reported,
+                                     List<TaskChangeResponseDTO> changes) {
+        ZoneId zone = ZoneId.systemDefault();
+        LocalDate today = LocalDate.now(zone);
+        long[] key;
+        if (position.length == 5) {
+            key = new long[] {position[3], position[4]};
+        } else {
+            LocalDate issuedOn = LocalDate.ofInstant(Instant.ofEpochSecond(position[2]), zone);
+            if (!issuedOn.isBefore(today)) {
+                return null;
+            }
+            key = new long[] {issuedOn.toEpochDay(), 0};
+        }
+
+        int room = size - changes.size();
+        if (room <= 0) {
+            return key;
+        }
+
+        List<Task> crossed = taskRepository.findByUserIdAndStatusAndDueDateAfter(userId, TaskStatus.IN_PROGRESS,
+                LocalDate.ofEpochDay(key[0]), key[1], today, Limit.of(room + 1));
+        boolean more = crossed.size() > room;
+        if (more) {
+            crossed = crossed.subList(0, room);
+        }
+        crossed.stream()
+                .filter(task -> !reported.contains(task.getId()))
+                .map(task -> new TaskChangeResponseDTO(task.getId(), TaskChangeType.STATUS_CHANGED,
+                        task.getDueDate().plusDays(1).atStartOfDay(zone).toOffsetDateTime(),
+                        TaskMapper.toDTO(task)))
+                .forEach(changes::add);
+        return more ? new long[] {crossed.getLast().getDueDate().toEpochDay(), crossed.getLast().getId()} : null;
+    }
+
+    private static String encodeChangeCursor(long txid, long id, long[] overdueKey) {
+        String value = txid + ":" + id + ":" + Instant.now().getEpochSecond() +
+                (overdueKey != null ? ":" + overdueKey[0] + ":" + overdueKey[1] : "");
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static long[] decodeChangeCursor(String cursor) {
+        try {
+            String value = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = value.split(":");
+            if (parts.length != 3 && parts.length != 5) {
+                throw new IllegalArgumentException("Invalid change cursor");
+            }
+            long[] position = new long[parts.length];
+            for (int i = 0; i < parts.length; i++) {
+                position[i] = Long.parseLong(parts[i]);
+            }
+            return position;
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid change cursor");
+        }
     }
 
-    private void logTaskStatusChange(Task task, Long userId, TaskStatus previousStatus) {
-        logger.info("Task status changed | taskId={} userId={} from={} to={}", task.getId(), userId,
-                previousStatus, task.getStatus());
+    private void logTaskStatusChange(Task task, Long userId) {
+        logger.info("Task status changed | taskId={} userId={} status={}", task.getId(), userId, task.getStatus());
+        AuditLogger.taskStatusChanged(task.getId(), userId, task.getStatus());
     }
 
     private void logTaskFindStrategy(String status, LocalDate dueDate) {
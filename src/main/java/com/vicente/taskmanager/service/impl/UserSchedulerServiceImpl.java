@@ -4,106 +4,200 @@ import com.vicente.taskmanager.domain.entity.User;
 import com.vicente.taskmanager.domain.enums.AccountStatus;
 import com.vicente.taskmanager.repository.UserRepository;
 import com.vicente.taskmanager.scheduler.util.UserSchedulerHelper;
+import com.vicente.taskmanager.scheduler.util.SchedulerMetrics;
 import com.vicente.taskmanager.service.UserSchedulerService;
 import jakarta.persistence.OptimisticLockException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
 import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 import java.time.OffsetDateTime;
 import java.util.List;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
 
 @Service
 public class UserSchedulerServiceImpl implements UserSchedulerService {
     private final UserRepository userRepository;
     private final UserSchedulerHelper userSchedulerHelper;
+    private final SchedulerMetrics schedulerMetrics;
+    private final int lockCompactionBatchSize;
+    private final long lockCompactionPauseMillis;
+    private final int purgeUserBatchSize;
+    private final int purgeRowBatchSize;
+    private final long purgeResumeAfterMinutes;
     private static final Logger logger = LoggerFactory.getLogger(UserSchedulerServiceImpl.class);
+    private static final String SCHEDULER = "user";
 
-    public UserSchedulerServiceImpl(UserRepository userRepository, UserSchedulerHelper userSchedulerHelper) {
+    public UserSchedulerServiceImpl(UserRepository userRepository, UserSchedulerHelper userSchedulerHelper,
+                                    SchedulerMetrics schedulerMetrics,
+                                    @Value("${app.user.lock-compaction.batch-size}") int lockCompactionBatchSize,
+                                    @Value("${app.user.lock-compaction.pause.millis}") long lockCompactionPauseMillis,
+                                    @Value("${app.user.purge.user-batch-size}") int purgeUserBatchSize,
+                                    @Value("${app.user.purge.row-batch-size}") int purgeRowBatchSize,
+                                    @Value("${app.user.purge.resume-after.minutes}") long purgeResumeAfterMinutes) {
         this.userRepository = userRepository;
         this.userSchedulerHelper = userSchedulerHelper;
+        this.schedulerMetrics = schedulerMetrics;
+        this.lockCompactionBatchSize = lockCompactionBatchSize;
+        this.lockCompactionPauseMillis = lockCompactionPauseMillis;
+        this.purgeUserBatchSize = purgeUserBatchSize;
+        this.purgeRowBatchSize = purgeRowBatchSize;
+        this.purgeResumeAfterMinutes = purgeResumeAfterMinutes;
     }
 
     @Override
-    @Transactional(readOnly = true)
     public void deleteDisabledUsersOlderThan180Days() {
         OffsetDateTime thresholdDate = OffsetDateTime.now().minusDays(180);
-        List<User> users = userRepository.findByAccountStatusAndUpdatedAtBefore(
-                AccountStatus.DISABLED_BY_ADMIN,
-                thresholdDate);
-
-        deleteUsers(users, thresholdDate);
+        purgeUsers(limit -> userSchedulerHelper.claimForPurgeByAccountStatus(
+                AccountStatus.DISABLED_BY_ADMIN, thresholdDate, limit), thresholdDate);
     }
 
     @Override
-    @Transactional(readOnly = true)
     public void deleteUsersWithDeletedAtOlderThan180Days() {
         OffsetDateTime thresholdDate = OffsetDateTime.now().minusDays(180);
-        List<User> users = userRepository.findByDeletedAtBefore(thresholdDate);
-
-        deleteUsers(users, thresholdDate);
+        purgeUsers(limit -> userSchedulerHelper.claimForPurgeByDeletedAtBefore(thresholdDate, limit), thresholdDate);
     }
 
     @Override
-    @Transactional(readOnly = true)
     public void deleteUsersWithPendingVerificationOlderThan72Hours() {
         OffsetDateTime thresholdDate = OffsetDateTime.now().minusHours(72);
-        List<User> users = userRepository.findByAccountStatusAndUpdatedAtBefore(
+        List<User> users = userRepository.findByAccountStatusAndUpdatedAtBeforeAndDeletedAtNotNull(
                 AccountStatus.PENDING_VERIFICATION,
                 thresholdDate);
 
-        deleteUsersWithStatusPending(users, thresholdDate);
+        resolvePendingVerification(users, thresholdDate);
+        purgeUsers(limit -> userSchedulerHelper.claimPendingVerificationForPurge(thresholdDate, limit), thresholdDate);
     }
 
-    private void deleteUsers(List<User> users, OffsetDateTime thresholdDate) {
-        if (!users.isEmpty()) {
-            AtomicInteger count = new AtomicInteger();
-            users.forEach(user -> {
+    /*
+     * Compactação de baixa prioridade: lock_until expirado já é lido como desbloqueado, então limpar a
+     * coluna não muda nenhum comportamento. Roda em lotes curtos, cada um na sua transação, com uma pausa
+     * entre eles para não competir com o tráfego de login.
+     */
+    @Override
+    public void clearExpiredLocks() {
+        OffsetDateTime now = OffsetDateTime.now();
+        int total = 0;
+        int cleared;
+        do {
+            cleared = userSchedulerHelper.clearExpiredLocks(now, lockCompactionBatchSize);
+            total += cleared;
+        } while (cleared == lockCompactionBatchSize && pause());
+
+        schedulerMetrics.recordRowsAffected(SCHEDULER, "clear_expired_lock", total);
+        if (total > 0) {
+            logger.info("[USER SCHEDULER] Expired locks cleared | threshold={} count={}", now, total);
+        } else {
+            logger.debug("[USER SCHEDULER] No expired locks to clear");
+        }
+    }
+
+    private boolean pause() {
+        try {
+            Thread.sleep(lockCompactionPauseMillis);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /*
+     * Reivindicações sem conclusão há mais de purgeResumeAfterMinutes vêm de uma execução interrompida.
+     * Só este job as retoma, reivindicando-as de novo em lotes, então cada usuário é drenado por um único job.
+     */
+    @Override
+    public void resumeInterruptedPurges() {
+        OffsetDateTime staleBefore = OffsetDateTime.now().minusMinutes(purgeResumeAfterMinutes);
+        purgeUsers(limit -> userSchedulerHelper.reclaimStalePurges(staleBefore, limit), staleBefore);
+    }
+
+    /*
+     * Expurgo em duas fases, lote a lote. Os usuários elegíveis são reivindicados (purge_started_at), o que já
+     * os esconde como excluídos, e cada usuário reivindicado pelo lote é drenado: tarefas, tarefas arquivadas e
+     * refresh tokens em lotes de tamanho fixo, cada um na sua transação, e por fim o próprio usuário.
+     */
+    private void purgeUsers(IntFunction<List<Long>> claimBatch, OffsetDateTime thresholdDate) {
+        int claimed = 0;
+        int deleted = 0;
+        List<Long> batch;
+        do {
+            batch = claimBatch.apply(purgeUserBatchSize);
+            claimed += batch.size();
+            for (Long userId : batch) {
                 try {
-                    userSchedulerHelper.deleteSingleUser(user);
-                    count.incrementAndGet();
-                } catch (ObjectOptimisticLockingFailureException | OptimisticLockException e) {
-                    logger.warn("[USER SCHEDULER] User skipped due to optimistic lock - deleteUsers" +
-                            " | userId={}", user.getId());
+                    if (purgeUser(userId)) {
+                        deleted++;
+                    }
+                } catch (DataAccessException e) {
+                    logger.warn("[USER SCHEDULER] User purge interrupted, it resumes on a later run | userId={}",
+                            userId, e);
                 }
-            });
-            if(count.get() > 0) {
-                logger.info("[USER SCHEDULER] Users deleted | threshold={} count={}", thresholdDate, count.get());
-                return;
             }
-            logger.warn("[USER SCHEDULER] Users found but none deleted due to concurrency");
-        }else{
+        } while (batch.size() == purgeUserBatchSize);
+
+        if (claimed == 0) {
             logger.debug("[USER SCHEDULER] No users to delete");
+            return;
         }
+
+        schedulerMetrics.recordRowsAffected(SCHEDULER, "delete", deleted);
+        logger.info("[USER SCHEDULER] Users deleted | threshold={} claimed={} count={}",
+                thresholdDate, claimed, deleted);
     }
 
-    private void deleteUsersWithStatusPending(List<User> users, OffsetDateTime thresholdDate) {
+    private boolean purgeUser(Long userId) {
+        int tasks = drain(limit -> userSchedulerHelper.deleteTaskBatch(userId, limit));
+        schedulerMetrics.recordRowsAffected(SCHEDULER, "purge_tasks", tasks);
+
+        int archivedTasks = drain(limit -> userSchedulerHelper.deleteArchivedTaskBatch(userId, limit));
+        schedulerMetrics.recordRowsAffected(SCHEDULER, "purge_archived_tasks", archivedTasks);
+
+        int refreshTokens = drain(limit -> userSchedulerHelper.deleteRefreshTokenBatch(userId, limit));
+        schedulerMetrics.recordRowsAffected(SCHEDULER, "purge_refresh_tokens", refreshTokens);
+
+        boolean deleted = userSchedulerHelper.deleteClaimedUser(userId);
+        logger.debug("[USER SCHEDULER] User purged | userId={} tasks={} archivedTasks={} refreshTokens={} deleted={}",
+                userId, tasks, archivedTasks, refreshTokens, deleted);
+        return deleted;
+    }
+
+    private int drain(IntFunction<Integer> deleteBatch) {
+        int total = 0;
+        int deleted;
+        do {
+            deleted = deleteBatch.apply(purgeRowBatchSize);
+            total += deleted;
+        } while (deleted == purgeRowBatchSize);
+        return total;
+    }
+
+    private void resolvePendingVerification(List<User> users, OffsetDateTime thresholdDate) {
         if (!users.isEmpty()) {
             AtomicInteger count = new AtomicInteger();
             users.forEach(user -> {
                 try {
-                    if (user.getDeletedAt() == null) {
-                        userSchedulerHelper.deleteSingleUser(user);
-                    }else{
-                        userSchedulerHelper.resolvePendingVerification(user);
-                    }
+                    userSchedulerHelper.resolvePendingVerification(user);
                     count.incrementAndGet();
                 } catch (ObjectOptimisticLockingFailureException | OptimisticLockException e) {
-                    logger.warn("[USER SCHEDULER] User skipped due to optimistic lock - deleteUsersWithStatusPending" +
+                    schedulerMetrics.recordOptimisticLockSkip(SCHEDULER);
+                    logger.warn("[USER SCHEDULER] User skipped due to optimistic lock - resolvePendingVerification" +
                             " | userId={}", user.getId());
                 }
             });
+            schedulerMetrics.recordRowsAffected(SCHEDULER, "resolve_pending", count.get());
             if(count.get() > 0) {
-                logger.info("[USER SCHEDULER] Users deleted or resolved pending verification | threshold={} count={}",
+                logger.info("[USER SCHEDULER] Users resolved pending verification | threshold={} count={}",
                         thresholdDate, count.get());
                 return;
             }
-            logger.warn("[USER SCHEDULER] Users found but none deleted resolved pending verification due to concurrency");
+            logger.warn("[USER SCHEDULER] Users found but none resolved pending verification due to concurrency");
         }else{
-            logger.debug("[USER SCHEDULER] No users to delete or resolved pending verification");
+            logger.debug("[USER SCHEDULER] No users to resolve pending verification");
         }
     }
 }
@@ -15,18 +15,29 @@ import com.vicente.taskmanager.repository.specification.UserSpecification;
 import com.vicente.taskmanager.dto.filter.UserFilterDTO;
 import com.vicente.taskmanager.service.RefreshTokenService;
 import com.vicente.taskmanager.service.UserService;
+import com.vicente.taskmanager.service.util.AuditLogger;
 import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
 import org.jspecify.annotations.NonNull;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.OffsetDateTime;
+import java.util.List;
 import java.util.Objects;
 
 @Service
@@ -35,14 +46,20 @@ public class UserServiceImpl implements UserService {
     private final EntityManager entityManager;
     private final RefreshTokenService refreshTokenService;
     private static final Logger logger = LoggerFactory.getLogger(UserServiceImpl.class);
+    private static final long EXACT_COUNT_THRESHOLD = 10_000;
+    private static final int MAX_SEARCH_TERM_LENGTH = 100;
+    private static final int MAX_AUTOCOMPLETE_LIMIT = 20;
     private final PasswordEncoder passwordEncoder;
+    private final TransactionTemplate transactionTemplate;
 
     public UserServiceImpl(UserRepository userRepository, EntityManager entityManager,
-                           RefreshTokenService refreshTokenService, PasswordEncoder passwordEncoder) {
+                           RefreshTokenService refreshTokenService, PasswordEncoder passwordEncoder,
+                           TransactionTemplate transactionTemplate) {
         this.userRepository = userRepository;
         this.entityManager = entityManager;
         this.refreshTokenService = refreshTokenService;
         this.passwordEncoder = passwordEncoder;
+        this.transactionTemplate = transactionTemplate;
     }
 
 
@@ -87,13 +104,59 @@ public class UserServiceImpl implements UserService {
         logUserFindStrategy(filter);
 
         Specification<User> spec = UserSpecification.filter(filter);
-        Page<User> users = userRepository.findAll(spec, pageable);
+        List<User> content = findContent(spec, pageable);
+        // The total is only needed when the page is full; it comes from the planner estimate
+        // and falls back to an exact count when the estimate is small enough to count cheaply.
+        Page<User> users = PageableExecutionUtils.getPage(content, pageable, () -> countUsers(filter, spec));
 
         logger.info("Find users success | totalElements={} totalPages={} page={} size={}", users.getTotalElements(),
                 users.getTotalPages(), pageable.getPageNumber(), pageable.getPageSize());
         return AdminMapper.toPageDTO(users);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public PageResponseDTO<UserAdminResponseDTO> search(String term, Pageable pageable) {
+        logger.info("Starting search users | term={}", term);
+
+        if (term == null || term.isBlank()) {
+            throw new IllegalArgumentException("Search term must not be blank");
+        }
+        if (term.length() > MAX_SEARCH_TERM_LENGTH) {
+            throw new IllegalArgumentException("Search term must have at most " + MAX_SEARCH_TERM_LENGTH +
+                    " characters");
+        }
+
+        String normalizedTerm = term.trim().toLowerCase();
+        List<User> content = userRepository.searchBySimilarity(normalizedTerm, pageable.getPageSize(),
+                pageable.getOffset());
+        Page<User> users = PageableExecutionUtils.getPage(content, pageable,
+                () -> userRepository.countBySimilarity(normalizedTerm));
+
+        logger.info("Search users success | totalElements={} page={} size={}", users.getTotalElements(),
+                pageable.getPageNumber(), pageable.getPageSize());
+        return AdminMapper.toPageDTO(users);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<UserResponseDTO> autocomplete(String prefix, int limit) {
+        logger.info("Starting autocomplete users | prefix={} limit={}", prefix, limit);
+
+        if (prefix == null || prefix.isBlank()) {
+            throw new IllegalArgumentException("Prefix must not be blank");
+        }
+        if (limit < 1 || limit > MAX_AUTOCOMPLETE_LIMIT) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_AUTOCOMPLETE_LIMIT);
+        }
+
+        String pattern = escapeLike(prefix.trim().toLowerCase()) + "%";
+        List<UserResponseDTO> users = userRepository.findByNameOrEmailStartingWith(pattern, Limit.of(limit));
+
+        logger.info("Autocomplete users success | results={}", users.size());
+        return users;
+    }
+
     @Override
     @Transactional
     public UserUpdateResponseDTO update(User authenticatedUser, UserUpdateRequestDTO userUpdateRequestDTO) {
@@ -115,8 +178,8 @@ public class UserServiceImpl implements UserService {
         return UserMapper.toUserUpdateDTO(authenticatedUser);
     }
 
+    // Not @Transactional: the three Argon2 operations run before a connection is taken from the pool.
     @Override
-    @Transactional
     public void changePassword(
             User authenticatedUser, PasswordUpdateRequestDTO passwordUpdateRequestDTO, String currentRefreshToken) {
         logger.info("Starting changePassword user | authenticatedUserId={}", authenticatedUser.getId());
@@ -141,10 +204,13 @@ public class UserServiceImpl implements UserService {
         authenticatedUser.setPassword(passwordEncoder.encode(passwordUpdateRequestDTO.newPassword()));
         authenticatedUser.incrementTokenVersion();
 
-        userRepository.saveAndFlush(authenticatedUser);
+        transactionTemplate.executeWithoutResult(status -> {
+            userRepository.saveAndFlush(authenticatedUser);
 
-        refreshTokenService.revokeAllTokensExceptCurrentToken(authenticatedUser.getId(),  currentRefreshToken);
+            refreshTokenService.revokeAllTokensExceptCurrentToken(authenticatedUser.getId(),  currentRefreshToken);
+        });
 
+        AuditLogger.passwordChanged(authenticatedUser.getId());
         logger.info("User password changed successfully. | authenticatedUserId={}", authenticatedUser.getId());
     }
 
@@ -175,6 +241,7 @@ public class UserServiceImpl implements UserService {
         }
 
         userRepository.save(user);
+        AuditLogger.accountStatusChanged(id, user.getAccountStatus());
 
         logger.info("toggleUserEnabled finished | id={} enabled={}", id,  user.isEnabled());
 
@@ -194,6 +261,7 @@ public class UserServiceImpl implements UserService {
         userRepository.save(user);
 
         refreshTokenService.revokeAllTokens(user.getId());
+        AuditLogger.accountDeleted(user.getId());
 
         logger.info("User deleted successfully | id={} deletedAt={}", user.getId(), user.getDeletedAt());
     }
@@ -219,6 +287,43 @@ public class UserServiceImpl implements UserService {
         });
     }
 
+    private List<User> findContent(Specification<User> spec, Pageable pageable) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<User> query = cb.createQuery(User.class);
+        Root<User> root = query.from(User.class);
+
+        Predicate predicate = spec.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.orderBy(QueryUtils.toOrders(pageable.getSort(), root, cb));
+
+        TypedQuery<User> typedQuery = entityManager.createQuery(query);
+        if (pageable.isPaged()) {
+            typedQuery.setFirstResult((int) pageable.getOffset());
+            typedQuery.setMaxResults(pageable.getPageSize());
+        }
+        return typedQuery.getResultList();
+    }
+
+    private long countUsers(UserFilterDTO filter, Specification<User> spec) {
+        String name = filter.name() != null && !filter.name().isBlank() ? filter.name().trim().toLowerCase() : null;
+        String accountStatus = filter.accountStatus() != null && !filter.accountStatus().isBlank() ?
+                AccountStatus.convert(filter.accountStatus().trim()).name() : null;
+
+        long estimate = userRepository.estimateCount(name, accountStatus);
+        if (estimate < EXACT_COUNT_THRESHOLD) {
+            return userRepository.count(spec);
+        }
+
+        logger.debug("Using estimated count for find users | estimate={}", estimate);
+        return estimate;
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+
     private void logUserFindStrategy(UserFilterDTO filter) {
         boolean hasName = filter.name() != null && !filter.name().isBlank();
         if(hasName && filter.accountStatus() != null) {
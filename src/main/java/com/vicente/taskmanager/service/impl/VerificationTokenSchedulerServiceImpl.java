@@ -4,6 +4,7 @@ import com.vicente.taskmanager.domain.entity.VerificationToken;
 import com.vicente.taskmanager.domain.enums.TokenType;
 import com.vicente.taskmanager.repository.VerificationTokenRepository;
 import com.vicente.taskmanager.scheduler.util.VerificationTokenSchedulerHelper;
+import com.vicente.taskmanager.scheduler.util.SchedulerMetrics;
 import com.vicente.taskmanager.service.VerificationTokenSchedulerService;
 import jakarta.persistence.OptimisticLockException;
 import org.slf4j.Logger;
@@ -20,14 +21,18 @@ import java.util.concurrent.atomic.AtomicInteger;
 public class VerificationTokenSchedulerServiceImpl implements VerificationTokenSchedulerService {
     private final VerificationTokenRepository verificationTokenRepository;
     private final VerificationTokenSchedulerHelper verificationTokenSchedulerHelper;
+    private final SchedulerMetrics schedulerMetrics;
     private static final Logger logger = LoggerFactory.getLogger(VerificationTokenSchedulerServiceImpl.class);
+    private static final String SCHEDULER = "verification_token";
 
     public VerificationTokenSchedulerServiceImpl(
             VerificationTokenRepository verificationTokenRepository,
-            VerificationTokenSchedulerHelper verificationTokenSchedulerHelper
+            VerificationTokenSchedulerHelper verificationTokenSchedulerHelper,
+            SchedulerMetrics schedulerMetrics
     ) {
         this.verificationTokenRepository = verificationTokenRepository;
         this.verificationTokenSchedulerHelper = verificationTokenSchedulerHelper;
+        this.schedulerMetrics = schedulerMetrics;
     }
 
     @Override
@@ -58,10 +63,12 @@ public class VerificationTokenSchedulerServiceImpl implements VerificationTokenS
                     verificationTokenSchedulerHelper.deleteSingleVerificationToken(verificationToken);
                     count.incrementAndGet();
                 } catch (ObjectOptimisticLockingFailureException | OptimisticLockException e) {
+                    schedulerMetrics.recordOptimisticLockSkip(SCHEDULER);
                     logger.warn("[VERIFICATION TOKEN SCHEDULER] Verification token skipped due to optimistic lock" +
                             " | verificationTokenId={}", verificationToken.getId());
                 }
             });
+            schedulerMetrics.recordRowsAffected(SCHEDULER, "delete", count.get());
             if(count.get() > 0) {
                 logger.info("[VERIFICATION TOKEN SCHEDULER] Verification tokens deleted | threshold={} count={}",
                         thresholdDate, count.get());
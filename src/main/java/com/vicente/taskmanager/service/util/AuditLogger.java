@@ -0,0 +1,49 @@
+package com.vicente.taskmanager.service.util;
+
+import com.vicente.taskmanager.domain.enums.AccountStatus;
+import com.vicente.taskmanager.domain.enums.TaskStatus;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.OffsetDateTime;
+
+/**
+ * Security relevant events, written to the AUDIT logger. In logback-spring.xml that logger has its
+ * own appenders that block instead of dropping, and it is not subject to the routine line sampling,
+ * so none of these lines are lost under load.
+ */
+public final class AuditLogger {
+    private static final Logger audit = LoggerFactory.getLogger("AUDIT");
+
+    private AuditLogger() {
+    }
+
+    public static void refreshTokenReuseDetected(Long userId, Long refreshTokenId, String ipAddress) {
+        audit.warn("event=refresh_token_reuse_detected userId={} refreshTokenId={} ip={}", userId, refreshTokenId,
+                ipAddress);
+    }
+
+    public static void accountLocked(Long userId, OffsetDateTime lockUntil) {
+        audit.warn("event=account_locked userId={} lockUntil={}", userId, lockUntil);
+    }
+
+    public static void accountStatusChanged(Long userId, AccountStatus status) {
+        audit.info("event=account_status_changed userId={} status={}", userId, status);
+    }
+
+    public static void accountDeleted(Long userId) {
+        audit.info("event=account_deleted userId={}", userId);
+    }
+
+    public static void passwordChanged(Long userId) {
+        audit.info("event=password_changed userId={}", userId);
+    }
+
+    public static void passwordReset(Long userId, String ipAddress) {
+        audit.info("event=password_reset userId={} ip={}", userId, ipAddress);
+    }
+
+    public static void taskStatusChanged(Long taskId, Long userId, TaskStatus status) {
+        audit.info("event=task_status_changed taskId={} userId={} status={}", taskId, userId, status);
+    }
+}
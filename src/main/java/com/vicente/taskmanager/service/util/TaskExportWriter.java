@@ -0,0 +1,138 @@
+package com.vicente.taskmanager.service.util;
+
+import com.vicente.taskmanager.domain.enums.ExportFormat;
+import com.vicente.taskmanager.dto.response.TaskResponseDTO;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Writes tasks one line at a time as NDJSON or CSV. A single StringBuilder is reused for every
+ * line and the output is buffered, so the memory used does not depend on the number of rows.
+ */
+public final class TaskExportWriter {
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final int FLUSH_EVERY_ROWS = 1000;
+    private static final String CSV_HEADER = "id,title,description,dueDate,status,createdAt,updatedAt";
+
+    private final Writer writer;
+    private final ExportFormat format;
+    private final StringBuilder line = new StringBuilder(512);
+    private long rows;
+
+    public TaskExportWriter(OutputStream outputStream, ExportFormat format) {
+        this.writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8), BUFFER_SIZE);
+        this.format = format;
+    }
+
+    public void writeHeader() throws IOException {
+        if (format == ExportFormat.CSV) {
+            writer.write(CSV_HEADER);
+            writer.write('\n');
+        }
+    }
+
+    public void write(TaskResponseDTO task) throws IOException {
+        line.setLength(0);
+        if (format == ExportFormat.CSV) {
+            appendCsvLine(task);
+        } else {
+            appendJsonLine(task);
+        }
+        line.append('\n');
+        writer.append(line);
+
+        // Flushing periodically pushes chunks to the client instead of holding the whole export in buffers.
+        if (++rows % FLUSH_EVERY_ROWS == 0) {
+            writer.flush();
+        }
+    }
+
+    public long finish() throws IOException {
+        writer.flush();
+        return rows;
+    }
+
+    private void appendJsonLine(TaskResponseDTO task) {
+        line.append("{\"id\":").append(task.id());
+        line.append(",\"title\":");
+        appendJsonString(task.title());
+        line.append(",\"description\":");
+        appendJsonString(task.description());
+        line.append(",\"dueDate\":");
+        appendJsonString(task.dueDate() != null ? task.dueDate().toString() : null);
+        line.append(",\"status\":");
+        appendJsonString(task.status() != null ? task.status().name() : null);
+        line.append(",\"createdAt\":");
+        appendJsonString(task.createdAt() != null ? task.createdAt().toString() : null);
+        line.append(",\"updatedAt\":");
+        appendJsonString(task.updatedAt() != null ? task.updatedAt().toString() : null);
+        line.append('}');
+    }
+
+    private void appendJsonString(String value) {
+        if (value == null) {
+            line.append("null");
+            return;
+        }
+        line.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"' -> line.append("\\\"");
+                case '\\' -> line.append("\\\\");
+                case '\n' -> line.append("\\n");
+                case '\r' -> line.append("\\r");
+                case '\t' -> line.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        line.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        line.append(c);
+                    }
+                }
+            }
+        }
+        line.append('"');
+    }
+
+    private void appendCsvLine(TaskResponseDTO task) {
+        line.append(task.id()).append(',');
+        appendCsvField(task.title());
+        line.append(',');
+        appendCsvField(task.description());
+        line.append(',');
+        appendCsvField(task.dueDate() != null ? task.dueDate().toString() : null);
+        line.append(',');
+        appendCsvField(task.status() != null ? task.status().name() : null);
+        line.append(',');
+        appendCsvField(task.createdAt() != null ? task.createdAt().toString() : null);
+        line.append(',');
+        appendCsvField(task.updatedAt() != null ? task.updatedAt().toString() : null);
+    }
+
+    private void appendCsvField(String value) {
+        if (value == null) {
+            return;
+        }
+        boolean quote = value.indexOf(',') >= 0 || value.indexOf('"') >= 0 ||
+                value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0;
+        if (!quote) {
+            line.append(value);
+            return;
+        }
+        line.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"') {
+                line.append('"');
+            }
+            line.append(c);
+        }
+        line.append('"');
+    }
+}
@@ -0,0 +1,14 @@
+-- As sequências criadas pelo BIGSERIAL passam a ser usadas pelo Hibernate com o otimizador pooled-lo.
+-- Cada nextval reserva um bloco de 50 ids (valor retornado até valor + 49), permitindo o batch de INSERTs.
+-- Os nomes seguem o padrão implícito do Hibernate ({entidade}_seq).
+ALTER SEQUENCE tb_task_id_seq RENAME TO task_seq;
+ALTER SEQUENCE task_seq INCREMENT BY 50;
+
+ALTER SEQUENCE tb_user_id_seq RENAME TO user_seq;
+ALTER SEQUENCE user_seq INCREMENT BY 50;
+
+ALTER SEQUENCE tb_refresh_token_id_seq RENAME TO refresh_token_seq;
+ALTER SEQUENCE refresh_token_seq INCREMENT BY 50;
+
+ALTER SEQUENCE tb_verification_token_id_seq RENAME TO verification_token_seq;
+ALTER SEQUENCE verification_token_seq INCREMENT BY 50;
@@ -0,0 +1,9 @@
+-- Coluna gerada com o documento de busca da task: título com peso A e descrição com peso B.
+-- Usa a configuração 'simple' (sem stemming) porque as tasks podem estar em qualquer idioma.
+ALTER TABLE tb_tasks
+    ADD COLUMN search_vector tsvector GENERATED ALWAYS AS (
+        setweight(to_tsvector('simple', coalesce(title, '')), 'A') ||
+        setweight(to_tsvector('simple', coalesce(description, '')), 'B')
+    ) STORED;
+
+CREATE INDEX idx_tasks_search_vector ON tb_tasks USING GIN (search_vector);
@@ -0,0 +1,43 @@
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+-- Índices trigram: atendem LIKE '%termo%' e os operadores de similaridade (%) em nome e email.
+CREATE INDEX IF NOT EXISTS idx_users_name_trgm
+    ON tb_users USING GIN (lower(name) gin_trgm_ops)
+    WHERE deleted_at IS NULL;
+
+CREATE INDEX IF NOT EXISTS idx_users_email_trgm
+    ON tb_users USING GIN (email gin_trgm_ops)
+    WHERE deleted_at IS NULL;
+
+-- Índices B-tree para o autocomplete por prefixo (LIKE 'termo%'), inclusive com 1 ou 2 caracteres.
+CREATE INDEX IF NOT EXISTS idx_users_name_prefix
+    ON tb_users (lower(name) text_pattern_ops)
+    WHERE deleted_at IS NULL;
+
+CREATE INDEX IF NOT EXISTS idx_users_email_prefix
+    ON tb_users (email text_pattern_ops)
+    WHERE deleted_at IS NULL;
+
+-- Estimativa do planner para a listagem de usuários, evitando o count(*) exato em tabelas grandes.
+-- Os filtros são interpolados com %L, então chegam sempre como literais.
+CREATE OR REPLACE FUNCTION estimate_user_count(p_name TEXT, p_account_status TEXT)
+    RETURNS BIGINT
+    LANGUAGE plpgsql
+    STABLE
+AS $$
+DECLARE
+    sql_query TEXT := 'SELECT 1 FROM tb_users WHERE deleted_at IS NULL';
+    plan JSON;
+BEGIN
+    IF p_name IS NOT NULL THEN
+        sql_query := sql_query || format(' AND lower(name) LIKE %L', '%' || p_name || '%');
+    END IF;
+
+    IF p_account_status IS NOT NULL THEN
+        sql_query := sql_query || format(' AND account_status = %L', p_account_status);
+    END IF;
+
+    EXECUTE 'EXPLAIN (FORMAT JSON) ' || sql_query INTO plan;
+    RETURN (plan -> 0 -> 'Plan' ->> 'Plan Rows')::BIGINT;
+END;
+$$;
@@ -0,0 +1,4 @@
+-- As tentativas de login com falha passam a ser contadas no Redis (INCR + TTL); só o bloqueio
+-- (lock_until) continua persistido, então uma senha errada não escreve mais na linha do usuário.
+ALTER TABLE tb_users
+    DROP COLUMN IF EXISTS failed_attempts;
@@ -0,0 +1,135 @@
+-- tb_refresh_tokens passa a ser particionada por semana de expires_at (UTC, semana começando na segunda).
+-- A expiração deixa de ser um DELETE linha a linha: a partição inteira é desanexada e removida,
+-- sem bloat nem trabalho extra para o autovacuum.
+--
+-- Em tabela particionada toda constraint única precisa conter a chave de partição, então a PK vira
+-- (id, expires_at) e token deixa de ter UNIQUE global. O token é um hash de 256 bits de um valor
+-- aleatório, então a unicidade continua garantida na prática; (token, expires_at) segue único.
+
+ALTER TABLE tb_refresh_tokens RENAME TO tb_refresh_tokens_old;
+
+CREATE TABLE tb_refresh_tokens (
+    id BIGINT NOT NULL DEFAULT nextval('refresh_token_seq'),
+    token VARCHAR(255) NOT NULL,
+    expires_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    user_id BIGINT NOT NULL,
+    created_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT now(),
+    reuse_detected BOOLEAN NOT NULL DEFAULT FALSE,
+    token_family_id UUID NOT NULL,
+    revoked_at TIMESTAMP WITH TIME ZONE,
+    fingerprint VARCHAR(64),
+    CONSTRAINT fk_refresh_token_user FOREIGN KEY (user_id) REFERENCES tb_users (id) ON DELETE CASCADE
+) PARTITION BY RANGE (expires_at);
+
+-- Cria as partições semanais que ainda não existem entre a semana de p_from e p_weeks_ahead semanas
+-- à frente da semana atual. Idempotente; chamada pelo RefreshTokenScheduler todos os dias.
+-- Nome: tb_refresh_tokens_pYYYYMMDD, com a segunda-feira que abre a semana.
+-- Linhas que caíram na DEFAULT (scheduler parado, vida do token maior que a janela) estendem o intervalo:
+-- a semana é criada avulsa, recebe as linhas da DEFAULT e só então é anexada. Sem isso o CREATE ... PARTITION OF
+-- daquela semana falharia em toda execução e essas linhas nunca expirariam.
+CREATE OR REPLACE FUNCTION create_refresh_token_partitions(p_from TIMESTAMPTZ, p_weeks_ahead INT)
+    RETURNS INT
+    LANGUAGE plpgsql
+AS $$
+DECLARE
+    default_min TIMESTAMPTZ;
+    default_max TIMESTAMPTZ;
+    week_start DATE := date_trunc('week', p_from AT TIME ZONE 'UTC')::DATE;
+    last_week DATE := date_trunc('week', now() AT TIME ZONE 'UTC')::DATE + p_weeks_ahead * 7;
+    range_start TIMESTAMPTZ;
+    range_end TIMESTAMPTZ;
+    partition_name TEXT;
+    moved BIGINT;
+    created INT := 0;
+BEGIN
+    SELECT min(expires_at), max(expires_at) INTO default_min, default_max FROM tb_refresh_tokens_default;
+    IF default_min IS NOT NULL THEN
+        week_start := LEAST(week_start, date_trunc('week', default_min AT TIME ZONE 'UTC')::DATE);
+        last_week := GREATEST(last_week, date_trunc('week', default_max AT TIME ZONE 'UTC')::DATE);
+    END IF;
+
+    WHILE week_start <= last_week LOOP
+        partition_name := 'tb_refresh_tokens_p' || to_char(week_start, 'YYYYMMDD');
+        IF to_regclass(partition_name) IS NULL THEN
+            range_start := week_start::TIMESTAMP AT TIME ZONE 'UTC';
+            range_end := (week_start + 7)::TIMESTAMP AT TIME ZONE 'UTC';
+
+            EXECUTE format('CREATE TABLE %I (LIKE tb_refresh_tokens INCLUDING DEFAULTS)', partition_name);
+            EXECUTE format('WITH moved AS (DELETE FROM tb_refresh_tokens_default '
+                           'WHERE expires_at >= %L AND expires_at < %L RETURNING *) '
+                           'INSERT INTO %I SELECT * FROM moved',
+                           range_start, range_end, partition_name);
+            GET DIAGNOSTICS moved = ROW_COUNT;
+            IF moved > 0 THEN
+                RAISE WARNING 'Moved % refresh token rows out of tb_refresh_tokens_default into %',
+                    moved, partition_name;
+            END IF;
+            EXECUTE format('ALTER TABLE tb_refresh_tokens ATTACH PARTITION %I FOR VALUES FROM (%L) TO (%L)',
+                           partition_name, range_start, range_end);
+            created := created + 1;
+        END IF;
+        week_start := week_start + 7;
+    END LOOP;
+    RETURN created;
+END;
+$$;
+
+-- Desanexa e remove as partições cuja semana inteira terminou antes de p_expired_before.
+-- lock_timeout local: se houver uma transação longa na tabela, a remoção falha e fica para a próxima
+-- execução em vez de enfileirar os logins atrás do lock.
+CREATE OR REPLACE FUNCTION drop_refresh_token_partitions(p_expired_before TIMESTAMPTZ)
+    RETURNS INT
+    LANGUAGE plpgsql
+AS $$
+DECLARE
+    part RECORD;
+    dropped INT := 0;
+BEGIN
+    PERFORM set_config('lock_timeout', '5s', true);
+    FOR part IN
+        SELECT c.relname
+        FROM pg_inherits i
+            JOIN pg_class c ON c.oid = i.inhrelid
+        WHERE i.inhparent = 'tb_refresh_tokens'::REGCLASS
+            AND c.relname ~ '^tb_refresh_tokens_p[0-9]{8}$'
+        ORDER BY c.relname
+    LOOP
+        IF (to_date(right(part.relname, 8), 'YYYYMMDD') + 7)::TIMESTAMP AT TIME ZONE 'UTC'
+                <= p_expired_before THEN
+            EXECUTE format('ALTER TABLE tb_refresh_tokens DETACH PARTITION %I', part.relname);
+            EXECUTE format('DROP TABLE %I', part.relname);
+            dropped := dropped + 1;
+        END IF;
+    END LOOP;
+    RETURN dropped;
+END;
+$$;
+
+-- Rede de segurança: se a criação antecipada atrasar, o INSERT cai aqui em vez de falhar.
+-- Deve ficar vazia; create_refresh_token_partitions move as linhas dela para a semana correspondente.
+CREATE TABLE tb_refresh_tokens_default PARTITION OF tb_refresh_tokens DEFAULT;
+
+SELECT create_refresh_token_partitions(
+    COALESCE((SELECT min(expires_at) FROM tb_refresh_tokens_old), now()), 4);
+
+INSERT INTO tb_refresh_tokens (id, token, expires_at, user_id, created_at, reuse_detected, token_family_id,
+                               revoked_at, fingerprint)
+SELECT id, token, expires_at, user_id, created_at, reuse_detected, token_family_id, revoked_at, fingerprint
+FROM tb_refresh_tokens_old;
+
+-- A sequência pertence à coluna da tabela antiga e seria removida junto com ela.
+ALTER SEQUENCE refresh_token_seq OWNED BY tb_refresh_tokens.id;
+
+DROP TABLE tb_refresh_tokens_old;
+
+ALTER TABLE tb_refresh_tokens ADD CONSTRAINT tb_refresh_tokens_pkey PRIMARY KEY (id, expires_at);
+
+CREATE UNIQUE INDEX IF NOT EXISTS idx_refresh_token_token_expires_at
+    ON tb_refresh_tokens (token, expires_at);
+
+CREATE INDEX IF NOT EXISTS idx_refresh_token_user_token_family_id
+    ON tb_refresh_tokens (user_id, token_family_id);
+
+CREATE INDEX IF NOT EXISTS idx_refresh_token_user_revoked_at
+    ON tb_refresh_tokens (user_id, revoked_at)
+    WHERE revoked_at IS NULL;
@@ -0,0 +1,9 @@
+-- Marca o usuário como reivindicado pelo expurgo. Tarefas e tokens são apagados em lotes, cada um
+-- na sua transação, e por último o usuário; se a execução for interrompida, a próxima continua
+-- pelos usuários que já têm purge_started_at.
+ALTER TABLE tb_users
+    ADD COLUMN IF NOT EXISTS purge_started_at TIMESTAMP WITH TIME ZONE;
+
+CREATE INDEX IF NOT EXISTS idx_users_purge_started_at
+    ON tb_users (purge_started_at)
+    WHERE purge_started_at IS NOT NULL;
@@ -0,0 +1,15 @@
+-- O status gravado passa a guardar só a intenção do usuário (IN_PROGRESS, DONE, CANCELLED).
+-- PENDING é derivado na leitura (IN_PROGRESS com due_date no passado), então o scheduler não reescreve
+-- mais as tarefas atrasadas à meia-noite. As linhas já marcadas como PENDING voltam para IN_PROGRESS;
+-- o status exibido não muda, por isso a versão não é incrementada.
+-- O valor PENDING continua no tipo task_status: remover valores de um ENUM exige recriar o tipo.
+--
+-- O trigger de updated_at fica desligado só durante este UPDATE: a correção não é uma edição do
+-- usuário e não pode marcar todas as tarefas atrasadas como alteradas no momento da migração.
+ALTER TABLE tb_tasks DISABLE TRIGGER trg_set_updated_at;
+
+UPDATE tb_tasks
+SET status = 'IN_PROGRESS'
+WHERE status = 'PENDING';
+
+ALTER TABLE tb_tasks ENABLE TRIGGER trg_set_updated_at;
@@ -0,0 +1,22 @@
+-- Arquivo frio das tarefas aposentadas (DONE há 180 dias, CANCELLED há 90). Em vez do DELETE, o scheduler
+-- move as linhas para cá em lotes, e tb_tasks fica só com as tarefas vivas.
+--
+-- Tabela só de inserção: nenhuma linha é atualizada, então fillfactor 100. Com toast_tuple_target no mínimo
+-- e lz4 nas colunas de texto, o Postgres comprime a linha assim que ela passa de 128 bytes, em vez do
+-- limite padrão de ~2 KB. Sem search_vector nem índice GIN: o arquivo é lido por usuário, não buscado.
+CREATE TABLE IF NOT EXISTS tb_task_archive (
+    id BIGINT PRIMARY KEY,
+    user_id BIGINT NOT NULL,
+    title VARCHAR(50) COMPRESSION lz4 NOT NULL,
+    description TEXT COMPRESSION lz4,
+    due_date DATE NOT NULL,
+    status task_status NOT NULL,
+    created_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    updated_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    archived_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT now(),
+    CONSTRAINT fk_task_archive_user FOREIGN KEY (user_id) REFERENCES tb_users (id) ON DELETE CASCADE
+) WITH (fillfactor = 100, toast_tuple_target = 128);
+
+-- Leitura paginada do arquivo de um usuário, das mais recentes para as mais antigas.
+CREATE INDEX IF NOT EXISTS idx_task_archive_user_archived_at
+    ON tb_task_archive (user_id, archived_at DESC, id DESC);
@@ -0,0 +1,52 @@
+-- Log de alterações das tarefas, somente de inserção, para a sincronização incremental dos clientes.
+-- É escrito por trigger, então toda mutação entra na mesma transação que a gerou: o TaskServiceImpl,
+-- os UPDATE/DELETE nativos, o arquivamento do scheduler e o expurgo de usuários (lápides DELETED).
+CREATE TYPE task_change_type AS ENUM ('CREATED', 'UPDATED', 'STATUS_CHANGED', 'DELETED');
+
+-- txid: transação que gravou a linha. O feed ordena por (txid, id) e só lê transações abaixo do xmin do
+-- snapshot atual, ou seja, já finalizadas. Ordenar só por id pularia linhas de uma transação que pegou
+-- um id menor e fez commit depois de o cliente já ter avançado o cursor.
+-- Sem FK para tb_users: as lápides sobrevivem ao expurgo do usuário até a retenção.
+CREATE TABLE IF NOT EXISTS tb_task_changes (
+    id BIGSERIAL PRIMARY KEY,
+    txid BIGINT NOT NULL DEFAULT CAST(CAST(pg_current_xact_id() AS TEXT) AS BIGINT),
+    user_id BIGINT NOT NULL,
+    task_id BIGINT NOT NULL,
+    type task_change_type NOT NULL,
+    changed_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT now()
+) WITH (fillfactor = 100);
+
+CREATE INDEX IF NOT EXISTS idx_task_changes_user_txid_id ON tb_task_changes (user_id, txid, id);
+
+-- Usado pela limpeza da retenção
+CREATE INDEX IF NOT EXISTS idx_task_changes_changed_at ON tb_task_changes (changed_at);
+
+CREATE OR REPLACE FUNCTION log_task_change()
+    RETURNS TRIGGER
+    LANGUAGE plpgsql
+AS $$
+BEGIN
+    IF TG_OP = 'INSERT' THEN
+        INSERT INTO tb_task_changes (user_id, task_id, type) VALUES (NEW.user_id, NEW.id, 'CREATED');
+    ELSIF TG_OP = 'UPDATE' THEN
+        INSERT INTO tb_task_changes (user_id, task_id, type)
+        VALUES (NEW.user_id, NEW.id,
+                CASE WHEN NEW.status IS DISTINCT FROM OLD.status THEN 'STATUS_CHANGED' ELSE 'UPDATED' END::task_change_type);
+    ELSE
+        INSERT INTO tb_task_changes (user_id, task_id, type) VALUES (OLD.user_id, OLD.id, 'DELETED');
+    END IF;
+    RETURN NULL;
+END;
+$$;
+
+CREATE TRIGGER trg_log_task_change_insert_delete
+AFTER INSERT OR DELETE ON tb_tasks
+FOR EACH ROW
+EXECUTE FUNCTION log_task_change();
+
+-- UPDATE que não muda nada (mesma versão e mesmos dados) não gera entrada
+CREATE TRIGGER trg_log_task_change_update
+AFTER UPDATE ON tb_tasks
+FOR EACH ROW
+WHEN (OLD.* IS DISTINCT FROM NEW.*)
+EXECUTE FUNCTION log_task_change();
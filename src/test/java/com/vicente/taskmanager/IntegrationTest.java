@@ -0,0 +1,51 @@
+package com.vicente.taskmanager;
+
+import com.vicente.taskmanager.domain.entity.Task;
+import com.vicente.taskmanager.domain.entity.User;
+import com.vicente.taskmanager.domain.enums.AccountStatus;
+import com.vicente.taskmanager.domain.enums.UserRole;
+import com.vicente.taskmanager.repository.TaskRepository;
+import com.vicente.taskmanager.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Base for tests that run against the real schema (Flyway migrations on Postgres) and Redis.
+ * Every test creates its own user, so tests never share rows and need no cleanup.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Import(TestcontainersConfiguration.class)
+public abstract class IntegrationTest {
+    protected static final String PASSWORD = "Secret@123";
+
+    @Autowired
+    protected UserRepository userRepository;
+
+    @Autowired
+    protected TaskRepository taskRepository;
+
+    @Autowired
+    protected JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    protected User createUser() {
+        User user = new User("Test User", UUID.randomUUID() + "@test.com", passwordEncoder.encode(PASSWORD));
+        user.setAccountStatus(AccountStatus.ACTIVE);
+        user.getRoles().add(UserRole.USER);
+        return userRepository.save(user);
+    }
+
+    protected Task createTask(User user, LocalDate dueDate) {
+        return taskRepository.save(new Task("Task", "Description", dueDate, user));
+    }
+}
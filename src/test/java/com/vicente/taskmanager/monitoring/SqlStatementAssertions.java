@@ -0,0 +1,35 @@
+package com.vicente.taskmanager.monitoring;
+
+/**
+ * Pins down the SQL statements issued by a block of code, counted by StatementCountingDataSource
+ * in a scope of its own. A failure lists every statement and how many times it ran.
+ */
+public final class SqlStatementAssertions {
+
+    private SqlStatementAssertions() {
+    }
+
+    public static SqlStatementStats count(Runnable action) {
+        try (SqlStatementCounter.Scope scope = SqlStatementCounter.open("test")) {
+            action.run();
+            return scope.stats();
+        }
+    }
+
+    public static void assertStatementCount(int expected, Runnable action) {
+        SqlStatementStats stats = count(action);
+        if (stats.total() != expected) {
+            throw new AssertionError("Expected " + expected + " SQL statements but " + stats.total() +
+                    " were issued: " + stats.countsBySql());
+        }
+    }
+
+    // Para fluxos cujo número exato depende de detalhes do Hibernate, como login e refresh
+    public static void assertStatementCountAtMost(int max, Runnable action) {
+        SqlStatementStats stats = count(action);
+        if (stats.total() > max) {
+            throw new AssertionError("Expected at most " + max + " SQL statements but " + stats.total() +
+                    " were issued: " + stats.countsBySql());
+        }
+    }
+}
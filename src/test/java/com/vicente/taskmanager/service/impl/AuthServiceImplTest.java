@@ -0,0 +1,87 @@
+package com.vicente.taskmanager.service.impl;
+
+import com.vicente.taskmanager.IntegrationTest;
+import com.vicente.taskmanager.domain.entity.User;
+import com.vicente.taskmanager.dto.request.LoginRequestDTO;
+import com.vicente.taskmanager.dto.response.TokenResponseDTO;
+import com.vicente.taskmanager.exception.AccountLockedException;
+import com.vicente.taskmanager.service.AuthService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.authentication.BadCredentialsException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static com.vicente.taskmanager.monitoring.SqlStatementAssertions.assertStatementCountAtMost;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AuthServiceImplTest extends IntegrationTest {
+    private static final int BURST = 4;
+
+    @Autowired
+    private AuthService authService;
+
+    @Value("${security.lock.max_attempts}")
+    private int maxAttempts;
+
+    // Mesmos limites de app.sql.budget.scopes para POST /auth/login e /auth/refresh
+    @Test
+    void loginAndRefreshStayWithinTheirStatementBudget() {
+        User user = createUser();
+        AtomicReference<TokenResponseDTO> tokens = new AtomicReference<>();
+
+        assertStatementCountAtMost(10, () ->
+                tokens.set(authService.login(new LoginRequestDTO(user.getEmail(), PASSWORD), null)));
+        assertStatementCountAtMost(10, () ->
+                authService.refreshToken(tokens.get().refreshToken(), tokens.get().fingerprint(), "127.0.0.1"));
+    }
+
+    @Test
+    void burstOfFailedLoginsPersistsTheLockOnce() throws Exception {
+        User user = createUser();
+        LoginRequestDTO wrongPassword = new LoginRequestDTO(user.getEmail(), "Wrong@123");
+        for (int i = 1; i < maxAttempts; i++) {
+            assertThatThrownBy(() -> authService.login(wrongPassword, null))
+                    .isInstanceOf(BadCredentialsException.class);
+        }
+        long tokenVersion = tokenVersion(user.getId());
+
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> attempts = new ArrayList<>();
+        try (ExecutorService executor = Executors.newFixedThreadPool(BURST)) {
+            for (int i = 0; i < BURST; i++) {
+                attempts.add(executor.submit(() -> {
+                    start.await();
+                    return authService.login(wrongPassword, null);
+                }));
+            }
+            start.countDown();
+        }
+
+        int locked = 0;
+        for (Future<?> attempt : attempts) {
+            try {
+                attempt.get();
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof AccountLockedException) {
+                    locked++;
+                }
+            }
+        }
+        assertThat(locked).isEqualTo(1);
+        assertThat(tokenVersion(user.getId())).isEqualTo(tokenVersion + 1);
+    }
+
+    private long tokenVersion(Long userId) {
+        return jdbcTemplate.queryForObject("SELECT token_version FROM tb_users WHERE id = ?", Long.class, userId);
+    }
+}
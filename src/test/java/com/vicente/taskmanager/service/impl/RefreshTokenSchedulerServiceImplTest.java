@@ -0,0 +1,62 @@
+package com.vicente.taskmanager.service.impl;
+
+import com.vicente.taskmanager.IntegrationTest;
+import com.vicente.taskmanager.domain.entity.User;
+import com.vicente.taskmanager.service.RefreshTokenSchedulerService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.time.DayOfWeek;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RefreshTokenSchedulerServiceImplTest extends IntegrationTest {
+
+    @Autowired
+    private RefreshTokenSchedulerService refreshTokenSchedulerService;
+
+    @Test
+    void rowsInTheDefaultPartitionGetTheirWeekAndExpireWithIt() {
+        User user = createUser();
+        Instant expiredAt = Instant.now().minus(60, ChronoUnit.DAYS);
+        String token = UUID.randomUUID().toString();
+        jdbcTemplate.update("INSERT INTO tb_refresh_tokens (token, expires_at, user_id, token_family_id) " +
+                "VALUES (?, ?, ?, ?)", token, OffsetDateTime.ofInstant(expiredAt, ZoneOffset.UTC), user.getId(),
+                UUID.randomUUID());
+        String expiredWeek = partitionName(LocalDate.ofInstant(expiredAt, ZoneOffset.UTC));
+        String currentWeek = partitionName(LocalDate.now(ZoneOffset.UTC));
+
+        refreshTokenSchedulerService.createPartitionsAhead();
+
+        assertThat(count("SELECT count(*) FROM tb_refresh_tokens_default")).isZero();
+        assertThat(count("SELECT count(*) FROM " + expiredWeek + " WHERE token = ?", token)).isEqualTo(1);
+
+        refreshTokenSchedulerService.dropExpiredPartitions();
+
+        assertThat(exists(expiredWeek)).isFalse();
+        assertThat(exists(currentWeek)).isTrue();
+        assertThat(count("SELECT count(*) FROM tb_refresh_tokens WHERE token = ?", token)).isZero();
+    }
+
+    private int count(String sql, Object... args) {
+        return jdbcTemplate.queryForObject(sql, Integer.class, args);
+    }
+
+    private boolean exists(String table) {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject("SELECT to_regclass(?) IS NOT NULL", Boolean.class,
+                table));
+    }
+
+    private static String partitionName(LocalDate day) {
+        return "tb_refresh_tokens_p" +
+                day.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY)).format(DateTimeFormatter.BASIC_ISO_DATE);
+    }
+}
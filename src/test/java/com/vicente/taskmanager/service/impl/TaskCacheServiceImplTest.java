@@ -0,0 +1,79 @@
+package com.vicente.taskmanager.service.impl;
+
+import com.vicente.taskmanager.domain.enums.TaskStatus;
+import com.vicente.taskmanager.dto.internal.CachedTask;
+import com.vicente.taskmanager.dto.response.TaskResponseDTO;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class TaskCacheServiceImplTest {
+    private static final long TASK_ID = 1L;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private TaskCacheServiceImpl taskCacheService;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        StringRedisTemplate stringRedisTemplate = mock(StringRedisTemplate.class);
+        when(stringRedisTemplate.opsForValue()).thenReturn(mock(ValueOperations.class));
+        when(stringRedisTemplate.execute(any(RedisScript.class), anyList(), any(), any(), any())).thenReturn(1L);
+
+        taskCacheService = new TaskCacheServiceImpl(stringRedisTemplate, JsonMapper.builder().build(),
+                mock(RedisMessageListenerContainer.class), meterRegistry, 300, 30, 100);
+    }
+
+    @Test
+    void loadedTaskIsServedFromTheNearCache() {
+        AtomicInteger loads = new AtomicInteger();
+
+        taskCacheService.get(TASK_ID, () -> load(loads, 1L));
+        taskCacheService.get(TASK_ID, () -> load(loads, 2L));
+
+        assertThat(loads).hasValue(1);
+        assertThat(meterRegistry.get("taskmanager.task.cache.lookup").tag("result", "near_hit").timer().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void invalidationDuringALoadKeepsTheResultOutOfTheNearCache() {
+        AtomicInteger loads = new AtomicInteger();
+
+        taskCacheService.get(TASK_ID, () -> {
+            Optional<CachedTask> loaded = load(loads, 1L);
+            // Escrita concorrente confirmada enquanto esta leitura ainda não tinha preenchido o near cache
+            taskCacheService.onMessage(new DefaultMessage(new byte[0],
+                    String.valueOf(TASK_ID).getBytes(StandardCharsets.UTF_8)), null);
+            return loaded;
+        });
+        Optional<CachedTask> next = taskCacheService.get(TASK_ID, () -> load(loads, 2L));
+
+        assertThat(loads).hasValue(2);
+        assertThat(next).map(CachedTask::version).contains(2L);
+    }
+
+    private static Optional<CachedTask> load(AtomicInteger loads, long version) {
+        loads.incrementAndGet();
+        TaskResponseDTO task = new TaskResponseDTO(TASK_ID, "Task", null, LocalDate.now().plusDays(1),
+                TaskStatus.IN_PROGRESS, null, null, version);
+        return Optional.of(new CachedTask(10L, version, task));
+    }
+}
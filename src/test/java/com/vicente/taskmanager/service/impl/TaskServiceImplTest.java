@@ -0,0 +1,89 @@
+package com.vicente.taskmanager.service.impl;
+
+import com.vicente.taskmanager.IntegrationTest;
+import com.vicente.taskmanager.domain.entity.Task;
+import com.vicente.taskmanager.domain.entity.User;
+import com.vicente.taskmanager.domain.enums.TaskChangeType;
+import com.vicente.taskmanager.domain.enums.TaskStatus;
+import com.vicente.taskmanager.dto.request.TaskUpdateRequestDTO;
+import com.vicente.taskmanager.dto.response.TaskChangePageResponseDTO;
+import com.vicente.taskmanager.dto.response.TaskChangeResponseDTO;
+import com.vicente.taskmanager.service.TaskService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+
+import static com.vicente.taskmanager.monitoring.SqlStatementAssertions.assertStatementCount;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TaskServiceImplTest extends IntegrationTest {
+
+    @Autowired
+    private TaskService taskService;
+
+    @Test
+    void findByIdReadsTheDatabaseOnceAndThenServesTheCache() {
+        User user = createUser();
+        Task task = createTask(user, LocalDate.now().plusDays(7));
+
+        assertStatementCount(1, () -> taskService.findById(task.getId(), user.getId()));
+        assertStatementCount(0, () -> taskService.findById(task.getId(), user.getId()));
+    }
+
+    @Test
+    void writesIssueASingleConditionalUpdate() {
+        User user = createUser();
+        Task updated = createTask(user, LocalDate.now().plusDays(7));
+        Task done = createTask(user, LocalDate.now().plusDays(7));
+        Task cancelled = createTask(user, LocalDate.now().plusDays(7));
+
+        assertStatementCount(1, () -> taskService.update(updated.getId(), user.getId(), null,
+                new TaskUpdateRequestDTO("New title", null, null)));
+        assertStatementCount(1, () -> taskService.done(done.getId(), user.getId(), null));
+        assertStatementCount(1, () -> taskService.cancel(cancelled.getId(), user.getId(), null));
+    }
+
+    @Test
+    void overdueEntriesAreBoundedByThePageSizeAndCarriedInTheCursor() {
+        User user = createUser();
+        List<Long> overdueIds = List.of(
+                createTask(user, LocalDate.now().minusDays(2)).getId(),
+                createTask(user, LocalDate.now().minusDays(1)).getId(),
+                createTask(user, LocalDate.now().minusDays(1)).getId());
+
+        String cursor = issuedDaysAgo(taskService.findChanges(user.getId(), null, 2).nextCursor(), 3);
+
+        TaskChangePageResponseDTO first = taskService.findChanges(user.getId(), cursor, 2);
+        assertThat(first.changes()).hasSize(2);
+        assertThat(first.hasMore()).isTrue();
+
+        TaskChangePageResponseDTO second = taskService.findChanges(user.getId(), first.nextCursor(), 2);
+        assertThat(second.changes()).hasSize(1);
+        assertThat(second.hasMore()).isFalse();
+
+        List<TaskChangeResponseDTO> changes = new ArrayList<>(first.changes());
+        changes.addAll(second.changes());
+        assertThat(changes).extracting(TaskChangeResponseDTO::taskId).containsExactlyElementsOf(overdueIds);
+        assertThat(changes).allSatisfy(change -> {
+            assertThat(change.type()).isEqualTo(TaskChangeType.STATUS_CHANGED);
+            assertThat(change.task().status()).isEqualTo(TaskStatus.PENDING);
+        });
+
+        assertThat(taskService.findChanges(user.getId(), second.nextCursor(), 2).changes()).isEmpty();
+    }
+
+    // O cursor é opaco para o cliente; aqui o instante de emissão é recuado para simular dias sem sincronizar
+    private static String issuedDaysAgo(String cursor, int days) {
+        String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split(":");
+        String value = parts[0] + ":" + parts[1] + ":" +
+                Instant.now().minus(days, ChronoUnit.DAYS).getEpochSecond();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,48 @@
+package com.vicente.taskmanager.service.impl;
+
+import com.vicente.taskmanager.IntegrationTest;
+import com.vicente.taskmanager.domain.entity.User;
+import com.vicente.taskmanager.service.UserSchedulerService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UserSchedulerServiceImplTest extends IntegrationTest {
+
+    @Autowired
+    private UserSchedulerService userSchedulerService;
+
+    @Test
+    void resumeFinishesStalePurgesAndLeavesRunningOnesAlone() {
+        User interrupted = createUser();
+        createTask(interrupted, LocalDate.now().plusDays(1));
+        createTask(interrupted, LocalDate.now().plusDays(2));
+        claimForPurge(interrupted, OffsetDateTime.now().minusHours(2));
+
+        User running = createUser();
+        createTask(running, LocalDate.now().plusDays(1));
+        claimForPurge(running, OffsetDateTime.now().minusMinutes(5));
+
+        userSchedulerService.resumeInterruptedPurges();
+
+        assertThat(userRepository.existsById(interrupted.getId())).isFalse();
+        assertThat(countTasks(interrupted)).isZero();
+        assertThat(userRepository.existsById(running.getId())).isTrue();
+        assertThat(countTasks(running)).isEqualTo(1);
+    }
+
+    // Estado deixado por uma execução que reivindicou o usuário e parou antes de drená-lo
+    private void claimForPurge(User user, OffsetDateTime claimedAt) {
+        jdbcTemplate.update("UPDATE tb_users SET purge_started_at = ?, deleted_at = ? WHERE id = ?",
+                claimedAt, claimedAt, user.getId());
+    }
+
+    private int countTasks(User user) {
+        return jdbcTemplate.queryForObject("SELECT count(*) FROM tb_tasks WHERE user_id = ?", Integer.class,
+                user.getId());
+    }
+}